@@ -25,6 +25,7 @@ import edu.emory.mathcs.nlp.component.dep.DEPParser;
 import edu.emory.mathcs.nlp.component.dep.DEPState;
 import edu.emory.mathcs.nlp.component.dep.feature.BonggunMohsenFeatureTemplate;
 import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate1;
 import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate2;
 import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplateStanford;
 import edu.emory.mathcs.nlp.component.util.NLPComponent;
@@ -72,6 +73,7 @@ public class DEPTrain extends NLPTrain<DEPNode,DEPState<DEPNode>>
 		switch (feature_template)
 		{
 		case 0: return new DEPFeatureTemplate0();
+		case 1: return new DEPFeatureTemplate1();
 		case 2: return new DEPFeatureTemplate2();
 		case 100: return new DEPFeatureTemplateStanford();
 		case 103: return new BonggunMohsenFeatureTemplate();
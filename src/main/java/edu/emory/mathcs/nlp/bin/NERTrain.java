@@ -0,0 +1,120 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.bin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.log4j.BasicConfigurator;
+import org.kohsuke.args4j.Option;
+
+import edu.emory.mathcs.nlp.common.util.BinUtils;
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.ner.Gazetteer;
+import edu.emory.mathcs.nlp.component.ner.NERConfig;
+import edu.emory.mathcs.nlp.component.ner.NEREval;
+import edu.emory.mathcs.nlp.component.ner.NERNode;
+import edu.emory.mathcs.nlp.component.ner.NERState;
+import edu.emory.mathcs.nlp.component.ner.NERTagger;
+import edu.emory.mathcs.nlp.component.ner.feature.NERFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.config.NLPConfig;
+import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.component.util.train.NLPTrain;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Trains {@link NERTagger} on files whose named entity tags are in either BIO or BILOU.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERTrain extends NLPTrain<NERNode,NERState<NERNode>>
+{
+	@Option(name="-g", usage="gazetteer file, where each line is a label and an entry separated by a tab (optional)", required=false, metaVar="<filename>")
+	public String gazetteer_file = null;
+	
+	public NERTrain(String[] args)
+	{
+		super(args);
+	}
+
+	@Override
+	protected NLPConfig<NERNode> createConfiguration(String filename)
+	{
+		return new NERConfig(IOUtils.createFileInputStream(filename));
+	}
+	
+	@Override
+	protected Eval createEvaluator()
+	{
+		return new NEREval();
+	}
+	
+	@Override
+	protected NLPComponent<NERNode,NERState<NERNode>> createComponent()
+	{
+		return new NERTagger<>(new StringModel(new MultinomialWeightVector()));
+	}
+	
+	@Override
+	protected FeatureTemplate<NERNode,NERState<NERNode>> createFeatureTemplate()
+	{
+		switch (feature_template)
+		{
+		case 0: return new NERFeatureTemplate0();
+		default: throw new IllegalArgumentException("Unknown feature template: "+feature_template);
+		}
+	}
+	
+	@Override
+	public void collect(TSVReader<NERNode> reader, List<String> inputFiles, NLPComponent<NERNode,NERState<NERNode>> component, NLPConfig<NERNode> configuration)
+	{
+		if (gazetteer_file == null) return;
+		Gazetteer gazetteer = readGazetteer(gazetteer_file);
+		((NERTagger<NERNode>)component).setGazetteer(gazetteer);
+		BinUtils.LOG.info(String.format("- # of gazetteer entries: %d\n", gazetteer.size()));
+	}
+	
+	/** @return the gazetteer whose lines consist of a label and an entry separated by a tab. */
+	static public Gazetteer readGazetteer(String filename)
+	{
+		Gazetteer gazetteer = new Gazetteer();
+		
+		try (BufferedReader reader = IOUtils.createBufferedReader(IOUtils.createFileInputStream(filename)))
+		{
+			String line;
+			int i;
+			
+			while ((line = reader.readLine()) != null)
+			{
+				if ((i = line.indexOf('\t')) > 0)
+					gazetteer.add(line.substring(i+1), line.substring(0, i));
+			}
+		}
+		catch (IOException e) {throw new IllegalArgumentException("Cannot read the gazetteer: "+filename, e);}
+		
+		return gazetteer;
+	}
+	
+	static public void main(String[] args)
+	{
+		BasicConfigurator.configure();
+		new NERTrain(args).train();
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.bin;
+
+import java.io.ObjectInputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.kohsuke.args4j.Option;
+
+import edu.emory.mathcs.nlp.common.util.BinUtils;
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.common.util.Joiner;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPParser;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.decode.NLPPipeline;
+import edu.emory.mathcs.nlp.component.util.feature.EmbeddingMap;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.component.util.train.NLPTrain;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+
+/**
+ * Tags and parses in one pass over the input, where the part-of-speech tagger and the dependency parser share the same nodes.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NLPDecode
+{
+	@Option(name="-p", usage="part-of-speech tagging model file (required)", required=true, metaVar="<filename>")
+	public String pos_model_file;
+	@Option(name="-d", usage="dependency parsing model file (required)", required=true, metaVar="<filename>")
+	public String dep_model_file;
+	@Option(name="-i", usage="input file (required)", required=true, metaVar="<filename>")
+	public String input_file;
+	@Option(name="-o", usage="output file (optional)", required=false, metaVar="<filename>")
+	public String output_file;
+	@Option(name="-pipelined", usage="if set, tagging of the next sentence overlaps with parsing of the current sentence", required=false)
+	public boolean pipelined = false;
+	@Option(name="-e", usage="word embeddings given for training if any (optional)", required=false, metaVar="<filename>")
+	public String embedding_file = null;
+	
+	@SuppressWarnings("unchecked")
+	public NLPDecode(String[] args) throws Exception
+	{
+		BinUtils.initArgs(args, this);
+		
+		POSTagger<POSNode> tagger = (POSTagger<POSNode>)readModel(pos_model_file);
+		DEPParser<DEPNode> parser = (DEPParser<DEPNode>)readModel(dep_model_file);
+		tagger.setFlag(NLPFlag.DECODE);
+		parser.setFlag(NLPFlag.DECODE);
+		initEmbeddings(tagger, parser);
+		
+		NLPPipeline<DEPNode> pipeline = new NLPPipeline<>();
+		pipeline.add("pos", tagger, nodes -> Arrays.copyOfRange(nodes, 1, nodes.length, POSNode[].class));
+		pipeline.add("dep", parser);
+		pipeline.setPipelined(pipelined, 64);
+		
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(0, 1, 2, 3));
+		reader.open(IOUtils.createFileInputStream(input_file));
+		List<DEPNode[]> sentences = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			sentences.add(nodes);
+		
+		reader.close();
+		pipeline.process(sentences);
+		
+		if (output_file != null)
+		{
+			PrintStream out = IOUtils.createBufferedPrintStream(output_file);
+			for (DEPNode[] s : sentences) out.println(Joiner.join(s, "\n", 1)+"\n");
+			out.close();
+		}
+		
+		System.out.println(pipeline.toString());
+	}
+	
+	/** Sets the embeddings to the components, which must be given if any model is trained with them. */
+	private void initEmbeddings(NLPComponent<?,?>... components)
+	{
+		EmbeddingMap map = (embedding_file != null) ? NLPTrain.readEmbeddingMap(embedding_file) : null;
+		
+		for (NLPComponent<?,?> component : components)
+		{
+			if (map == null && Arrays.stream(component.getModels()).anyMatch(StringModel::hasDenseFeatures))
+				throw new IllegalArgumentException("The model of "+component.getClass().getSimpleName()+" is trained with embeddings; use -e to give them.");
+			
+			component.getFeatureTemplate().setEmbeddingMap(map);
+		}
+	}
+	
+	private Object readModel(String filename) throws Exception
+	{
+		ObjectInputStream in = IOUtils.createObjectXZBufferedInputStream(filename);
+		Object model = in.readObject();
+		in.close();
+		return model;
+	}
+	
+	static public void main(String[] args) throws Exception
+	{
+		new NLPDecode(args);
+	}
+}
@@ -31,6 +31,7 @@ import edu.emory.mathcs.nlp.component.util.config.NLPConfig;
 import edu.emory.mathcs.nlp.component.util.eval.AccuracyEval;
 import edu.emory.mathcs.nlp.component.util.eval.Eval;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.reader.TSVCorpus;
 import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
 import edu.emory.mathcs.nlp.component.util.train.NLPTrain;
 import edu.emory.mathcs.nlp.learn.model.StringModel;
@@ -81,9 +82,17 @@ public class POSTrain extends NLPTrain<POSNode,POSState<POSNode>>
 	{
 		POSTagger<POSNode> tagger = (POSTagger<POSNode>)component;
 		POSConfig config = (POSConfig)configuration;
-		AmbiguityClassMap ac = new AmbiguityClassMap();
 		
-		iterate(reader, inputFiles, nodes -> ac.add(nodes));
+		// each split is collected by its own reader in parallel, then all counts are merged
+		TSVCorpus<POSNode> corpus = new TSVCorpus<>(reader.getIndex(), inputFiles);
+		AmbiguityClassMap ac = corpus.getSplits().parallelStream().map(split ->
+		{
+			AmbiguityClassMap map = new AmbiguityClassMap();
+			corpus.read(split).forEach(nodes -> map.add(nodes));
+			return map;
+		})
+		.reduce(AmbiguityClassMap::merge).orElseGet(AmbiguityClassMap::new);
+		
 		ac.expand(config.getAmbiguityClassThreshold());
 		tagger.setAmbiguityClassMap(ac);
 		
@@ -17,7 +17,11 @@ package edu.emory.mathcs.nlp.bin;
 
 import java.io.ObjectInputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.kohsuke.args4j.Option;
 
@@ -27,7 +31,9 @@ import edu.emory.mathcs.nlp.common.util.Joiner;
 import edu.emory.mathcs.nlp.common.util.MathUtils;
 import edu.emory.mathcs.nlp.component.dep.DEPIndex;
 import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.decode.ParallelDecoder;
 import edu.emory.mathcs.nlp.component.util.node.NLPNode;
+import edu.emory.mathcs.nlp.component.util.reader.TSVCorpus;
 import edu.emory.mathcs.nlp.component.util.reader.TSVIndex;
 import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
 import edu.emory.mathcs.nlp.component.util.state.NLPState;
@@ -43,6 +49,10 @@ public class SpeedTest<N extends NLPNode,S extends NLPState<N>>
 	public String input_file;
 	@Option(name="-o", usage="output file (optional)", required=false, metaVar="<filename>")
 	public String output_file;
+	@Option(name="-b", usage="batch size; sentences in a batch are decoded in lockstep (default: 1)", required=false, metaVar="<integer>")
+	public int batch_size = 1;
+	@Option(name="-t", usage="number of threads; sentences are decoded by a parallel decoder if greater than 1 (default: 1)", required=false, metaVar="<integer>")
+	public int thread_size = 1;
 	
 	@SuppressWarnings("unchecked")
 	public SpeedTest(String[] args) throws Exception
@@ -54,22 +64,67 @@ public class SpeedTest<N extends NLPNode,S extends NLPState<N>>
 		obj.close();
 		
 		PrintStream out = (output_file != null) ? IOUtils.createBufferedPrintStream(output_file) : null;
-		TSVReader<N> reader = new TSVReader<N>(createTSVIndex());
-		reader.open(IOUtils.createFileInputStream(input_file));
+		
+		if (thread_size > 1)
+			decodeParallel(component, new TSVCorpus<>(createTSVIndex(), Collections.singletonList(input_file)), out);
+		else
+		{
+			TSVReader<N> reader = new TSVReader<N>(createTSVIndex());
+			reader.open(IOUtils.createFileInputStream(input_file));
+			decode(component, reader, out);
+			reader.close();
+		}
+		
+		if (out != null) out.close();
+	}
+	
+	private void decode(NLPComponent<N,S> component, TSVReader<N> reader, PrintStream out) throws Exception
+	{
 		SpeedEval speed = new SpeedEval(component, 10);
+		List<N[]> batch = new ArrayList<>();
 		N[] nodes;
 		
 		while ((nodes = reader.next()) != null)
 		{
-			speed.measure(nodes);
-			if (out != null) out.println(Joiner.join(nodes, "\n", startIndex(nodes))+"\n");
+			batch.add(nodes);
+			if (batch.size() >= batch_size) decode(speed, batch, out);
 		}
 		
-		out.close();
-		reader.close();
+		if (!batch.isEmpty()) decode(speed, batch, out);
 		System.out.println(speed.toString());
 	}
 	
+	/** The input file is read in parallel by splits (see {@link TSVCorpus}), keeping the order of its sentences. */
+	private void decodeParallel(NLPComponent<N,S> component, TSVCorpus<N> corpus, PrintStream out) throws Exception
+	{
+		ParallelDecoder<N,S> decoder = new ParallelDecoder<>(component, thread_size);
+		List<N[]> sentences = corpus.stream(true).collect(Collectors.toList());
+		
+		decoder.decode(sentences);
+		
+		if (out != null)
+		{
+			for (N[] s : sentences)
+				out.println(Joiner.join(s, "\n", startIndex(s))+"\n");
+		}
+		
+		System.out.println(decoder.toString());
+	}
+	
+	private void decode(SpeedEval speed, List<N[]> batch, PrintStream out)
+	{
+		if (batch.size() == 1)	speed.measure(batch.get(0));
+		else					speed.measure(batch);
+		
+		if (out != null)
+		{
+			for (N[] nodes : batch)
+				out.println(Joiner.join(nodes, "\n", startIndex(nodes))+"\n");
+		}
+		
+		batch.clear();
+	}
+	
 	@SuppressWarnings("unchecked")
 	public TSVIndex<N> createTSVIndex()
 	{
@@ -127,6 +182,24 @@ public class SpeedTest<N extends NLPNode,S extends NLPState<N>>
 			}
 		}
 		
+		/** Measures the batch as a whole; the per-length buckets are not updated. */
+		public void measure(List<N[]> batch)
+		{
+			long st, et;
+			
+			st = System.currentTimeMillis();
+			component.process(batch);
+			et = System.currentTimeMillis();
+			
+			for (N[] nodes : batch)
+			{
+				sentence_count++;
+				token_count += nodes.length - startIndex(nodes);
+			}
+			
+			total_time += et - st;
+		}
+		
 		@Override
 		public String toString()
 		{
@@ -135,14 +208,14 @@ public class SpeedTest<N extends NLPNode,S extends NLPState<N>>
 			build.append(String.format("Sentence count: %d\n", sentence_count));
 			build.append(String.format("Sentences/Sec.: %f\n", MathUtils.divide(sentence_count, 0.001 * total_time)));
 			for (int i=0; i<total_times.length; i++)
-				build.append(String.format("%3: %f\n", MathUtils.divide(sentence_counts[i], 0.001 * total_times[i])));
+				build.append(String.format("%3d: %f\n", i, MathUtils.divide(sentence_counts[i], 0.001 * total_times[i])));
 
 			build.append("\n");
 			
 			build.append(String.format("Token count: %d\n", token_count));
 			build.append(String.format("Tokens/Sec.: %f\n", MathUtils.divide(token_count, 0.001 * total_time)));
 			for (int i=0; i<total_times.length; i++)
-				build.append(String.format("%3: %f\n", MathUtils.divide(token_counts[i], 0.001 * total_times[i])));
+				build.append(String.format("%3d: %f\n", i, MathUtils.divide(token_counts[i], 0.001 * total_times[i])));
 			
 			return build.toString();
 		}
@@ -16,10 +16,13 @@
 package edu.emory.mathcs.nlp.component.dep;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
+import edu.emory.mathcs.nlp.common.util.StringUtils;
 import edu.emory.mathcs.nlp.component.util.feature.Direction;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
@@ -27,6 +30,10 @@ import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
 public abstract class DEPFeatureTemplate extends FeatureTemplate<DEPNode,DEPState<DEPNode>>
 {
 	private static final long serialVersionUID = -2218894375050796569L;
+	static public final int MAX_DISTANCE = 10;
+	static private final String[] DISTANCES = IntStream.rangeClosed(0, MAX_DISTANCE).mapToObj(Integer::toString).toArray(String[]::new);
+	/** If true, features are not cached in the state (for benchmarking). */
+	private transient boolean cache_disabled;
 
 	public DEPFeatureTemplate()	
 	{
@@ -35,8 +42,59 @@ public abstract class DEPFeatureTemplate extends FeatureTemplate<DEPNode,DEPStat
 	
 	protected abstract void init();
 	
+	/** Enables or disables caching feature values in {@link DEPState}; enabled by default. */
+	public void setCache(boolean enable)
+	{
+		cache_disabled = !enable;
+	}
+	
 //	========================= FEATURE EXTRACTORS =========================
 	
+	/** Conjunctions of static fields are joined once per combination of nodes in the sentence. */
+	@Override
+	protected String getFeature(int type, FeatureItem<?>[] items)
+	{
+		if (cache_disabled || items.length == 1 || !isStatic(items))
+			return super.getFeature(type, items);
+		
+		long key = 1, size = size();
+		DEPNode node;
+		
+		for (FeatureItem<?> item : items)
+		{
+			if ((node = getNode(item)) == null) return null;
+			key = state.getFeatureKey(key, node);
+		}
+		
+		if (key < 0 || key > Long.MAX_VALUE / size) return super.getFeature(type, items);
+		key = key * size + type;
+		String f = state.getFeature(key);
+		
+		if (f == null && (f = super.getFeature(type, items)) != null)
+			state.putFeature(key, f);
+		
+		return f;
+	}
+	
+	/** @return true if the values of all items depend only on their nodes, not on the parsing state. */
+	protected boolean isStatic(FeatureItem<?>[] items)
+	{
+		for (FeatureItem<?> item : items)
+		{
+			switch (item.field)
+			{
+			case word_form:
+			case simplified_word_form:
+			case lemma:
+			case pos_tag:
+			case feats: break;
+			default: return false;
+			}
+		}
+		
+		return true;
+	}
+	
 	@Override
 	protected String getFeature(FeatureItem<?> item)
 	{
@@ -47,15 +105,49 @@ public abstract class DEPFeatureTemplate extends FeatureTemplate<DEPNode,DEPStat
 		{
 		case word_form: return node.getWordForm();
 		case simplified_word_form: return node.getSimplifiedWordForm();
+		case uncapitalized_simplified_word_form: return StringUtils.toLowerCase(node.getSimplifiedWordForm());
+		case word_shape: return node.getWordShape((Integer)item.value);
+		case prefix: return getPrefix(node, (Integer)item.value);
+		case suffix: return getSuffix(node, (Integer)item.value);
 		case lemma: return node.getLemma();
 		case pos_tag: return node.getPOSTag();
+		case ambiguity_class: return state.getAmbiguityClass(node);
 		case feats: return node.getFeat((String)item.value);
 		case dependency_label: return node.getLabel();
-		case valency: return node.getValency((Direction)item.value);
+		case valency: return cache_disabled ? node.getValency((Direction)item.value) : state.getValency(node, (Direction)item.value);
+		case distance: return getDistance(node);
+		case path: return getPath(node, (Field)item.value);
+		case subcategorization: return toString(node.getSubcategorizationHash((Direction)item.value, Field.dependency_label));
 		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
 		}
 	}
 	
+	/** @return the node paired with the specific node for distance and path features: the top of the stack, or the input if the node is the top. */
+	protected DEPNode getPairNode(DEPNode node)
+	{
+		DEPNode s = state.getStack();
+		return (node == s) ? state.getInput() : s;
+	}
+	
+	/** @return the linear distance between the specific node and its pair, capped at {@link #MAX_DISTANCE}. */
+	protected String getDistance(DEPNode node)
+	{
+		DEPNode pair = getPairNode(node);
+		return (pair == null) ? null : DISTANCES[Math.min(Math.abs(node.getID() - pair.getID()), MAX_DISTANCE)];
+	}
+	
+	/** @return the hashed path between the specific node and its pair. */
+	protected String getPath(DEPNode node, Field field)
+	{
+		DEPNode pair = getPairNode(node);
+		return (pair == null) ? null : toString(node.getPathHash(pair, field));
+	}
+	
+	private String toString(long hash)
+	{
+		return (hash == 0) ? null : Long.toString(hash, Character.MAX_RADIX);
+	}
+	
 	@Override
 	protected String[] getFeatures(FeatureItem<?> item)
 	{
@@ -65,6 +157,17 @@ public abstract class DEPFeatureTemplate extends FeatureTemplate<DEPNode,DEPStat
 		switch (item.field)
 		{
 		case binary: return getBinaryFeatures(node);
+		case orthographic: return getOrthographicFeatures(node, state.isFirst(node));
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
+	}
+	
+	@Override
+	protected int getDenseRow(FeatureItem<?> item)
+	{
+		switch (item.field)
+		{
+		case word_embedding: return getEmbeddingRow(getNode(item), item);
 		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
 		}
 	}
@@ -52,6 +52,12 @@ public class DEPIndex implements TSVIndex<DEPNode>
 		this.deprel  = deprel;
 	}
 
+	@Override
+	public int[] getColumns()
+	{
+		return new int[]{form, lemma, pos, feats, head_id, deprel};
+	}
+	
 	@Override
 	public DEPNode[] toNodeList(List<String[]> values)
 	{
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep;
+
+import edu.emory.mathcs.nlp.common.util.MathUtils;
+
+/**
+ * Evaluates both part-of-speech tags and dependencies.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointEval extends DEPEval
+{
+	private int tag_correct, tag_total;
+	
+	public void addTags(int correct, int total)
+	{
+		tag_correct += correct;
+		tag_total   += total;
+	}
+	
+	@Override
+	public void clear()
+	{
+		super.clear();
+		tag_correct = tag_total = 0;
+	}
+	
+	public double getTagAccuracy()
+	{
+		return MathUtils.accuracy(tag_correct, tag_total);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("POS = %5.2f, %s", getTagAccuracy(), super.toString());
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.util.StringInstance;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.vector.StringVector;
+
+/**
+ * Tags and parses in one pass using {@link DEPJointState}, where one feature template serves both tasks;
+ * the first model predicts parsing transitions and the second model predicts tags.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointParser<N extends DEPNode> extends NLPComponent<N,DEPState<N>>
+{
+	private static final long serialVersionUID = -1426510930385574339L;
+	private AmbiguityClassMap ambiguity_class_map;
+	
+	public DEPJointParser(StringModel parseModel, StringModel tagModel)
+	{
+		super(new StringModel[]{parseModel, tagModel});
+	}
+	
+//	============================== LEXICONS ==============================
+
+	@Override
+	protected void readLexicons(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		ambiguity_class_map = (AmbiguityClassMap)in.readObject();
+	}
+
+	@Override
+	protected void writeLexicons(ObjectOutputStream out) throws IOException
+	{
+		out.writeObject(ambiguity_class_map);
+	}
+	
+	public AmbiguityClassMap getAmbiguityClassMap()
+	{
+		return ambiguity_class_map;
+	}
+	
+	public void setAmbiguityClassMap(AmbiguityClassMap map)
+	{
+		ambiguity_class_map = map;
+	}
+	
+//	============================== PROCESS ==============================
+	
+	@Override
+	protected DEPState<N> createState(N[] nodes)
+	{
+		return new DEPJointState<>(nodes, ambiguity_class_map);
+	}
+
+	@Override
+	protected StringPrediction getModelPrediction(DEPState<N> state, StringVector vector)
+	{
+		return ((DEPJointState<N>)state).isTagging() ? models[1].predictBest(vector) : models[0].predictBest(vector);
+	}
+
+	@Override
+	protected void addInstance(String label, StringVector vector)
+	{
+		StringModel model = label.startsWith(DEPJointState.TAG) ? models[1] : models[0];
+		model.addInstance(new StringInstance(label, vector));
+	}
+}
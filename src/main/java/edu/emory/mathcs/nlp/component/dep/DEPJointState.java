@@ -0,0 +1,102 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep;
+
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+
+/**
+ * Arc-eager parsing state that also tags: whenever the input has no part-of-speech tag,
+ * the next transition assigns its tag before any arc or shift involves it,
+ * so tags of the nodes in the stack are always available to the parsing features.
+ * Nodes whose tags are already given are only parsed.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointState<N extends DEPNode> extends DEPState<N>
+{
+	/** The prefix of tagging transitions (e.g., T-NN). */
+	static public final String TAG = "T-";
+	private AmbiguityClassMap ambiguity_class_map;
+	private String[] tag_oracle;
+	
+	public DEPJointState(N[] nodes, AmbiguityClassMap map)
+	{
+		super(nodes);
+		ambiguity_class_map = map;
+	}
+	
+//	====================================== ORACLE ======================================
+	
+	@Override
+	public void saveOracle()
+	{
+		super.saveOracle();
+		tag_oracle = new String[nodes.length];
+		
+		for (int i=1; i<nodes.length; i++)
+			tag_oracle[i] = nodes[i].setPOSTag(null);
+	}
+	
+	@Override
+	public String getOraclePrediction()
+	{
+		return isTagging() ? TAG + tag_oracle[getInput().getID()] : super.getOraclePrediction();
+	}
+	
+//	====================================== TRANSITION ======================================
+	
+	/** @return true if the next transition must tag the input. */
+	public boolean isTagging()
+	{
+		return !isTerminate() && getInput().getPOSTag() == null;
+	}
+	
+	@Override
+	public void next(StringPrediction prediction)
+	{
+		if (isTagging())
+			getInput().setPOSTag(prediction.getLabel().substring(TAG.length()));
+		else
+			super.next(prediction);
+	}
+	
+	@Override
+	public String getAmbiguityClass(DEPNode node)
+	{
+		return (ambiguity_class_map != null) ? ambiguity_class_map.get(node) : null;
+	}
+	
+//	====================================== EVALUATE ======================================
+	
+	/** Tagging accuracy is counted only if the evaluator is {@link DEPJointEval}, over the nodes whose gold tags are given. */
+	@Override
+	public void evaluate(Eval eval)
+	{
+		super.evaluate(eval);
+		if (!(eval instanceof DEPJointEval) || tag_oracle == null) return;
+		int correct = 0, total = 0;
+		
+		for (int i=1; i<nodes.length; i++)
+		{
+			if (tag_oracle[i] == null) continue;
+			if (tag_oracle[i].equals(nodes[i].getPOSTag())) correct++;
+			total++;
+		}
+		
+		((DEPJointEval)eval).addTags(correct, total);
+	}
+}
@@ -46,6 +46,19 @@ public class DEPNode extends POSNode implements Comparable<DEPNode>
 {
 	private static final long serialVersionUID = 3794720014142939766L;
 	static final String ROOT_TAG = "@#r$%";
+	/** The multiplier of the rolling hashes (64-bit FNV prime), greater than any character. */
+	static private final long HASH_PRIME = 1099511628211L;
+	/** Valencies are shared constants so that {@link #getValency(Direction)} never builds a string. */
+	static private final String[]   VALENCY_LEFT  = {StringConst.EMPTY, StringConst.LESS_THAN, StringConst.LESS_THAN+StringConst.LESS_THAN};
+	static private final String[]   VALENCY_RIGHT = {StringConst.EMPTY, StringConst.GREATER_THAN, StringConst.GREATER_THAN+StringConst.GREATER_THAN};
+	static private final String[][] VALENCY_ALL   = new String[VALENCY_LEFT.length][VALENCY_RIGHT.length];
+	
+	static
+	{
+		for (int l=0; l<VALENCY_LEFT.length; l++)
+			for (int r=0; r<VALENCY_RIGHT.length; r++)
+				VALENCY_ALL[l][r] = VALENCY_LEFT[l]+"-"+VALENCY_RIGHT[r];
+	}
 
 	/** The dependency label of this node. */
 	protected String dependency_label;
@@ -625,7 +638,7 @@ public class DEPNode extends POSNode implements Comparable<DEPNode>
 		{
 		case  left: return getLeftValency();
 		case  right: return getRightValency();
-		case  all: return getLeftValency()+"-"+getRightValency();
+		case  all: return VALENCY_ALL[getLeftValencyCount()][getRightValencyCount()];
 		default: return null;
 		}
 	}
@@ -636,17 +649,7 @@ public class DEPNode extends POSNode implements Comparable<DEPNode>
 	 */
 	public String getLeftValency()
 	{
-		StringBuilder build = new StringBuilder();
-		
-		if (getLeftMostDependent() != null)
-		{
-			build.append(StringConst.LESS_THAN);
-			
-			if (getLeftMostDependent(1) != null)
-				build.append(StringConst.LESS_THAN);
-		}
-		
-		return build.toString();
+		return VALENCY_LEFT[getLeftValencyCount()];
 	}
 	
 	/**
@@ -655,17 +658,21 @@ public class DEPNode extends POSNode implements Comparable<DEPNode>
 	 */
 	public String getRightValency()
 	{
-		StringBuilder build = new StringBuilder();
-		
-		if (getRightMostDependent() != null)
-		{
-			build.append(StringConst.GREATER_THAN);
-			
-			if (getRightMostDependent(1) != null)
-				build.append(StringConst.GREATER_THAN);
-		}
-		
-		return build.toString();
+		return VALENCY_RIGHT[getRightValencyCount()];
+	}
+	
+	/** @return 0, 1, or 2 if this node has no, one, or more than one left dependents. */
+	private int getLeftValencyCount()
+	{
+		if (getLeftMostDependent() == null) return 0;
+		return (getLeftMostDependent(1) == null) ? 1 : 2;
+	}
+	
+	/** @return 0, 1, or 2 if this node has no, one, or more than one right dependents. */
+	private int getRightValencyCount()
+	{
+		if (getRightMostDependent() == null) return 0;
+		return (getRightMostDependent(1) == null) ? 1 : 2;
 	}
 	
 	/**
@@ -828,16 +835,145 @@ public class DEPNode extends POSNode implements Comparable<DEPNode>
 	 */
 	public DEPNode getLowestCommonAncestor(DEPNode node)
 	{
-		Set<DEPNode> set = getAncestorSet();
-		set.add(this);
+		if (node == null) return null;
+		DEPNode curr = this;
+		int d = getDepth() - node.getDepth();
 		
-		while (node != null)
+		for (; d > 0; d--) curr = curr.getHead();
+		for (; d < 0; d++) node = node.getHead();
+		
+		while (curr != node)
 		{
-			if (set.contains(node)) return node;
+			curr = curr.getHead();
 			node = node.getHead();
 		}
 		
-		return null;
+		return curr;
+	}
+	
+	/** @return the number of ancestors of this node (e.g., 0 if this node has no head). */
+	public int getDepth()
+	{
+		int depth = 0;
+		
+		for (DEPNode node = getHead(); node != null; node = node.getHead())
+			depth++;
+		
+		return depth;
+	}
+	
+//	====================================== Hashes ======================================
+	
+	/**
+	 * Gets the rolling hash of {@link #getSubcategorization(Direction, Field)} without building the string.
+	 * @return the hash of the sub-categorization if exists; otherwise, 0.
+	 */
+	public long getSubcategorizationHash(Direction direction, Field field)
+	{
+		switch (direction)
+		{
+		case left : return getLeftSubcategorizationHash (0, field);
+		case right: return getRightSubcategorizationHash(0, field);
+		case all  : return getRightSubcategorizationHash(getLeftSubcategorizationHash(0, field), field);
+		default   : return 0;
+		}
+	}
+	
+	private long getLeftSubcategorizationHash(long h, Field field)
+	{
+		int i, size = getDependentSize();
+		DEPNode node;
+		
+		for (i=0; i<size; i++)
+		{
+			node = getDependent(i);
+			if (node.getID() > id) break;
+			h = hash(hash(h, StringConst.LESS_THAN), node.getValue(field));
+		}
+		
+		return h;
+	}
+	
+	private long getRightSubcategorizationHash(long h, Field field)
+	{
+		int i, size = getDependentSize();
+		DEPNode node;
+		
+		for (i=size-1; i>=0; i--)
+		{
+			node = getDependent(i);
+			if (node.getID() < id) break;
+			h = hash(hash(h, StringConst.GREATER_THAN), node.getValue(field));
+		}
+		
+		return h;
+	}
+	
+	/**
+	 * Gets the rolling hash of {@link #getPath(DEPNode, Field)} without building the string.
+	 * @return the hash of the path between this node and the specific node if exists; otherwise, 0.
+	 */
+	public long getPathHash(DEPNode node, Field field)
+	{
+		DEPNode lca = getLowestCommonAncestor(node);
+		
+		if (lca == null)
+			return 0;
+		
+		if (node == lca)
+			return getPathHashAux(0, lca, this, field, "^", true);
+		
+		if (this == lca)
+			return getPathHashAux(0, lca, node, field, "|", true);
+		
+		return getPathHashAux(getPathHashAux(0, lca, this, field, "^", true), lca, node, field, "|", false);
+	}
+	
+	private long getPathHashAux(long h, DEPNode top, DEPNode bottom, Field field, String delim, boolean includeTop)
+	{
+		DEPNode node = bottom;
+		int dist = 0;
+		String s;
+		
+		do
+		{
+			s = node.getValue(field);
+			
+			if (s != null)
+				h = hash(hash(h, delim), s);
+			else
+				dist++;
+			
+			node = node.getHead();
+		}
+		while (node != top && node != null);
+		
+		if (field == Field.distance)
+			h = hash(hash(h, delim), dist);
+		else if (field != Field.dependency_label && includeTop)
+			h = hash(hash(h, delim), top.getValue(field));
+		
+		return h;
+	}
+	
+	/**
+	 * @param h the hash of the preceding string.
+	 * @return the rolling hash of the preceding string followed by the specific string ("null" if null, as in {@link StringBuilder}).
+	 */
+	static public long hash(long h, String s)
+	{
+		if (s == null) s = "null";
+		
+		for (int i=0; i<s.length(); i++)
+			h = h * HASH_PRIME + s.charAt(i);
+		
+		return h;
+	}
+	
+	static private long hash(long h, int i)
+	{
+		if (i >= 10) h = hash(h, i / 10);
+		return h * HASH_PRIME + ('0' + i % 10);
 	}
 	
 //	====================================== Setters ======================================
@@ -18,6 +18,7 @@ package edu.emory.mathcs.nlp.component.dep;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.List;
 
 import edu.emory.mathcs.nlp.component.util.NLPComponent;
 import edu.emory.mathcs.nlp.learn.model.StringModel;
@@ -59,6 +60,12 @@ public class DEPParser<N extends DEPNode> extends NLPComponent<N,DEPState<N>>
 		return models[0].predictBest(vector);
 	}
 
+	@Override
+	protected StringPrediction[] getModelPredictions(List<DEPState<N>> states, List<StringVector> vectors)
+	{
+		return models[0].predictBest(vectors);
+	}
+
 	@Override
 	protected void addInstance(String label, StringVector vector)
 	{
@@ -18,9 +18,12 @@ package edu.emory.mathcs.nlp.component.dep;
 import java.util.Arrays;
 
 import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.component.util.feature.Direction;
 import edu.emory.mathcs.nlp.component.util.state.NLPState;
 import edu.emory.mathcs.nlp.learn.util.StringPrediction;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
@@ -36,11 +39,18 @@ public class DEPState<N extends DEPNode> extends NLPState<N>
 	private IntArrayList stack;
 	private int          input;
 	
+	/** Valencies of the nodes (left, right, all), invalidated whenever an arc touches the node. */
+	private String[] valency_cache;
+	/** Conjunctions of static fields (e.g., word form, lemma, POS tag) keyed by {@link #getFeatureKey(long, DEPNode)}. */
+	private Long2ObjectMap<String> feature_cache;
+	
 	public DEPState(N[] nodes)
 	{
 		super(nodes);
 		stack = new IntArrayList();
 		input = 0;
+		valency_cache = new String[nodes.length * 3];
+		feature_cache = new Long2ObjectOpenHashMap<>();
 		shift();
 	}
 	
@@ -119,6 +129,8 @@ public class DEPState<N extends DEPNode> extends NLPState<N>
 			
 			if (s != nodes[0] && !i.isDescendantOf(s))
 			{
+				clearValency(s.getHead());
+				clearValency(i);
 				s.setHead(i, label.substring(3));
 				label = REDUCE;
 			}
@@ -131,7 +143,11 @@ public class DEPState<N extends DEPNode> extends NLPState<N>
 			DEPNode i = getInput();
 			
 			if (!s.isDescendantOf(i))
+			{
+				clearValency(i.getHead());
+				clearValency(s);
 				i.setHead(s, label.substring(3));
+			}
 
 			label = SHIFT;
 		}
@@ -193,6 +209,61 @@ public class DEPState<N extends DEPNode> extends NLPState<N>
 		return getInput(0);
 	}
 	
+//	====================================== FEATURE CACHE ======================================
+	
+	/** @return the valency of the node in this state, computed once per arc that touches the node. */
+	public String getValency(DEPNode node, Direction direction)
+	{
+		int index;
+		
+		switch (direction)
+		{
+		case left : index = 0; break;
+		case right: index = 1; break;
+		case all  : index = 2; break;
+		default   : return node.getValency(direction);
+		}
+		
+		index += node.getID() * 3;
+		String valency = valency_cache[index];
+		if (valency == null) valency_cache[index] = valency = node.getValency(direction);
+		return valency;
+	}
+	
+	private void clearValency(DEPNode node)
+	{
+		if (node == null) return;
+		int index = node.getID() * 3;
+		Arrays.fill(valency_cache, index, index+3, null);
+	}
+	
+	/**
+	 * Keys start with 1 so that keys of different numbers of nodes never overlap (e.g., 1 node in [n, 2n), 2 nodes in [n^2, 2n^2)).
+	 * @param key the key returned by a previous call of this method, or 1 for the first node.
+	 * @return the key appending the node to the previous key if it fits in a long; otherwise, -1.
+	 */
+	public long getFeatureKey(long key, DEPNode node)
+	{
+		return (key < 0 || key > Long.MAX_VALUE / nodes.length) ? -1 : key * nodes.length + node.getID();
+	}
+	
+	/** @return the cached feature for the key if exists; otherwise, null. */
+	public String getFeature(long key)
+	{
+		return feature_cache.get(key);
+	}
+	
+	public void putFeature(long key, String feature)
+	{
+		feature_cache.put(key, feature);
+	}
+	
+	/** @return the ambiguity class of the node if available (see {@link DEPJointState}); otherwise, null. */
+	public String getAmbiguityClass(DEPNode node)
+	{
+		return null;
+	}
+	
 //	====================================== EVALUATE ======================================
 
 	@Override
@@ -102,5 +102,10 @@ public class DEPFeatureTemplate0 extends DEPFeatureTemplate
 		// boolean features
 		addSet(new FeatureItem<>(Source.i, 0, Field.binary));
 		addSet(new FeatureItem<>(Source.j, 0, Field.binary));
+		
+		// dense features, extracted only if embeddings are given
+		addDense(new FeatureItem<>(Source.i, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 1, Field.word_embedding));
 	}
 }
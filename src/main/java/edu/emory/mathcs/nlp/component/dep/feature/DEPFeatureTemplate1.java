@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.feature;
+
+import edu.emory.mathcs.nlp.component.util.feature.Direction;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.feature.Source;
+
+/**
+ * {@link DEPFeatureTemplate0} with distance, path, and sub-categorization features.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPFeatureTemplate1 extends DEPFeatureTemplate0
+{
+	private static final long serialVersionUID = -3318227496637186450L;
+
+	@Override
+	protected void init()
+	{
+		super.init();
+		
+		// distance features
+		add(new FeatureItem<>(Source.j, 0, Field.distance));
+		add(new FeatureItem<>(Source.j, 0, Field.distance), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.k, 1, Field.distance), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.k, 1, Field.pos_tag));
+		
+		// path features
+		add(new FeatureItem<>(Source.k, 1, Field.path, Field.pos_tag));
+		add(new FeatureItem<>(Source.k, 1, Field.path, Field.dependency_label));
+		
+		// sub-categorization features
+		add(new FeatureItem<>(Source.i, 0, Field.subcategorization, Direction.all));
+		add(new FeatureItem<>(Source.i, 0, Field.subcategorization, Direction.right));
+		add(new FeatureItem<>(Source.j, 0, Field.subcategorization, Direction.left));
+		
+		// dense features, extracted only if embeddings are given
+		addDense(new FeatureItem<>(Source.i, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 1, Field.word_embedding));
+	}
+}
@@ -34,5 +34,10 @@ public class DEPFeatureTemplate2 extends DEPFeatureTemplate
 		add(new FeatureItem<>(Source.i, 0, Field.word_form));
 		add(new FeatureItem<>(Source.j, 0, Field.word_form));
 		add(new FeatureItem<>(Source.i, 0, Field.dependency_label));
+		
+		// dense features, extracted only if embeddings are given
+		addDense(new FeatureItem<>(Source.i, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 0, Field.word_embedding));
+		addDense(new FeatureItem<>(Source.j, 1, Field.word_embedding));
 	}
 }
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.feature;
+
+import edu.emory.mathcs.nlp.component.dep.DEPJointParser;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.feature.Source;
+
+/**
+ * {@link DEPFeatureTemplate0} with the lexical features of {@code POSFeatureTemplate0} around the input for {@link DEPJointParser}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointFeatureTemplate0 extends DEPFeatureTemplate0
+{
+	private static final long serialVersionUID = 2817361457310640412L;
+
+	@Override
+	protected void init()
+	{
+		super.init();
+		
+		// form features
+		add(new FeatureItem<>(Source.j, -2, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>(Source.j, -1, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>(Source.j,  0, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>(Source.j,  1, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>(Source.j,  2, Field.uncapitalized_simplified_word_form));
+		
+		add(new FeatureItem<>(Source.j, -1, Field.word_shape, 2));
+		add(new FeatureItem<>(Source.j,  0, Field.word_shape, 2));
+		add(new FeatureItem<>(Source.j,  1, Field.word_shape, 2));
+		
+		// pos features
+		add(new FeatureItem<>(Source.j, -3, Field.pos_tag));
+		add(new FeatureItem<>(Source.j, -2, Field.pos_tag));
+		add(new FeatureItem<>(Source.j, -1, Field.pos_tag));
+		add(new FeatureItem<>(Source.j,  0, Field.ambiguity_class));
+		add(new FeatureItem<>(Source.j,  1, Field.ambiguity_class));
+		add(new FeatureItem<>(Source.j,  2, Field.ambiguity_class));
+		add(new FeatureItem<>(Source.j,  3, Field.ambiguity_class));
+		
+		// affix features
+		add(new FeatureItem<>(Source.j, 0, Field.prefix, 2));
+		add(new FeatureItem<>(Source.j, 0, Field.prefix, 3));
+		add(new FeatureItem<>(Source.j, 0, Field.suffix, 1));
+		add(new FeatureItem<>(Source.j, 0, Field.suffix, 2));
+		add(new FeatureItem<>(Source.j, 0, Field.suffix, 3));
+		add(new FeatureItem<>(Source.j, 0, Field.suffix, 4));
+		
+		// orthographic features
+		addSet(new FeatureItem<>(Source.j, 0, Field.orthographic));
+	}
+}
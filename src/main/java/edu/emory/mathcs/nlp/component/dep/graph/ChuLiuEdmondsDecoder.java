@@ -0,0 +1,158 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import java.util.Arrays;
+
+/**
+ * Chu-Liu-Edmonds' O(n^3) decoder for non-projective trees.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ChuLiuEdmondsDecoder implements DEPGraphDecoder
+{
+	private static final long serialVersionUID = 2617399640939851740L;
+
+	@Override
+	public int[] decode(double[][] scores)
+	{
+		final int n = scores.length;
+		double[][] weights = new double[n][n];
+		
+		// weights[h][d] = score of the arc h -> d; no arc goes into the root or loops
+		for (int h=0; h<n; h++)
+			for (int d=0; d<n; d++)
+				weights[h][d] = (d == 0 || h == d) ? Double.NEGATIVE_INFINITY : scores[d][h];
+		
+		return decode(weights, n);
+	}
+	
+	private int[] decode(double[][] weights, int n)
+	{
+		int[] heads = getBestHeads(weights, n);
+		boolean[] cycle = findCycle(heads, n);
+		if (cycle == null) return heads;
+		
+		// contract the cycle into the last node of the new graph
+		int[] map = new int[n], inverse = new int[n];
+		int u, v, m = 0;
+		
+		for (v=0; v<n; v++)
+		{
+			if (!cycle[v])
+			{
+				inverse[m] = v;
+				map[v] = m++;
+			}
+		}
+		
+		final int c = m++;
+		for (v=0; v<n; v++) if (cycle[v]) map[v] = c;
+		
+		double[][] contracted = new double[m][m];
+		for (double[] row : contracted) Arrays.fill(row, Double.NEGATIVE_INFINITY);
+		int[] enter = new int[n];	// enter[u]: the cycle node that u attaches to
+		int[] exit  = new int[n];	// exit[v] : the cycle node that v attaches from
+		double w;
+		
+		for (u=0; u<n; u++)
+		{
+			if (cycle[u]) continue;
+			
+			for (v=0; v<n; v++)
+			{
+				if (!cycle[v])
+					contracted[map[u]][map[v]] = weights[u][v];
+				else if ((w = weights[u][v] - weights[heads[v]][v]) > contracted[map[u]][c])
+				{
+					contracted[map[u]][c] = w;
+					enter[u] = v;
+				}
+			}
+		}
+		
+		for (v=0; v<n; v++)
+		{
+			if (cycle[v]) continue;
+			
+			for (u=0; u<n; u++)
+			{
+				if (cycle[u] && weights[u][v] > contracted[c][map[v]])
+				{
+					contracted[c][map[v]] = weights[u][v];
+					exit[v] = u;
+				}
+			}
+		}
+		
+		// expand the cycle
+		int[] contractedHeads = decode(contracted, m);
+		
+		for (v=1; v<n; v++)
+		{
+			if (!cycle[v])
+			{
+				u = contractedHeads[map[v]];
+				heads[v] = (u == c) ? exit[v] : inverse[u];
+			}
+		}
+		
+		u = inverse[contractedHeads[c]];
+		heads[enter[u]] = u;
+		return heads;
+	}
+	
+	/** @return the highest scoring head of each node, ignoring the tree constraint. */
+	private int[] getBestHeads(double[][] weights, int n)
+	{
+		int[] heads = new int[n];
+		heads[0] = -1;
+		
+		for (int d=1; d<n; d++)
+		{
+			heads[d] = 0;
+			
+			for (int h=1; h<n; h++)
+			{
+				if (weights[h][d] > weights[heads[d]][d])
+					heads[d] = h;
+			}
+		}
+		
+		return heads;
+	}
+	
+	/** @return the nodes in a cycle if exists; otherwise, null. */
+	private boolean[] findCycle(int[] heads, int n)
+	{
+		int[] visited = new int[n];
+		int s, v;
+		
+		for (s=1; s<n; s++)
+		{
+			for (v=s; v > 0 && visited[v] == 0; v=heads[v])
+				visited[v] = s;
+			
+			if (v > 0 && visited[v] == s)
+			{
+				boolean[] cycle = new boolean[n];
+				for (; !cycle[v]; v=heads[v]) cycle[v] = true;
+				return cycle;
+			}
+		}
+		
+		return null;
+	}
+}
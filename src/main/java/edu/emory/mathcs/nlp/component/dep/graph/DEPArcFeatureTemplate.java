@@ -0,0 +1,124 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+
+/**
+ * Features of a candidate arc, where {@link edu.emory.mathcs.nlp.component.util.feature.Source#i} is the head
+ * and {@link edu.emory.mathcs.nlp.component.util.feature.Source#j} is the dependent.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public abstract class DEPArcFeatureTemplate extends FeatureTemplate<DEPNode,DEPGraphState<DEPNode>>
+{
+	private static final long serialVersionUID = 3529404745167340297L;
+	static public final int MAX_DISTANCE = 10;
+	static private final String[] LEFT_DISTANCES  = new String[MAX_DISTANCE+1];
+	static private final String[] RIGHT_DISTANCES = new String[MAX_DISTANCE+1];
+	
+	static
+	{
+		for (int i=0; i<=MAX_DISTANCE; i++)
+		{
+			LEFT_DISTANCES [i] = "<"+i;
+			RIGHT_DISTANCES[i] = ">"+i;
+		}
+	}
+
+	public DEPArcFeatureTemplate()	
+	{
+		init();
+	}
+	
+	protected abstract void init();
+	
+//	========================= FEATURE EXTRACTORS =========================
+	
+	@Override
+	protected String getFeature(FeatureItem<?> item)
+	{
+		if (item.field == Field.distance) return getDistance();
+		DEPNode node = getNode(item);
+		if (node == null) return null;
+		
+		switch (item.field)
+		{
+		case word_form: return node.getWordForm();
+		case simplified_word_form: return node.getSimplifiedWordForm();
+		case lemma: return node.getLemma();
+		case pos_tag: return node.getPOSTag();
+		case feats: return node.getFeat((String)item.value);
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
+	}
+	
+	/** @return the direction and the distance from the head to the dependent, capped at {@link #MAX_DISTANCE}. */
+	protected String getDistance()
+	{
+		int d = state.getDependentID() - state.getHeadID();
+		return (d < 0) ? LEFT_DISTANCES[Math.min(-d, MAX_DISTANCE)] : RIGHT_DISTANCES[Math.min(d, MAX_DISTANCE)];
+	}
+	
+	/** The set feature of {@link Field#pos_tag} returns the POS tags between the head and the dependent, each joined with the POS tags of both. */
+	@Override
+	protected String[] getFeatures(FeatureItem<?> item)
+	{
+		switch (item.field)
+		{
+		case pos_tag: return getBetweenPOSTags();
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
+	}
+	
+	protected String[] getBetweenPOSTags()
+	{
+		int i, h = state.getHeadID(), d = state.getDependentID();
+		int bgn = Math.min(h, d) + 1, end = Math.max(h, d);
+		List<String> tags = new ArrayList<>();
+		String tag;
+		
+		for (i=bgn; i<end; i++)
+		{
+			tag = state.getNode(i, 0).getPOSTag();
+			if (!tags.contains(tag)) tags.add(tag);
+		}
+		
+		if (tags.isEmpty()) return null;
+		String[] features = new String[tags.size()];
+		String hp = state.getHead(0).getPOSTag(), dp = state.getDependent(0).getPOSTag();
+		
+		for (i=0; i<features.length; i++)
+			features[i] = hp + "_" + tags.get(i) + "_" + dp;
+		
+		return features;
+	}
+	
+	protected DEPNode getNode(FeatureItem<?> item)
+	{
+		switch (item.source)
+		{
+		case i: return state.getHead(item.window);
+		case j: return state.getDependent(item.window);
+		default: return null;
+		}
+	}
+}
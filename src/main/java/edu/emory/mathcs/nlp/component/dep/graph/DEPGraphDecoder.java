@@ -0,0 +1,31 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import java.io.Serializable;
+
+/**
+ * Finds the highest scoring dependency tree given first-order arc scores.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public interface DEPGraphDecoder extends Serializable
+{
+	/**
+	 * @param scores scores[d][h] is the score of the arc from the head h to the dependent d, where 0 is the root.
+	 * @return heads[d] is the head of the dependent d; heads[0] is -1.
+	 */
+	int[] decode(double[][] scores);
+}
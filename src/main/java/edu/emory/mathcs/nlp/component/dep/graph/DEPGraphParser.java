@@ -0,0 +1,150 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.util.StringInstance;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.vector.StringVector;
+
+/**
+ * First-order graph-based dependency parser.
+ * Each candidate arc is classified into either a dependency label or {@link DEPGraphState#NO_ARC};
+ * the score of the arc is the margin between its best label and {@link DEPGraphState#NO_ARC}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPGraphParser<N extends DEPNode> extends NLPComponent<N,DEPGraphState<N>>
+{
+	private static final long serialVersionUID = -4506815285385658208L;
+	/** Sentences shorter than this are scored in the calling thread. */
+	static public final int PARALLEL_SIZE = 16;
+	private DEPGraphDecoder decoder;
+	private int negative_interval;
+	private int negative_count;
+
+	public DEPGraphParser(StringModel model, DEPGraphDecoder decoder)
+	{
+		super(new StringModel[]{model});
+		setDecoder(decoder);
+		setNegativeInterval(1);
+	}
+	
+	public DEPGraphDecoder getDecoder()
+	{
+		return decoder;
+	}
+	
+	public void setDecoder(DEPGraphDecoder decoder)
+	{
+		this.decoder = decoder;
+	}
+	
+	/** Keeps only every interval'th {@link DEPGraphState#NO_ARC} instance during training (1: keep all). */
+	public void setNegativeInterval(int interval)
+	{
+		negative_interval = interval;
+	}
+	
+//	============================== LEXICONS ==============================
+
+	@Override
+	protected void readLexicons(ObjectInputStream in) throws IOException, ClassNotFoundException {}
+
+	@Override
+	protected void writeLexicons(ObjectOutputStream out) throws IOException {}
+	
+//	============================== PROCESS ==============================
+	
+	/** Scores all candidate arcs, then decodes them into a tree unless training. */
+	@Override
+	public void process(N[] nodes)
+	{
+		if (isTrain() || isAggregate())
+		{
+			super.process(nodes);
+			return;
+		}
+		
+		DEPGraphState<N> state = createState(nodes);
+		if (!isDecode()) state.saveOracle();
+		scoreArcs(state);
+		state.decode(decoder);
+		if (isEvaluate()) evaluate(state);
+	}
+	
+	/** Processes one sentence at a time since the arcs within each sentence are already scored in parallel. */
+	@Override
+	public void process(List<N[]> batch)
+	{
+		for (N[] nodes : batch)
+			process(nodes);
+	}
+	
+	/** Scores the candidate heads of every dependent in parallel; the scores are cached in the state. */
+	protected void scoreArcs(DEPGraphState<N> state)
+	{
+		IntStream dependents = IntStream.range(1, state.size());
+		if (state.size() >= PARALLEL_SIZE) dependents = dependents.parallel();
+		dependents.forEach(d -> scoreArcs(state.getDependentState(d), feature_template.duplicate()));
+	}
+	
+	private void scoreArcs(DEPGraphState<N> state, FeatureTemplate<N,DEPGraphState<N>> template)
+	{
+		template.setState(state);
+		
+		while (!state.isTerminate())
+			state.next(getModelPrediction(state, template.extractFeatures()));
+	}
+	
+	@Override
+	protected DEPGraphState<N> createState(N[] nodes)
+	{
+		return new DEPGraphState<>(nodes);
+	}
+
+	@Override
+	protected StringPrediction getModelPrediction(DEPGraphState<N> state, StringVector vector)
+	{
+		StringModel model = models[0];
+		double[] scores = model.scores(vector);
+		int i, best = -1, none = model.getLabelIndex(DEPGraphState.NO_ARC);
+		
+		for (i=0; i<scores.length; i++)
+		{
+			if (i != none && (best < 0 || scores[best] < scores[i]))
+				best = i;
+		}
+		
+		if (best < 0) return new StringPrediction(DEPGraphState.NO_ARC, -Double.MAX_VALUE);
+		return new StringPrediction(model.getLabel(best), (none < 0) ? scores[best] : scores[best] - scores[none]);
+	}
+
+	@Override
+	protected void addInstance(String label, StringVector vector)
+	{
+		if (!label.equals(DEPGraphState.NO_ARC) || negative_count++ % negative_interval == 0)
+			models[0].addInstance(new StringInstance(label, vector));
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import java.util.Arrays;
+
+import edu.emory.mathcs.nlp.component.dep.DEPArc;
+import edu.emory.mathcs.nlp.component.dep.DEPEval;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+
+/**
+ * Iterates over all candidate arcs (head, dependent) of a sentence and caches their scores,
+ * which are then decoded into a tree by {@link DEPGraphDecoder}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPGraphState<N extends DEPNode> extends NLPState<N>
+{
+	/** The label of a candidate arc that is not in the gold tree. */
+	static public final String NO_ARC = "_";
+	
+	private DEPArc[]   oracle;
+	/** scores[d][h]: the score of the arc from the head h to the dependent d. */
+	private double[][] scores;
+	/** labels[d][h]: the label of the arc from the head h to the dependent d. */
+	private String[][] labels;
+	private int head;
+	private int dependent;
+	private int last_dependent;
+	
+	public DEPGraphState(N[] nodes)
+	{
+		this(nodes, null, new double[nodes.length][nodes.length], new String[nodes.length][nodes.length], 1, nodes.length-1);
+	}
+	
+	private DEPGraphState(N[] nodes, DEPArc[] oracle, double[][] scores, String[][] labels, int firstDependent, int lastDependent)
+	{
+		super(nodes);
+		this.oracle    = oracle;
+		this.scores    = scores;
+		this.labels    = labels;
+		head           = 0;
+		dependent      = firstDependent;
+		last_dependent = lastDependent;
+	}
+	
+	/** @return a state that iterates over the candidate heads of the dependent only, sharing the cached scores with this state. */
+	public DEPGraphState<N> getDependentState(int dependent)
+	{
+		return new DEPGraphState<>(nodes, oracle, scores, labels, dependent, dependent);
+	}
+	
+//	====================================== ORACLE ======================================
+
+	@Override
+	public void saveOracle()
+	{
+		oracle = Arrays.stream(nodes).map(n -> n.clearDependencies()).toArray(DEPArc[]::new);
+	}
+	
+	@Override
+	public String getOraclePrediction()
+	{
+		DEPArc o = oracle[dependent];
+		return o.isNode(nodes[head]) ? o.getLabel() : NO_ARC;
+	}
+	
+//	====================================== TRANSITION ======================================
+	
+	/** Caches the score and the label of the current arc and moves onto the next arc. */
+	@Override
+	public void next(StringPrediction prediction)
+	{
+		scores[dependent][head] = prediction.getScore();
+		labels[dependent][head] = prediction.getLabel();
+		
+		if (++head == dependent) head++;
+		
+		if (head >= nodes.length)
+		{
+			head = 0;
+			dependent++;
+		}
+	}
+	
+	@Override
+	public boolean isTerminate()
+	{
+		return dependent > last_dependent;
+	}
+	
+	/** Finds the highest scoring tree from the cached scores and assigns the heads and the labels to the nodes. */
+	public void decode(DEPGraphDecoder decoder)
+	{
+		int[] heads = decoder.decode(scores);
+		
+		for (int d=1; d<nodes.length; d++)
+			nodes[d].setHead(nodes[heads[d]], labels[d][heads[d]]);
+	}
+	
+	public int size()
+	{
+		return nodes.length;
+	}
+	
+	public N getHead(int window)
+	{
+		return getNode(head, window);
+	}
+	
+	public N getDependent(int window)
+	{
+		return getNode(dependent, window);
+	}
+	
+	public int getHeadID()
+	{
+		return head;
+	}
+	
+	public int getDependentID()
+	{
+		return dependent;
+	}
+	
+//	====================================== EVALUATE ======================================
+
+	@Override
+	public void evaluate(Eval eval)
+	{
+		int las = 0, uas = 0;
+		DEPNode node;
+		DEPArc  gold;
+		
+		for (int i=1; i<nodes.length; i++)
+		{
+			node = nodes [i];
+			gold = oracle[i];
+			
+			if (gold.isNode(node.getHead()))
+			{
+				uas++;
+				if (gold.isLabel(node.getLabel())) las++;
+			}
+		}
+
+		((DEPEval)eval).add(las, uas, nodes.length-1);
+	}
+}
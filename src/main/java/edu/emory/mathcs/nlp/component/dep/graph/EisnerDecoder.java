@@ -0,0 +1,134 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+/**
+ * Eisner's O(n^3) decoder for projective trees.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class EisnerDecoder implements DEPGraphDecoder
+{
+	private static final long serialVersionUID = -1432046296911427650L;
+	static private final int LEFT  = 0;
+	static private final int RIGHT = 1;
+
+	@Override
+	public int[] decode(double[][] scores)
+	{
+		final int n = scores.length;
+		double[][][] complete   = new double[2][n][n];
+		double[][][] incomplete = new double[2][n][n];
+		int[][][] completeBP    = new int[2][n][n];
+		int[][][] incompleteBP  = new int[2][n][n];
+		int s, t, r, k;
+		double v, best;
+		
+		for (k=1; k<n; k++)
+		{
+			for (s=0; s+k<n; s++)
+			{
+				t = s + k;
+				
+				// incomplete spans: s <- t and s -> t
+				best = Double.NEGATIVE_INFINITY;
+				incompleteBP[LEFT][s][t] = incompleteBP[RIGHT][s][t] = s;
+				
+				for (r=s; r<t; r++)
+				{
+					v = complete[RIGHT][s][r] + complete[LEFT][r+1][t];
+					
+					if (v > best)
+					{
+						best = v;
+						incompleteBP[LEFT][s][t] = incompleteBP[RIGHT][s][t] = r;
+					}
+				}
+				
+				incomplete[LEFT ][s][t] = (s == 0) ? Double.NEGATIVE_INFINITY : best + scores[s][t];
+				incomplete[RIGHT][s][t] = best + scores[t][s];
+				
+				// complete spans: s <- t
+				best = Double.NEGATIVE_INFINITY;
+				completeBP[LEFT][s][t] = s;
+				
+				for (r=s; r<t; r++)
+				{
+					v = complete[LEFT][s][r] + incomplete[LEFT][r][t];
+					
+					if (v > best)
+					{
+						best = v;
+						completeBP[LEFT][s][t] = r;
+					}
+				}
+				
+				complete[LEFT][s][t] = best;
+				
+				// complete spans: s -> t
+				best = Double.NEGATIVE_INFINITY;
+				completeBP[RIGHT][s][t] = t;
+				
+				for (r=s+1; r<=t; r++)
+				{
+					v = incomplete[RIGHT][s][r] + complete[RIGHT][r][t];
+					
+					if (v > best)
+					{
+						best = v;
+						completeBP[RIGHT][s][t] = r;
+					}
+				}
+				
+				complete[RIGHT][s][t] = best;
+			}
+		}
+		
+		int[] heads = new int[n];
+		heads[0] = -1;
+		backtrack(completeBP, incompleteBP, heads, 0, n-1, RIGHT, true);
+		return heads;
+	}
+	
+	private void backtrack(int[][][] completeBP, int[][][] incompleteBP, int[] heads, int s, int t, int direction, boolean complete)
+	{
+		if (s == t) return;
+		int r;
+		
+		if (complete)
+		{
+			r = completeBP[direction][s][t];
+			
+			if (direction == LEFT)
+			{
+				backtrack(completeBP, incompleteBP, heads, s, r, LEFT, true);
+				backtrack(completeBP, incompleteBP, heads, r, t, LEFT, false);
+			}
+			else
+			{
+				backtrack(completeBP, incompleteBP, heads, s, r, RIGHT, false);
+				backtrack(completeBP, incompleteBP, heads, r, t, RIGHT, true);
+			}
+		}
+		else
+		{
+			r = incompleteBP[direction][s][t];
+			if (direction == LEFT)	heads[s] = t;
+			else					heads[t] = s;
+			backtrack(completeBP, incompleteBP, heads, s  , r, RIGHT, true);
+			backtrack(completeBP, incompleteBP, heads, r+1, t, LEFT , true);
+		}
+	}
+}
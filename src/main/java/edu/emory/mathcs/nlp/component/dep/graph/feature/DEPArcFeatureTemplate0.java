@@ -0,0 +1,69 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph.feature;
+
+import edu.emory.mathcs.nlp.component.dep.graph.DEPArcFeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.feature.Source;
+
+/**
+ * First-order arc features (McDonald et al., 2005).
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPArcFeatureTemplate0 extends DEPArcFeatureTemplate
+{
+	private static final long serialVersionUID = -5936284915305437806L;
+
+	@Override
+	protected void init()
+	{
+		FeatureItem<?> d = new FeatureItem<>(0, Field.distance);
+		
+		// unigram features
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.i, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.word_form));
+		add(new FeatureItem<>(Source.i, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.j, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.j, 0, Field.word_form));
+		add(new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		
+		// bigram features
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.word_form));
+		add(new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.word_form));
+		add(new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.lemma), new FeatureItem<>(Source.j, 0, Field.lemma));
+		
+		// surrounding features
+		add(new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.i,  1, Field.pos_tag), new FeatureItem<>(Source.j, -1, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, -1, Field.pos_tag), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, -1, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.i,  1, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag), new FeatureItem<>(Source.j, 1, Field.pos_tag));
+		add(new FeatureItem<>(Source.i, -1, Field.pos_tag), new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag), new FeatureItem<>(Source.j, 1, Field.pos_tag));
+		
+		// distance features
+		add(d);
+		add(d, new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(d, new FeatureItem<>(Source.i, 0, Field.word_form), new FeatureItem<>(Source.j, 0, Field.pos_tag));
+		add(d, new FeatureItem<>(Source.i, 0, Field.pos_tag), new FeatureItem<>(Source.j, 0, Field.word_form));
+		
+		// in-between features
+		addSet(new FeatureItem<>(0, Field.pos_tag));
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes named entities as BILOU tags (Begin, Inside, Last, Outside, Unit) and decodes tags back into spans.
+ * Decoding also accepts BIO and IO tags, and is lenient on invalid sequences so it can be applied to predictions.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class BILOU
+{
+	static public final String B = "B";
+	static public final String I = "I";
+	static public final String L = "L";
+	static public final String O = "O";
+	static public final String U = "U";
+	static public final String DELIM = "-";
+	
+	private BILOU() {}
+	
+//	============================== TAGS ==============================
+	
+	/** @return the tag joining the prefix and the label (e.g., B-PER). */
+	static public String toTag(String prefix, String label)
+	{
+		return prefix + DELIM + label;
+	}
+	
+	/** @return the prefix of the tag (e.g., B-PER -> B); {@link #O} if the tag is null or O. */
+	static public String getPrefix(String tag)
+	{
+		if (tag == null || O.equals(tag)) return O;
+		int idx = tag.indexOf(DELIM);
+		return (idx < 0) ? I : tag.substring(0, idx);
+	}
+	
+	/** @return the label of the tag (e.g., B-PER -> PER); null if the tag is null or O. */
+	static public String getLabel(String tag)
+	{
+		if (tag == null || O.equals(tag)) return null;
+		int idx = tag.indexOf(DELIM);
+		return (idx < 0) ? tag : tag.substring(idx+1);
+	}
+	
+	/**
+	 * @param prev the previous tag; null if the current tag is the first one.
+	 * @param last true if the current tag is the last one.
+	 * @return true if the current tag can follow the previous tag in a well-formed BILOU sequence.
+	 */
+	static public boolean isValid(String prev, String curr, boolean last)
+	{
+		String pp = getPrefix(prev), cp = getPrefix(curr);
+		
+		if (pp.equals(B) || pp.equals(I))
+			return (cp.equals(I) && !last || cp.equals(L)) && Objects.equals(getLabel(prev), getLabel(curr));
+		
+		return cp.equals(O) || cp.equals(U) || cp.equals(B) && !last;
+	}
+	
+//	============================== CONVERSION ==============================
+	
+	/** @return the spans of the named entities in the BILOU, BIO, or IO tags. */
+	static public List<Span> toSpans(String[] tags)
+	{
+		List<Span> spans = new ArrayList<>();
+		String prefix, label;
+		Span span = null;
+		
+		for (int i=0; i<tags.length; i++)
+		{
+			prefix = getPrefix(tags[i]);
+			label  = getLabel (tags[i]);
+			
+			if (prefix.equals(O))
+			{
+				span = null;
+				continue;
+			}
+			
+			if (span == null || prefix.equals(B) || prefix.equals(U) || !label.equals(span.label))
+				spans.add(span = new Span(i, i+1, label));
+			else
+				span.end = i+1;
+			
+			if (prefix.equals(L) || prefix.equals(U))
+				span = null;
+		}
+		
+		return spans;
+	}
+	
+	/** @return the BILOU tags of the spans in a sequence of the specific size. */
+	static public String[] toTags(List<Span> spans, int size)
+	{
+		String[] tags = new String[size];
+		Arrays.fill(tags, O);
+		
+		for (Span span : spans)
+		{
+			if (span.size() == 1)
+				tags[span.begin] = toTag(U, span.label);
+			else
+			{
+				tags[span.begin] = toTag(B, span.label);
+				for (int i=span.begin+1; i<span.end-1; i++) tags[i] = toTag(I, span.label);
+				tags[span.end-1] = toTag(L, span.label);
+			}
+		}
+		
+		return tags;
+	}
+	
+	/** @return the BILOU tags re-encoded from the BILOU, BIO, or IO tags. */
+	static public String[] toBILOU(String[] tags)
+	{
+		return toTags(toSpans(tags), tags.length);
+	}
+	
+//	============================== SPAN ==============================
+	
+	/** A named entity covering the tokens in [begin, end). */
+	static public class Span
+	{
+		public int    begin;
+		public int    end;
+		public String label;
+		
+		public Span(int begin, int end, String label)
+		{
+			this.begin = begin;
+			this.end   = end;
+			this.label = label;
+		}
+		
+		public int size()
+		{
+			return end - begin;
+		}
+		
+		@Override
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Span)) return false;
+			Span s = (Span)o;
+			return begin == s.begin && end == s.end && label.equals(s.label);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return (begin * 31 + end) * 31 + label.hashCode();
+		}
+		
+		@Override
+		public String toString()
+		{
+			return label+"["+begin+","+end+")";
+		}
+	}
+}
@@ -0,0 +1,264 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.emory.mathcs.nlp.common.util.StringUtils;
+import edu.emory.mathcs.nlp.component.ner.BILOU.Span;
+
+/**
+ * A dictionary of named entities matched by an Aho-Corasick automaton over tokens,
+ * which finds all (possibly overlapping) entries in a sentence in one pass.
+ * Tokens are matched by their lowercased simplified forms.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class Gazetteer implements Serializable
+{
+	private static final long serialVersionUID = -4719304672713858934L;
+	private Object2IntOpenHashMap<String> token_ids;
+	private Object2IntOpenHashMap<String> label_ids;
+	private List<String> labels;
+	/** (state << 32 | token ID) -> the next state; the root state is 0. */
+	private Long2IntOpenHashMap transitions;
+	
+	// states
+	private IntArrayList depths;
+	/** The ID of the token labeling the transition into each state. */
+	private IntArrayList state_tokens;
+	private IntArrayList first_children;
+	private IntArrayList next_siblings;
+	private IntArrayList first_entries;
+	/** The longest proper suffix of each state that is also a state. */
+	private IntArrayList failures;
+	/** The longest proper suffix of each state that ends some entries; 0 if none. */
+	private IntArrayList outputs;
+	
+	// entries
+	private IntArrayList entry_labels;
+	private IntArrayList entry_nexts;
+	private volatile boolean built;
+	
+	public Gazetteer()
+	{
+		token_ids = new Object2IntOpenHashMap<>();
+		label_ids = new Object2IntOpenHashMap<>();
+		token_ids.defaultReturnValue(-1);
+		label_ids.defaultReturnValue(-1);
+		labels = new ArrayList<>();
+		
+		transitions = new Long2IntOpenHashMap();
+		transitions.defaultReturnValue(-1);
+		
+		depths         = new IntArrayList();
+		state_tokens   = new IntArrayList();
+		first_children = new IntArrayList();
+		next_siblings  = new IntArrayList();
+		first_entries  = new IntArrayList();
+		failures       = new IntArrayList();
+		outputs        = new IntArrayList();
+		entry_labels   = new IntArrayList();
+		entry_nexts    = new IntArrayList();
+		addState(0, -1);
+	}
+	
+//	============================== BUILD ==============================
+	
+	/** Adds the entry consisting of whitespace-separated tokens (e.g., "New York"). */
+	public void add(String entry, String label)
+	{
+		add(entry.trim().split("\\s+"), label);
+	}
+	
+	public void add(String[] tokens, String label)
+	{
+		if (tokens.length == 0) return;
+		int i, t, next, state = 0;
+		String token;
+		
+		for (i=0; i<tokens.length; i++)
+		{
+			token = normalize(tokens[i]);
+			t = token_ids.getInt(token);
+			if (t < 0) token_ids.put(token, t = token_ids.size());
+			next = getNext(state, t);
+			
+			if (next < 0)
+			{
+				next = addState(i+1, t);
+				transitions.put(getKey(state, t), next);
+				next_siblings .set(next, first_children.getInt(state));
+				first_children.set(state, next);
+			}
+			
+			state = next;
+		}
+		
+		int l = label_ids.getInt(label);
+		if (l < 0) {label_ids.put(label, l = labels.size()); labels.add(label);}
+		
+		for (int e=first_entries.getInt(state); e>=0; e=entry_nexts.getInt(e))
+			if (entry_labels.getInt(e) == l) return;
+		
+		entry_labels.add(l);
+		entry_nexts .add(first_entries.getInt(state));
+		first_entries.set(state, entry_labels.size()-1);
+		built = false;
+	}
+	
+	private int addState(int depth, int token)
+	{
+		depths        .add(depth);
+		state_tokens  .add(token);
+		first_children.add(-1);
+		next_siblings .add(-1);
+		first_entries .add(-1);
+		failures      .add(0);
+		outputs       .add(0);
+		return depths.size() - 1;
+	}
+	
+	/** Computes the failure and output links in breadth-first order; called by {@link #match(String[])} if not built. */
+	public synchronized void build()
+	{
+		if (built) return;
+		IntArrayList queue = new IntArrayList();
+		int i, s, c, f, g, t;
+		queue.add(0);
+		
+		for (i=0; i<queue.size(); i++)
+		{
+			s = queue.getInt(i);
+			
+			for (c=first_children.getInt(s); c>=0; c=next_siblings.getInt(c))
+			{
+				queue.add(c);
+				f = 0;
+				
+				if (s > 0)
+				{
+					t = state_tokens.getInt(c);
+					
+					for (f=failures.getInt(s); ; f=failures.getInt(f))
+					{
+						if ((g = getNext(f, t)) >= 0) {f = g; break;}
+						if (f == 0) break;
+					}
+				}
+				
+				failures.set(c, f);
+				outputs .set(c, (first_entries.getInt(f) >= 0) ? f : outputs.getInt(f));
+			}
+		}
+		
+		built = true;
+	}
+	
+//	============================== MATCH ==============================
+	
+	/** @return all entries matched in the tokens, where each span covers the token indices of the entry. */
+	public List<Span> match(String[] tokens)
+	{
+		if (!built) build();
+		List<Span> spans = new ArrayList<>();
+		int i, t, g, o, e, state = 0;
+		
+		for (i=0; i<tokens.length; i++)
+		{
+			if ((t = token_ids.getInt(normalize(tokens[i]))) < 0)
+			{
+				state = 0;
+				continue;
+			}
+			
+			for (;;)
+			{
+				if ((g = getNext(state, t)) >= 0) {state = g; break;}
+				if (state == 0) break;
+				state = failures.getInt(state);
+			}
+			
+			for (o = (first_entries.getInt(state) >= 0) ? state : outputs.getInt(state); o > 0; o = outputs.getInt(o))
+				for (e=first_entries.getInt(o); e>=0; e=entry_nexts.getInt(e))
+					spans.add(new Span(i-depths.getInt(o)+1, i+1, labels.get(entry_labels.getInt(e))));
+		}
+		
+		return spans;
+	}
+	
+	/** @return the BILOU tags of all entries matched in the tokens, per token; null for a token with no match. */
+	public String[][] getFeatures(String[] tokens)
+	{
+		List<List<String>> lists = new ArrayList<>(tokens.length);
+		String[][] features = new String[tokens.length][];
+		List<String> list;
+		String f;
+		int i;
+		
+		for (i=0; i<tokens.length; i++) lists.add(null);
+		
+		for (Span span : match(tokens))
+		{
+			for (i=span.begin; i<span.end; i++)
+			{
+				f = BILOU.toTag((span.size() == 1) ? BILOU.U : (i == span.begin) ? BILOU.B : (i+1 == span.end) ? BILOU.L : BILOU.I, span.label);
+				if ((list = lists.get(i)) == null) lists.set(i, list = new ArrayList<>());
+				if (!list.contains(f)) list.add(f);
+			}
+		}
+		
+		for (i=0; i<tokens.length; i++)
+			if ((list = lists.get(i)) != null) features[i] = list.toArray(new String[list.size()]);
+		
+		return features;
+	}
+	
+//	============================== HELPERS ==============================
+	
+	/** @return the lowercased simplified form of the token. */
+	static public String normalize(String token)
+	{
+		return StringUtils.toLowerCase(StringUtils.toSimplifiedForm(token));
+	}
+	
+	private long getKey(int state, int token)
+	{
+		return ((long)state << 32) | token;
+	}
+	
+	private int getNext(int state, int token)
+	{
+		return transitions.get(getKey(state, token));
+	}
+	
+	/** @return the number of states in the automaton. */
+	public int getStateSize()
+	{
+		return depths.size();
+	}
+	
+	/** @return the number of entries. */
+	public int size()
+	{
+		return entry_labels.size();
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import java.io.InputStream;
+
+import org.w3c.dom.Element;
+
+import edu.emory.mathcs.nlp.common.util.XMLUtils;
+import edu.emory.mathcs.nlp.component.util.config.NLPConfig;
+import edu.emory.mathcs.nlp.component.util.reader.TSVIndex;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERConfig extends NLPConfig<NERNode>
+{
+	public NERConfig() {super();}
+	
+	public NERConfig(InputStream in)
+	{
+		super(in);
+	}
+	
+	@Override
+	public TSVIndex<NERNode> getTSVIndex()
+	{
+		Element eReader = XMLUtils.getFirstElementByTagName(xml, TSV);
+		Object2IntMap<String> map = getFieldMap(eReader);
+		
+		int form   = map.get(FIELD_FORM);
+		int lemma  = map.getOrDefault(FIELD_LEMMA, -1);
+		int pos    = map.getOrDefault(FIELD_POS  , -1);
+		int feats  = map.getOrDefault(FIELD_FEATS, -1);
+		int nament = map.get(FIELD_NAMENT);
+		
+		return new NERIndex(form, lemma, pos, feats, nament);
+	}
+}
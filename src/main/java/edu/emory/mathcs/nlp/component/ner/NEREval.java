@@ -0,0 +1,80 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.emory.mathcs.nlp.component.ner.BILOU.Span;
+import edu.emory.mathcs.nlp.component.util.eval.Eval;
+
+/**
+ * Span-level F1: a predicted named entity is correct only if both its boundaries and label match a gold entity.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NEREval implements Eval
+{
+	private int correct;
+	private int gold;
+	private int system;
+	
+	public NEREval()
+	{
+		clear();
+	}
+	
+	public void add(List<Span> goldSpans, List<Span> systemSpans)
+	{
+		Set<Span> set = new HashSet<>(goldSpans);
+		
+		for (Span span : systemSpans)
+			if (set.remove(span)) correct++;
+		
+		gold   += goldSpans.size();
+		system += systemSpans.size();
+	}
+	
+	@Override
+	public void clear()
+	{
+		correct = gold = system = 0;
+	}
+	
+	public double precision()
+	{
+		return (system == 0) ? 0 : 100d * correct / system;
+	}
+	
+	public double recall()
+	{
+		return (gold == 0) ? 0 : 100d * correct / gold;
+	}
+	
+	/** @return the F1 score. */
+	@Override
+	public double score()
+	{
+		double p = precision(), r = recall();
+		return (p + r == 0) ? 0 : 2 * p * r / (p + r);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("F1 = %5.2f (P = %5.2f, R = %5.2f)", score(), precision(), recall());
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import edu.emory.mathcs.nlp.common.util.StringUtils;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public abstract class NERFeatureTemplate extends FeatureTemplate<NERNode,NERState<NERNode>>
+{
+	private static final long serialVersionUID = 4430934096834151792L;
+	
+	public NERFeatureTemplate()	
+	{
+		init();
+	}
+	
+	protected abstract void init();
+	
+//	========================= FEATURE EXTRACTORS =========================
+	
+	@Override
+	protected String getFeature(FeatureItem<?> item)
+	{
+		NERNode node = state.getNode(item.window);
+		if (node == null) return null;
+		
+		switch (item.field)
+		{
+		case word_form: return node.getWordForm();
+		case simplified_word_form: return node.getSimplifiedWordForm();
+		case uncapitalized_simplified_word_form: return StringUtils.toLowerCase(node.getSimplifiedWordForm());
+		case word_shape: return node.getWordShape((Integer)item.value);
+		case lemma: return node.getLemma();
+		case feats: return node.getFeat((String)item.value);
+		case pos_tag: return node.getPOSTag();
+		case named_entity_tag: return node.getNamedEntityTag();
+		case prefix: return getPrefix(node, (Integer)item.value);
+		case suffix: return getSuffix(node, (Integer)item.value);
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
+	}
+	
+	@Override
+	protected String[] getFeatures(FeatureItem<?> item)
+	{
+		NERNode node = state.getNode(item.window);
+		if (node == null) return null;
+		
+		switch (item.field)
+		{
+		case orthographic: return getOrthographicFeatures(node, state.isFirst(node));
+		case gazetteer: return state.getGazetteerFeatures(item.window);
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import java.util.List;
+
+import edu.emory.mathcs.nlp.component.util.node.FeatMap;
+import edu.emory.mathcs.nlp.component.util.reader.TSVIndex;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERIndex implements TSVIndex<NERNode>
+{
+	public int form;
+	public int lemma;
+	public int pos;
+	public int feats;
+	public int ner;
+	
+	public NERIndex(int form, int ner)
+	{
+		set(form, -1, -1, -1, ner);
+	}
+	
+	public NERIndex(int form, int lemma, int pos, int feats, int ner)
+	{
+		set(form, lemma, pos, feats, ner);
+	}
+	
+	public void set(int form, int lemma, int pos, int feats, int ner)
+	{
+		this.form  = form;
+		this.lemma = lemma;
+		this.pos   = pos;
+		this.feats = feats;
+		this.ner   = ner;
+	}
+
+	@Override
+	public int[] getColumns()
+	{
+		return new int[]{form, lemma, pos, feats, ner};
+	}
+	
+	@Override
+	public NERNode[] toNodeList(List<String[]> values)
+	{
+		int i, size = values.size();
+		NERNode[] nodes = new NERNode[size];
+		
+		for (i=0; i<size; i++)
+			nodes[i] = create(values.get(i), i+1);
+		
+		return nodes;
+	}
+	
+	private NERNode create(String[] values, int id)
+	{
+		String  f = (form  >= 0) ? values[form]  : null;
+		String  l = (lemma >= 0) ? values[lemma] : null;
+		String  p = (pos   >= 0) ? values[pos]   : null;
+		FeatMap m = (feats >= 0) ? new FeatMap(values[feats]) : new FeatMap();
+		String  n = (ner   >= 0) ? values[ner]   : null;
+		return new NERNode(id, f, l, p, m, n);
+	}
+}
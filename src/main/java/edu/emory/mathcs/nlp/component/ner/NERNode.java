@@ -16,6 +16,7 @@
 package edu.emory.mathcs.nlp.component.ner;
 
 import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
 import edu.emory.mathcs.nlp.component.util.node.FeatMap;
 
 
@@ -37,9 +38,10 @@ public class NERNode extends POSNode
 	public NERNode(int id, String form, String lemma, String posTag, FeatMap feats, String namedEntityTag)
 	{
 		super(id, form, lemma, posTag, feats);
+		setNamedEntityTag(namedEntityTag);
 	}
 	
-//	============================== POS TAG ==============================
+//	============================== NAMED ENTITY TAG ==============================
 	
 	public String getNamedEntityTag()
 	{
@@ -65,4 +67,10 @@ public class NERNode extends POSNode
 				return false;
 		else return true;//TODO
 	}
-}
\ No newline at end of file
+	
+	@Override
+	public String getValue(Field field)
+	{
+		return (field == Field.named_entity_tag) ? getNamedEntityTag() : super.getValue(field);
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import java.util.Arrays;
+
+import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.component.util.state.L2RState;
+
+/**
+ * Tags named entities from left to right using BILOU tags; gold tags in BIO are re-encoded in BILOU by {@link #saveOracle()}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERState<N extends NERNode> extends L2RState<N>
+{
+	/** The BILOU tags of the gazetteer entries matched per token, computed once per sentence. */
+	private String[][] gazetteer_features;
+	
+	public NERState(N[] nodes, Gazetteer gazetteer)
+	{
+		super(nodes);
+		
+		if (gazetteer != null)
+			gazetteer_features = gazetteer.getFeatures(Arrays.stream(nodes).map(NERNode::getWordForm).toArray(String[]::new));
+	}
+	
+	@Override
+	public void saveOracle()
+	{
+		super.saveOracle();
+		oracle = BILOU.toBILOU(oracle);
+	}
+	
+	@Override
+	protected String getLabel(N node)
+	{
+		return node.getNamedEntityTag();
+	}
+	
+	@Override
+	protected String setLabel(N node, String label)
+	{
+		return node.setNamedEntityTag(label);
+	}
+	
+	@Override
+	public void evaluate(Eval eval)
+	{
+		String[] tags = Arrays.stream(nodes).map(this::getLabel).toArray(String[]::new);
+		((NEREval)eval).add(BILOU.toSpans(oracle), BILOU.toSpans(tags));
+	}
+	
+	/** @return true if the tag can be assigned to the current node without breaking the BILOU sequence. */
+	public boolean isValid(String tag)
+	{
+		String prev = (input > 0) ? getLabel(nodes[input-1]) : null;
+		return BILOU.isValid(prev, tag, input+1 == nodes.length);
+	}
+	
+	/** @return the gazetteer features of the node in the (input+window) position if exist; otherwise, null. */
+	public String[] getGazetteerFeatures(int window)
+	{
+		int index = input + window;
+		return (gazetteer_features != null && 0 <= index && index < nodes.length) ? gazetteer_features[index] : null;
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.util.StringInstance;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.vector.StringVector;
+
+/**
+ * Named entity recognizer assigning BILOU tags from left to right, where each prediction is the best tag
+ * that keeps the sequence well-formed given the previous tag.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERTagger<N extends NERNode> extends NLPComponent<N,NERState<N>>
+{
+	private static final long serialVersionUID = 2637318426376329546L;
+	private Gazetteer gazetteer;
+	
+	public NERTagger(StringModel model)
+	{
+		super(new StringModel[]{model});
+	}
+	
+//	============================== LEXICONS ==============================
+
+	@Override
+	protected void readLexicons(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		gazetteer = (Gazetteer)in.readObject();
+	}
+
+	@Override
+	protected void writeLexicons(ObjectOutputStream out) throws IOException
+	{
+		out.writeObject(gazetteer);
+	}
+	
+	public Gazetteer getGazetteer()
+	{
+		return gazetteer;
+	}
+	
+	/** @param gazetteer the dictionary of named entities, which may be null. */
+	public void setGazetteer(Gazetteer gazetteer)
+	{
+		if (gazetteer != null) gazetteer.build();
+		this.gazetteer = gazetteer;
+	}
+	
+//	============================== PROCESS ==============================
+	
+	@Override
+	protected NERState<N> createState(N[] nodes)
+	{
+		return new NERState<>(nodes, gazetteer);
+	}
+
+	/** @return the highest scoring tag that keeps the sequence well-formed; the highest scoring tag if none does. */
+	@Override
+	protected StringPrediction getModelPrediction(NERState<N> state, StringVector vector)
+	{
+		double[] scores = models[0].scores(vector);
+		int i, best = -1, valid = -1;
+		
+		for (i=0; i<scores.length; i++)
+		{
+			if (best  < 0 || scores[i] > scores[best]) best = i;
+			if ((valid < 0 || scores[i] > scores[valid]) && state.isValid(models[0].getLabel(i))) valid = i;
+		}
+		
+		if (valid >= 0) best = valid;
+		return new StringPrediction(models[0].getLabel(best), scores[best]);
+	}
+
+	@Override
+	protected void addInstance(String label, StringVector vector)
+	{
+		models[0].addInstance(new StringInstance(label, vector));
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner.feature;
+
+import edu.emory.mathcs.nlp.component.ner.NERFeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+
+/**
+ * Minimum features.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERFeatureTemplate0 extends NERFeatureTemplate
+{
+	private static final long serialVersionUID = -5217306543318283735L;
+
+	@Override
+	protected void init()
+	{
+		// form features
+		add(new FeatureItem<>(-2, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>(-1, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>( 0, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>( 1, Field.uncapitalized_simplified_word_form));
+		add(new FeatureItem<>( 2, Field.uncapitalized_simplified_word_form));
+		
+		add(new FeatureItem<>(-1, Field.word_shape, 2));
+		add(new FeatureItem<>( 0, Field.word_shape, 2));
+		add(new FeatureItem<>( 1, Field.word_shape, 2));
+		
+		// pos features
+		add(new FeatureItem<>(-1, Field.pos_tag));
+		add(new FeatureItem<>( 0, Field.pos_tag));
+		add(new FeatureItem<>( 1, Field.pos_tag));
+		
+		// named entity features
+		add(new FeatureItem<>(-2, Field.named_entity_tag));
+		add(new FeatureItem<>(-1, Field.named_entity_tag));
+		add(new FeatureItem<>(-1, Field.named_entity_tag), new FeatureItem<>(0, Field.uncapitalized_simplified_word_form));
+		
+		// affix features
+		add(new FeatureItem<>(0, Field.prefix, 3));
+		add(new FeatureItem<>(0, Field.suffix, 3));
+		
+		// orthographic features
+		addSet(new FeatureItem<>(0, Field.orthographic));
+		
+		// gazetteer features
+		addSet(new FeatureItem<>(-1, Field.gazetteer));
+		addSet(new FeatureItem<>( 0, Field.gazetteer));
+		addSet(new FeatureItem<>( 1, Field.gazetteer));
+	}
+}
@@ -15,6 +15,8 @@
  */
 package edu.emory.mathcs.nlp.component.pos;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,22 +31,44 @@ import edu.emory.mathcs.nlp.common.collection.tuple.ObjectDoublePair;
 import edu.emory.mathcs.nlp.common.constant.StringConst;
 import edu.emory.mathcs.nlp.common.util.Joiner;
 import edu.emory.mathcs.nlp.component.util.node.NLPNode;
+import edu.emory.mathcs.nlp.component.util.node.SymbolTable;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 /**
+ * Once {@link #expand(double)} is called, this map is frozen into a table of word-form ID to ambiguity class ID,
+ * where each word-form ID comes from {@link SymbolTable#FORMS} and each class ID points to a joined class string
+ * shared by all word-forms in the class so {@link #get(NLPNode)} neither hashes strings nor allocates.
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
 public class AmbiguityClassMap implements Serializable
 {
 	private static final long serialVersionUID = 3515412091681651812L;
 	private Map<String,List<String>> ambiguity_class;
-	private Bigram<String,String> pos_count;
+	/** The counts of POS tags per word-form, collected by {@link #add(POSNode)} until {@link #expand(double)}. */
+	private Map<String,Object2IntLinkedOpenHashMap<String>> pos_counts;
+	/** The ID of the ambiguity class per word-form ID; -1 if not exists. Rebuilt after deserialization since word-form IDs are per process. */
+	private transient Int2IntOpenHashMap class_ids;
+	/** The joined ambiguity class per ID. */
+	private transient String[] class_strings;
 	
 	public AmbiguityClassMap()
 	{
 		ambiguity_class = new HashMap<>();
-		pos_count = new Bigram<>();
+		pos_counts = new HashMap<>();
 	}
 	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		if (pos_counts == null) pos_counts = new HashMap<>();
+		freeze();
+	}
+	
+//	============================== BUILD ==============================
+	
 	public void add(POSNode[] nodes)
 	{
 		for (POSNode node : nodes) add(node);
@@ -52,12 +76,33 @@ public class AmbiguityClassMap implements Serializable
 	
 	public void add(POSNode node)
 	{
-		pos_count.add(toKey(node), node.getPOSTag());
+		pos_counts.computeIfAbsent(toKey(node), k -> new Object2IntLinkedOpenHashMap<>()).addTo(node.getPOSTag(), 1);
+	}
+	
+	/**
+	 * Adds the POS counts collected by the specific map to this map
+	 * so that maps collected from different parts of a corpus in parallel can be combined before {@link #expand(double)}.
+	 * @return this map.
+	 */
+	public AmbiguityClassMap merge(AmbiguityClassMap map)
+	{
+		Object2IntLinkedOpenHashMap<String> counts;
+		
+		for (Entry<String,Object2IntLinkedOpenHashMap<String>> e : map.pos_counts.entrySet())
+		{
+			counts = pos_counts.computeIfAbsent(e.getKey(), k -> new Object2IntLinkedOpenHashMap<>());
+			
+			for (Object2IntMap.Entry<String> c : e.getValue().object2IntEntrySet())
+				counts.addTo(c.getKey(), c.getIntValue());
+		}
+		
+		return this;
 	}
 	
 	public void expand(double threshold)
 	{
 		List<ObjectDoublePair<String>> ngram;
+		Bigram<String,String> pos_count = toBigram();
 		
 		for (Entry<String,Unigram<String>> e : pos_count.entrySet())
 		{
@@ -76,16 +121,82 @@ public class AmbiguityClassMap implements Serializable
 				ambiguity_class.put(e.getKey(), ngram.stream().map(u -> u.o).collect(Collectors.toList()));
 		}
 		
-		pos_count = new Bigram<>();
+		pos_counts = new HashMap<>();
+		freeze();
+	}
+	
+	private Bigram<String,String> toBigram()
+	{
+		Bigram<String,String> bigram = new Bigram<>();
+		
+		for (Entry<String,Object2IntLinkedOpenHashMap<String>> e : pos_counts.entrySet())
+			for (Object2IntMap.Entry<String> c : e.getValue().object2IntEntrySet())
+				bigram.add(e.getKey(), c.getKey(), c.getIntValue());
+		
+		return bigram;
 	}
 	
+//	============================== FREEZE ==============================
+	
+	/** Builds the lookup table from word-forms to the IDs of their joined ambiguity classes. */
+	public void freeze()
+	{
+		Object2IntOpenHashMap<String> stringIDs = new Object2IntOpenHashMap<>();
+		Int2IntOpenHashMap ids = new Int2IntOpenHashMap(ambiguity_class.size());
+		stringIDs.defaultReturnValue(-1);
+		ids.defaultReturnValue(-1);
+		String s;
+		int id;
+		
+		for (Entry<String,List<String>> e : ambiguity_class.entrySet())
+		{
+			s  = Joiner.join(e.getValue(), StringConst.UNDERSCORE);
+			id = stringIDs.getInt(s);
+			if (id < 0) stringIDs.put(s, id = stringIDs.size());
+			ids.put(SymbolTable.FORMS.add(e.getKey()), id);
+		}
+		
+		String[] strings = new String[stringIDs.size()];
+		for (Object2IntMap.Entry<String> e : stringIDs.object2IntEntrySet()) strings[e.getIntValue()] = e.getKey();
+		ids.trim();
+		
+		class_strings = strings;
+		class_ids = ids;
+	}
+	
+	/** Drops the lookup table so {@link #get(NLPNode)} joins the ambiguity class on every call. */
+	public void unfreeze()
+	{
+		class_ids = null;
+		class_strings = null;
+	}
+	
+	public boolean isFrozen()
+	{
+		return class_ids != null;
+	}
+	
+//	============================== GETTERS ==============================
+	
 	/** @return the ambiguity class of the word-form. */
 	public String get(NLPNode node)
 	{
+		if (isFrozen())
+		{
+			int id = class_ids.get(node.getSimplifiedWordFormID());
+			return (id < 0) ? null : class_strings[id];
+		}
+		
 		List<String> ambi = ambiguity_class.get(toKey(node));
 		return (ambi != null) ? Joiner.join(ambi, StringConst.UNDERSCORE) : null;
 	}
 	
+	/** @return the number of distinct ambiguity classes if frozen; otherwise, -1. */
+	public int getClassSize()
+	{
+		return isFrozen() ? class_strings.length : -1;
+	}
+	
 	public int size()
 	{
 		return ambiguity_class.size();
@@ -15,11 +15,16 @@
  */
 package edu.emory.mathcs.nlp.component.pos;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
 
 import edu.emory.mathcs.nlp.common.util.StringUtils;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
@@ -27,6 +32,11 @@ import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
 public abstract class POSFeatureTemplate extends FeatureTemplate<POSNode,POSState<POSNode>>
 {
 	private static final long serialVersionUID = -243334323533999837L;
+	/** The distinct static items (field and value), whose indices are the slots in {@link POSState#getStaticFeature(int, int)}. */
+	private transient List<FeatureItem<?>> static_items;
+	/** static_slots[type][k]: the slot of the k'th item of the type'th feature if static; otherwise, -1. */
+	private transient int[][] static_slots;
+	private transient boolean cache_disabled;
 	
 	public POSFeatureTemplate()	
 	{
@@ -35,14 +45,134 @@ public abstract class POSFeatureTemplate extends FeatureTemplate<POSNode,POSStat
 	
 	protected abstract void init();
 	
+	/** Enables or disables precomputing static features per sentence in {@link POSState}; enabled by default. */
+	public void setCache(boolean enable)
+	{
+		cache_disabled = !enable;
+	}
+	
+	@Override
+	public void setState(POSState<POSNode> state)
+	{
+		super.setState(state);
+		if (!cache_disabled && !state.hasStaticFeatures()) initStaticFeatures(state);
+	}
+	
+//	========================= STATIC FEATURES =========================
+	
+	/** @return true if the value of the field depends only on its token, not on the tagging state. */
+	protected boolean isStatic(Field field)
+	{
+		switch (field)
+		{
+		case word_form:
+		case simplified_word_form:
+		case uncapitalized_simplified_word_form:
+		case word_shape:
+		case lemma:
+		case feats:
+		case ambiguity_class:
+		case prefix:
+		case suffix: return true;
+		default: return false;
+		}
+	}
+	
+	private void initStaticSlots()
+	{
+		List<FeatureItem<?>> items = new ArrayList<>();
+		int[][] slots = new int[feature_list.size()][];
+		FeatureItem<?>[] list;
+		int i, j, k;
+		
+		for (i=0; i<slots.length; i++)
+		{
+			list = feature_list.get(i);
+			slots[i] = new int[list.length];
+			
+			for (j=0; j<list.length; j++)
+			{
+				if (!isStatic(list[j].field)) {slots[i][j] = -1; continue;}
+				
+				for (k=0; k<items.size(); k++)
+					if (items.get(k).field == list[j].field && Objects.equals(items.get(k).value, list[j].value)) break;
+				
+				if (k == items.size()) items.add(list[j]);
+				slots[i][j] = k;
+			}
+		}
+		
+		static_slots = slots;
+		static_items = items;
+	}
+	
+	/** Computes every static feature of every token in the sentence once, instead of once per window. */
+	protected void initStaticFeatures(POSState<POSNode> state)
+	{
+		if (static_slots == null) initStaticSlots();
+		int i, j, size = state.size();
+		String[][] features = new String[static_items.size()][size];
+		String[][] orthographic = new String[size][];
+		FeatureItem<?> item;
+		POSNode node;
+		
+		for (i=0; i<size; i++)
+		{
+			node = state.getNode(i, 0);
+			
+			for (j=0; j<features.length; j++)
+			{
+				item = static_items.get(j);
+				features[j][i] = getFeature(node, item);
+			}
+			
+			orthographic[i] = getOrthographicFeatures(node, state.isFirst(node));
+		}
+		
+		state.setStaticFeatures(features, orthographic);
+	}
+	
 //	========================= FEATURE EXTRACTORS =========================
 	
+	/** Static features are read from the ones precomputed in {@link #initStaticFeatures(POSState)}. */
+	@Override
+	protected String getFeature(int type, FeatureItem<?>[] items)
+	{
+		if (cache_disabled || static_slots == null) return super.getFeature(type, items);
+		int[] slots = static_slots[type];
+		
+		if (items.length == 1)
+			return getFeature(items[0], slots[0]);
+		else
+		{
+			StringJoiner join = new StringJoiner("_");
+			String f;
+			
+			for (int i=0; i<items.length; i++)
+			{
+				f = getFeature(items[i], slots[i]);
+				if (f == null) return null;
+				join.add(f);
+			}
+			
+			return join.toString();
+		}
+	}
+	
+	private String getFeature(FeatureItem<?> item, int slot)
+	{
+		return (slot < 0) ? getFeature(item) : state.getStaticFeature(slot, item.window);
+	}
+	
 	@Override
 	protected String getFeature(FeatureItem<?> item)
 	{
 		POSNode node = state.getNode(item.window);
-		if (node == null) return null;
-		
+		return (node == null) ? null : getFeature(node, item);
+	}
+	
+	protected String getFeature(POSNode node, FeatureItem<?> item)
+	{
 		switch (item.field)
 		{
 		case word_form: return node.getWordForm();
@@ -67,30 +197,20 @@ public abstract class POSFeatureTemplate extends FeatureTemplate<POSNode,POSStat
 		
 		switch (item.field)
 		{
-		case orthographic: return getOrthographicFeatures(node);
+		case orthographic: return (cache_disabled || static_slots == null) ? getOrthographicFeatures(node, state.isFirst(node)) : state.getOrthographicFeatures(item.window);
 		case binary: return getBinaryFeatures(node);
 		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
 		}
 	}
 	
-	/** The prefix cannot be the entire word (e.g., getPrefix("abc", 3) -> null). */
-	protected String getPrefix(POSNode node, int n)
-	{
-		String s = node.getSimplifiedWordForm();
-		return (n < s.length()) ? StringUtils.toLowerCase(s.substring(0, n)) : null;
-	}
-	
-	/** The suffix cannot be the entire word (e.g., getSuffix("abc", 3) -> null). */
-	protected String getSuffix(POSNode node, int n)
-	{
-		String s = node.getSimplifiedWordForm();
-		return (n < s.length()) ? StringUtils.toLowerCase(s.substring(s.length()-n)) : null;
-	}
-	
-	protected String[] getOrthographicFeatures(POSNode node)
+	@Override
+	protected int getDenseRow(FeatureItem<?> item)
 	{
-		String[] t = node.getOrthographic(state.isFirst(node));
-		return t.length == 0 ? null : t;
+		switch (item.field)
+		{
+		case word_embedding: return getEmbeddingRow(state.getNode(item.window), item);
+		default: throw new IllegalArgumentException("Unsupported feature: "+item.field);
+		}
 	}
 	
 	protected String[] getBinaryFeatures(POSNode node)
@@ -48,6 +48,12 @@ public class POSIndex implements TSVIndex<POSNode>
 		this.feats = feats;
 	}
 
+	@Override
+	public int[] getColumns()
+	{
+		return new int[]{form, lemma, pos, feats};
+	}
+	
 	@Override
 	public POSNode[] toNodeList(List<String[]> values)
 	{
@@ -15,11 +15,14 @@
  */
 package edu.emory.mathcs.nlp.component.pos;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.regex.Pattern;
 
 import edu.emory.mathcs.nlp.component.util.feature.Field;
 import edu.emory.mathcs.nlp.component.util.node.FeatMap;
 import edu.emory.mathcs.nlp.component.util.node.NLPNode;
+import edu.emory.mathcs.nlp.component.util.node.SymbolTable;
 
 
 /**
@@ -30,6 +33,8 @@ public class POSNode extends NLPNode
 	private static final long serialVersionUID = -8563108117037742010L;
 	protected String pos_tag;
 	protected String lemma;
+	/** The IDs in {@link SymbolTable#TAGS} and {@link SymbolTable#LEMMAS}, which are not serialized. */
+	protected transient int pos_tag_id = -1, lemma_id = -1;
 	
 	public POSNode() {}
 	
@@ -51,18 +56,32 @@ public class POSNode extends NLPNode
 		setPOSTag(tag);
 	}
 	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		setLemma(lemma);
+		setPOSTag(pos_tag);
+	}
+	
 //	============================== POS TAG ==============================
 	
 	public String getPOSTag()
 	{
 		return pos_tag;
 	}
+	
+	/** @return the ID of the pos-tag in {@link SymbolTable#TAGS}; -1 if the pos-tag is null. */
+	public int getPOSTagID()
+	{
+		return pos_tag_id;
+	}
 
 	/** @return the previous pos-tag. */
 	public String setPOSTag(String tag)
 	{
 		String t = pos_tag;
-		pos_tag = tag;
+		pos_tag_id = SymbolTable.TAGS.add(tag);
+		pos_tag    = SymbolTable.TAGS.get(pos_tag_id);
 		return t;
 	}
 	
@@ -83,11 +102,18 @@ public class POSNode extends NLPNode
 		return lemma;
 	}
 
+	/** @return the ID of the lemma in {@link SymbolTable#LEMMAS}; -1 if the lemma is null. */
+	public int getLemmaID()
+	{
+		return lemma_id;
+	}
+
 	/** @return the previous lemma. */
 	public String setLemma(String lemma)
 	{
-		String t = lemma;
-		this.lemma = lemma;
+		String t = this.lemma;
+		lemma_id   = SymbolTable.LEMMAS.add(lemma);
+		this.lemma = SymbolTable.LEMMAS.get(lemma_id);
 		return t;
 	}
 	
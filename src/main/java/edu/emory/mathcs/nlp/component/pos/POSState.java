@@ -25,6 +25,10 @@ import edu.emory.mathcs.nlp.component.util.state.L2RState;
 public class POSState<N extends POSNode> extends L2RState<N>
 {
 	private AmbiguityClassMap ambiguity_class_map;
+	/** Static features of all tokens precomputed once per sentence: static_features[slot][token]. */
+	private String[][] static_features;
+	/** Orthographic features of all tokens precomputed once per sentence: orthographic_features[token]. */
+	private String[][] orthographic_features;
 	
 	public POSState(N[] nodes, AmbiguityClassMap map)
 	{
@@ -59,4 +63,37 @@ public class POSState<N extends POSNode> extends L2RState<N>
 	{
 		ambiguity_class_map = map;		
 	}
+	
+//	============================== STATIC FEATURES ==============================
+	
+	public int size()
+	{
+		return nodes.length;
+	}
+	
+	public boolean hasStaticFeatures()
+	{
+		return static_features != null;
+	}
+	
+	/** @param features static_features[slot][token]; orthographic[token]. */
+	public void setStaticFeatures(String[][] features, String[][] orthographic)
+	{
+		static_features       = features;
+		orthographic_features = orthographic;
+	}
+	
+	/** @return the precomputed feature of the slot for the token in the (input+window) position if exists; otherwise, null. */
+	public String getStaticFeature(int slot, int window)
+	{
+		int index = input + window;
+		return (0 <= index && index < nodes.length) ? static_features[slot][index] : null;
+	}
+	
+	/** @return the precomputed orthographic features of the token in the (input+window) position if exist; otherwise, null. */
+	public String[] getOrthographicFeatures(int window)
+	{
+		int index = input + window;
+		return (0 <= index && index < nodes.length) ? orthographic_features[index] : null;
+	}
 }
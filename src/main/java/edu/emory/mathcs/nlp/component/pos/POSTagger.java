@@ -18,8 +18,16 @@ package edu.emory.mathcs.nlp.component.pos;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
+import edu.emory.mathcs.nlp.common.constant.StringConst;
 import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
 import edu.emory.mathcs.nlp.learn.model.StringModel;
 import edu.emory.mathcs.nlp.learn.util.StringInstance;
 import edu.emory.mathcs.nlp.learn.util.StringPrediction;
@@ -31,11 +39,16 @@ import edu.emory.mathcs.nlp.learn.vector.StringVector;
 public class POSTagger<N extends POSNode> extends NLPComponent<N,POSState<N>>
 {
 	private static final long serialVersionUID = -7926217238116337203L;
+	/** Keeps all tag histories, recombining the ones that share the tags the features look at. */
+	static public final int VITERBI = Integer.MAX_VALUE;
 	private AmbiguityClassMap ambiguity_class_map;
+	/** The number of tag histories kept per token; greedy if less than or equal to 1. */
+	private int beam_size;
 	
 	public POSTagger(StringModel model)
 	{
 		super(new StringModel[]{model});
+		setBeamSize(1);
 	}
 	
 //	============================== LEXICONS ==============================
@@ -62,8 +75,100 @@ public class POSTagger<N extends POSNode> extends NLPComponent<N,POSState<N>>
 		ambiguity_class_map = map;
 	}
 	
+	public int getBeamSize()
+	{
+		return beam_size;
+	}
+	
+	/** @param size the number of tag histories kept per token during decoding; 1 for greedy, {@link #VITERBI} for exact search. */
+	public void setBeamSize(int size)
+	{
+		beam_size = size;
+	}
+	
 //	============================== PROCESS ==============================
 	
+	@Override
+	public void process(N[] nodes)
+	{
+		process(nodes, beam_size);
+	}
+	
+	/** Processes the nodes using the specific beam size, regardless of {@link #getBeamSize()}. */
+	public void process(N[] nodes, int beamSize)
+	{
+		if (beamSize <= 1 || isTrain() || isAggregate())
+			super.process(nodes);
+		else
+			processBeam(nodes, beamSize);
+	}
+	
+	@Override
+	public void process(List<N[]> batch)
+	{
+		if (beam_size <= 1 || isTrain() || isAggregate())
+			super.process(batch);
+		else
+			for (N[] nodes : batch) processBeam(nodes, beam_size);
+	}
+	
+	/** Keeps the top-k tag histories per token and assigns the tags of the best history to the nodes. */
+	protected void processBeam(N[] nodes, int beamSize)
+	{
+		POSState<N> state = createState(nodes);
+		feature_template.setState(state);
+		if (!isDecode()) state.saveOracle();
+		
+		final int order = feature_template.getLeftWindow(Field.pos_tag);
+		boolean regression = models[0].getWeightVector().isRegression();
+		List<POSHypothesis> beam = Collections.singletonList(new POSHypothesis(null, null, -1, 0));
+		List<POSHypothesis> candidates;
+		StringVector vector;
+		double score;
+		
+		for (int i=0; i<nodes.length; i++)
+		{
+			candidates = new ArrayList<>();
+			
+			for (POSHypothesis h : beam)
+			{
+				h.restore(nodes, order);
+				vector = extractFeatures(state);
+				
+				for (StringPrediction p : models[0].predictTop(vector, beamSize))
+				{
+					score = regression ? Math.log(p.getScore()) : p.getScore();
+					candidates.add(new POSHypothesis(h, p.getLabel(), i, h.score + score));
+				}
+			}
+			
+			beam = prune(candidates, beamSize, order);
+			state.next(new StringPrediction(beam.get(0).tag, beam.get(0).score));
+		}
+		
+		beam.get(0).restore(nodes, nodes.length);
+		if (isEvaluate()) evaluate(state);
+	}
+	
+	/** @return the top-k hypotheses after recombining the ones sharing the same last order tags. */
+	private List<POSHypothesis> prune(List<POSHypothesis> candidates, int beamSize, int order)
+	{
+		Map<String,POSHypothesis> map = new HashMap<>();
+		POSHypothesis prev;
+		String key;
+		
+		for (POSHypothesis h : candidates)
+		{
+			key = h.getHistory(order);
+			prev = map.get(key);
+			if (prev == null || prev.score < h.score) map.put(key, h);
+		}
+		
+		List<POSHypothesis> beam = new ArrayList<>(map.values());
+		beam.sort((h1, h2) -> Double.compare(h2.score, h1.score));
+		return (beam.size() > beamSize) ? beam.subList(0, beamSize) : beam;
+	}
+	
 	@Override
 	protected POSState<N> createState(N[] nodes)
 	{
@@ -78,9 +183,50 @@ public class POSTagger<N extends POSNode> extends NLPComponent<N,POSState<N>>
 		return models[0].predictBest(vector);
 	}
 
+	@Override
+	protected StringPrediction[] getModelPredictions(List<POSState<N>> states, List<StringVector> vectors)
+	{
+		return models[0].predictBest(vectors);
+	}
+
 	@Override
 	protected void addInstance(String label, StringVector vector)
 	{
 		models[0].addInstance(new StringInstance(label, vector));
 	}
+	
+	/** A tag history, linked backward to the previous tags. */
+	static private class POSHypothesis
+	{
+		POSHypothesis prev;
+		String tag;
+		int    index;
+		double score;
+		
+		POSHypothesis(POSHypothesis prev, String tag, int index, double score)
+		{
+			this.prev  = prev;
+			this.tag   = tag;
+			this.index = index;
+			this.score = score;
+		}
+		
+		/** Assigns the last size tags of this history to the nodes. */
+		void restore(POSNode[] nodes, int size)
+		{
+			for (POSHypothesis h=this; h.index >= 0 && size > 0; h=h.prev, size--)
+				nodes[h.index].setPOSTag(h.tag);
+		}
+		
+		/** @return the last size tags of this history joined by spaces, in reverse order. */
+		String getHistory(int size)
+		{
+			StringJoiner join = new StringJoiner(StringConst.SPACE);
+			
+			for (POSHypothesis h=this; h.index >= 0 && size > 0; h=h.prev, size--)
+				join.add(h.tag);
+			
+			return join.toString();
+		}
+	}
 }
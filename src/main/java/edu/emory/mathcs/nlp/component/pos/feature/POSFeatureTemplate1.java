@@ -78,5 +78,10 @@ public class POSFeatureTemplate1 extends POSFeatureTemplate
 		
 		// boolean features
 		addSet(new FeatureItem<>(0, Field.binary));
+		
+		// dense features, extracted only if embeddings are given
+		addDense(new FeatureItem<>(-1, Field.word_embedding));
+		addDense(new FeatureItem<>( 0, Field.word_embedding));
+		addDense(new FeatureItem<>( 1, Field.word_embedding));
 	}
 }
@@ -39,5 +39,10 @@ public class POSFeatureTemplate2 extends POSFeatureTemplate
 
 		add(new FeatureItem<>(-2, Field.pos_tag));
 		add(new FeatureItem<>(-1, Field.pos_tag));
+		
+		// dense features, extracted only if embeddings are given
+		addDense(new FeatureItem<>(-1, Field.word_embedding));
+		addDense(new FeatureItem<>( 0, Field.word_embedding));
+		addDense(new FeatureItem<>( 1, Field.word_embedding));
 	}
 }
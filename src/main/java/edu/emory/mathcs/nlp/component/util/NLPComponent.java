@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import edu.emory.mathcs.nlp.component.util.eval.Eval;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
@@ -30,7 +32,7 @@ import edu.emory.mathcs.nlp.learn.vector.StringVector;
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
-public abstract class NLPComponent<N,S extends NLPState<N>> implements Serializable
+public abstract class NLPComponent<N,S extends NLPState<N>> implements Serializable, Cloneable
 {
 	private static final long serialVersionUID = 4546728532759275929L;
 	protected FeatureTemplate<N,S> feature_template;
@@ -65,6 +67,22 @@ public abstract class NLPComponent<N,S extends NLPState<N>> implements Serializa
 	protected abstract void readLexicons (ObjectInputStream in) throws IOException, ClassNotFoundException;
 	protected abstract void writeLexicons(ObjectOutputStream out) throws IOException;
 	
+	/**
+	 * @return a copy of this component that shares the models, lexicons, and evaluator with this component
+	 * but owns its feature template so that both can decode in separate threads.
+	 */
+	@SuppressWarnings("unchecked")
+	public NLPComponent<N,S> duplicate()
+	{
+		try
+		{
+			NLPComponent<N,S> component = (NLPComponent<N,S>)clone();
+			if (feature_template != null) component.feature_template = feature_template.duplicate();
+			return component;
+		}
+		catch (CloneNotSupportedException e) {throw new IllegalStateException(e);}
+	}
+	
 //	============================== MODELS ==============================
 	
 	public StringModel[] getModels()
@@ -147,6 +165,17 @@ public abstract class NLPComponent<N,S extends NLPState<N>> implements Serializa
 	/** Adds a training instance (label, x) to the statistical model. */
 	protected abstract void addInstance(String label, StringVector vector);
 	
+	/** @return the predictions made by the statistical model(s) for all states; override to score them as one batch. */
+	protected StringPrediction[] getModelPredictions(List<S> states, List<StringVector> vectors)
+	{
+		StringPrediction[] ps = new StringPrediction[states.size()];
+		
+		for (int i=0; i<ps.length; i++)
+			ps[i] = getModelPrediction(states.get(i), vectors.get(i));
+		
+		return ps;
+	}
+	
 	public void process(N[] nodes)
 	{
 		S state = createState(nodes);
@@ -161,7 +190,75 @@ public abstract class NLPComponent<N,S extends NLPState<N>> implements Serializa
 			state.next(label);
 		}
 	
-		if (isEvaluate()) state.evaluate(eval);
+		if (isEvaluate()) evaluate(state);
+	}
+	
+	/**
+	 * Processes all sentences in lockstep: each step extracts features from every unfinished state
+	 * and scores them together through {@link #getModelPredictions(List, List)}.
+	 */
+	public void process(List<N[]> batch)
+	{
+		List<S> states = new ArrayList<>(batch.size());
+		List<StringVector> vectors;
+		StringPrediction[] ps;
+		StringVector vector;
+		List<S> live;
+		int i;
+		
+		for (N[] nodes : batch)
+		{
+			S state = createState(nodes);
+			if (!isDecode()) state.saveOracle();
+			states.add(state);
+		}
+		
+		live = new ArrayList<>(states);
+		live.removeIf(S::isTerminate);
+		
+		while (!live.isEmpty())
+		{
+			vectors = new ArrayList<>(live.size());
+			
+			for (S state : live)
+			{
+				feature_template.setState(state);
+				vector = extractFeatures(state);
+				if (isTrain() || isAggregate()) addInstance(state.getOraclePrediction(), vector);
+				vectors.add(vector);
+			}
+			
+			ps = getPredictions(live, vectors);
+			for (i=0; i<ps.length; i++) live.get(i).next(ps[i]);
+			live.removeIf(S::isTerminate);
+		}
+		
+		if (isEvaluate())
+		{
+			for (S state : states)
+				evaluate(state);
+		}
+	}
+	
+	/** Evaluates the state; the evaluator is locked since it is shared by all copies from {@link #duplicate()}. */
+	protected void evaluate(S state)
+	{
+		synchronized (eval)
+		{
+			state.evaluate(eval);
+		}
+	}
+	
+	/** @return the oracle predictions for training; otherwise, the model predictions. */
+	protected StringPrediction[] getPredictions(List<S> states, List<StringVector> vectors)
+	{
+		if (!isTrain()) return getModelPredictions(states, vectors);
+		StringPrediction[] ps = new StringPrediction[states.size()];
+		
+		for (int i=0; i<ps.length; i++)
+			ps[i] = new StringPrediction(states.get(i).getOraclePrediction(), 1);
+		
+		return ps;
 	}
 	
 	/** @return the oracle prediction for training; otherwise, the model predict. */
@@ -0,0 +1,293 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.decode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import edu.emory.mathcs.nlp.common.util.MathUtils;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+
+/**
+ * Runs a chain of components over the same node arrays in memory (e.g., POS tagging then dependency parsing on {@code DEPNode[]}).
+ * Each stage may see a view of the nodes (e.g., without the artificial root) that shares the node objects.
+ * If pipelined, each stage runs in its own thread connected by bounded queues
+ * so that a later stage processes sentence i while an earlier stage processes sentence i+1.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NLPPipeline<N>
+{
+	/** The marker passed through the queues once all sentences are sent. */
+	static private final int END = -1;
+	private List<Stage<N,?>> stages;
+	private boolean pipelined;
+	private int     queue_size;
+	private long    wall_time;
+	
+	public NLPPipeline()
+	{
+		stages = new ArrayList<>();
+		setPipelined(false, 64);
+	}
+	
+	/** Adds the component that processes the nodes as they are. */
+	public <S extends NLPState<N>> NLPPipeline<N> add(String name, NLPComponent<N,S> component)
+	{
+		return add(name, component, nodes -> nodes);
+	}
+	
+	/** Adds the component that processes the view of the nodes (e.g., the nodes without the artificial root). */
+	public <M,S extends NLPState<M>> NLPPipeline<N> add(String name, NLPComponent<M,S> component, Function<N[],M[]> view)
+	{
+		stages.add(new Stage<>(name, component::process, view));
+		return this;
+	}
+	
+	/**
+	 * @param pipelined if true, stages run in parallel over consecutive sentences in {@link #process(List)}.
+	 * @param queueSize the maximum number of sentences waiting between two stages.
+	 */
+	public void setPipelined(boolean pipelined, int queueSize)
+	{
+		this.pipelined = pipelined;
+		queue_size = queueSize;
+	}
+	
+	public boolean isPipelined()
+	{
+		return pipelined;
+	}
+	
+//	============================== PROCESS ==============================
+	
+	/** Processes the nodes through all stages in order. */
+	public void process(N[] nodes)
+	{
+		for (Stage<N,?> stage : stages)
+			stage.process(nodes);
+	}
+	
+	/** Processes all sentences through all stages; returns once every sentence is processed. */
+	public void process(List<N[]> sentences)
+	{
+		stages.forEach(Stage::clear);
+		long st = System.nanoTime();
+		
+		if (pipelined && stages.size() > 1)
+			processPipelined(sentences);
+		else
+			sentences.forEach(this::process);
+		
+		wall_time = System.nanoTime() - st;
+	}
+	
+	/** Called by {@link #process(List)}. */
+	private void processPipelined(List<N[]> sentences)
+	{
+		List<BlockingQueue<Integer>> queues = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		AtomicBoolean cancelled = new AtomicBoolean();
+		Throwable error = null;
+		boolean done = false;
+		
+		for (int i=0; i<stages.size(); i++)
+			queues.add(new ArrayBlockingQueue<>(queue_size));
+		
+		for (int i=0; i<stages.size(); i++)
+		{
+			BlockingQueue<Integer> in  = queues.get(i);
+			BlockingQueue<Integer> out = (i+1 < stages.size()) ? queues.get(i+1) : null;
+			Thread thread = new Thread(new StageTask(stages.get(i), sentences, in, out, cancelled), stages.get(i).name);
+			threads.add(thread);
+			thread.start();
+		}
+		
+		try
+		{
+			BlockingQueue<Integer> first = queues.get(0);
+			for (int i=0; i<sentences.size(); i++) first.put(i);
+			first.put(END);
+			for (Thread thread : threads) thread.join();
+			done = true;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		finally
+		{
+			// the caller stops feeding the stages, so they are stopped as well instead of waiting forever
+			if (!done)
+			{
+				cancelled.set(true);
+				threads.forEach(Thread::interrupt);
+				queues.forEach(queue -> queue.offer(END));
+			}
+		}
+		
+		for (Stage<N,?> stage : stages)
+			if (error == null && stage.error != null) error = stage.error;
+		
+		if (error instanceof RuntimeException) throw (RuntimeException)error;
+		if (error instanceof Error) throw (Error)error;
+		if (error != null) throw new IllegalStateException(error);
+	}
+	
+	class StageTask implements Runnable
+	{
+		private Stage<N,?> stage;
+		private List<N[]> sentences;
+		private BlockingQueue<Integer> in, out;
+		/** Set when the pipeline is abandoned, in which case no stage waits for {@link #END}. */
+		private AtomicBoolean cancelled;
+		
+		public StageTask(Stage<N,?> stage, List<N[]> sentences, BlockingQueue<Integer> in, BlockingQueue<Integer> out, AtomicBoolean cancelled)
+		{
+			this.stage     = stage;
+			this.sentences = sentences;
+			this.in        = in;
+			this.out       = out;
+			this.cancelled = cancelled;
+		}
+		
+		@Override
+		public void run()
+		{
+			int index;
+			
+			try
+			{
+				while (!cancelled.get() && (index = in.take()) != END)
+				{
+					// once a stage fails, the rest of the sentences are passed through so that no stage waits forever
+					if (stage.error == null)
+					{
+						try
+						{
+							stage.process(sentences.get(index));
+						}
+						catch (Throwable e) {stage.error = e;}
+					}
+					
+					if (out != null) out.put(index);
+				}
+			}
+			catch (InterruptedException e) {Thread.currentThread().interrupt();}
+			catch (Throwable e) {if (stage.error == null) stage.error = e;}
+			finally
+			{
+				if (out != null) end();
+			}
+		}
+		
+		/** Passes {@link #END} downstream even if this thread is interrupted so that the next stage never waits forever, unless the pipeline is cancelled. */
+		private void end()
+		{
+			boolean interrupted = Thread.interrupted();
+			
+			while (!cancelled.get())
+			{
+				try
+				{
+					out.put(END);
+					break;
+				}
+				catch (InterruptedException e) {interrupted = true;}
+			}
+			
+			if (interrupted) Thread.currentThread().interrupt();
+		}
+	}
+	
+//	============================== STAGE ==============================
+	
+	static class Stage<N,M>
+	{
+		private String name;
+		private Consumer<M[]> component;
+		private Function<N[],M[]> view;
+		private volatile Throwable error;
+		private long busy_time, sentence_count, token_count;
+		
+		public Stage(String name, Consumer<M[]> component, Function<N[],M[]> view)
+		{
+			this.name      = name;
+			this.component = component;
+			this.view      = view;
+		}
+		
+		public void process(N[] nodes)
+		{
+			M[] t = view.apply(nodes);
+			long st = System.nanoTime();
+			component.accept(t);
+			busy_time += System.nanoTime() - st;
+			sentence_count++;
+			token_count += t.length;
+		}
+		
+		public void clear()
+		{
+			busy_time = sentence_count = token_count = 0;
+			error = null;
+		}
+	}
+	
+//	============================== METRICS ==============================
+	
+	/** @return the wall-clock time of the last call to {@link #process(List)} in nanoseconds. */
+	public long getWallTime()
+	{
+		return wall_time;
+	}
+	
+	/** @return the time the specific stage spent on processing in nanoseconds. */
+	public long getBusyTime(int stage)
+	{
+		return stages.get(stage).busy_time;
+	}
+	
+	public long getTokenCount(int stage)
+	{
+		return stages.get(stage).token_count;
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder build = new StringBuilder();
+		double seconds = wall_time / 1e9;
+		Stage<N,?> stage;
+		
+		build.append(String.format("Pipelined  : %b\n", pipelined));
+		build.append(String.format("Wall time  : %f sec.\n", seconds));
+		
+		for (int i=0; i<stages.size(); i++)
+		{
+			stage = stages.get(i);
+			build.append(String.format("%-10s : sentences = %d, tokens = %d, time = %f sec., tokens/sec. = %f, utilization = %5.2f%%\n", stage.name, stage.sentence_count, stage.token_count, stage.busy_time / 1e9, MathUtils.divide(stage.token_count, stage.busy_time / 1e9), 100 * MathUtils.divide(stage.busy_time, wall_time)));
+		}
+		
+		return build.toString();
+	}
+}
@@ -0,0 +1,281 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.decode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongFunction;
+
+import edu.emory.mathcs.nlp.common.util.MathUtils;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+
+/**
+ * Decodes sentences in parallel using copies of the component (see {@link NLPComponent#duplicate()}).
+ * Sentences are sorted by their estimated costs and packed longest-first onto the least-loaded worker;
+ * each worker processes its own queue from the longest sentence and steals the shortest sentences
+ * from the other workers once its queue is empty so that no core sits idle at the end of a batch.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ParallelDecoder<N,S extends NLPState<N>>
+{
+	private NLPComponent<N,S>   component;
+	private ToLongFunction<N[]> cost_function;
+	private int                 thread_size;
+	
+	// per-worker metrics of the last call to decode()
+	private long[] busy_times;
+	private long[] sentence_counts;
+	private long[] token_counts;
+	private long[] steal_counts;
+	private long   wall_time;
+	
+	/** Estimates the cost of each sentence by its number of tokens. */
+	public ParallelDecoder(NLPComponent<N,S> component, int threadSize)
+	{
+		this(component, threadSize, nodes -> nodes.length);
+	}
+	
+	public ParallelDecoder(NLPComponent<N,S> component, int threadSize, ToLongFunction<N[]> costFunction)
+	{
+		this.component = component;
+		thread_size    = threadSize;
+		cost_function  = costFunction;
+	}
+	
+//	============================== DECODE ==============================
+	
+	/**
+	 * Processes all sentences; returns once every sentence is processed.
+	 * If decoding a sentence throws, the rest of the sentences are still decoded and the first failure is rethrown.
+	 */
+	public void decode(List<N[]> sentences)
+	{
+		if (component.isTrain() || component.isAggregate())
+			throw new IllegalStateException("Training instances cannot be collected in parallel: "+component.getFlag());
+		
+		List<Deque<N[]>> queues = schedule(sentences);
+		ExecutorService executor = Executors.newFixedThreadPool(thread_size);
+		initMetrics();
+		
+		List<Future<?>> futures = new ArrayList<>(thread_size);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Throwable error = null;
+		long st = System.nanoTime();
+		
+		for (int i=0; i<thread_size; i++)
+			futures.add(executor.submit(new DecodeTask(i, queues, component.duplicate(), failure)));
+		
+		executor.shutdown();
+		
+		try
+		{
+			// waits for every worker so that no thread is still decoding when this method throws
+			for (Future<?> future : futures)
+			{
+				try
+				{
+					future.get();
+				}
+				catch (ExecutionException e) {if (error == null) error = e.getCause();}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while decoding", e);
+		}
+		
+		wall_time = System.nanoTime() - st;
+		if (failure.get() != null) error = failure.get();
+		
+		if (error instanceof RuntimeException) throw (RuntimeException)error;
+		if (error instanceof Error) throw (Error)error;
+		if (error != null) throw new IllegalStateException(error);
+	}
+	
+	/**
+	 * Sorts the sentences by their costs in descending order and assigns each to the least-loaded worker.
+	 * @return the queue of each worker, where sentences are in descending order of their costs.
+	 */
+	protected List<Deque<N[]>> schedule(List<N[]> sentences)
+	{
+		List<Deque<N[]>> queues = new ArrayList<>(thread_size);
+		int i, worker, size = sentences.size();
+		long[] costs = new long[size];
+		long[] loads = new long[thread_size];
+		Integer[] order = new Integer[size];
+		
+		for (i=0; i<thread_size; i++)
+			queues.add(new ConcurrentLinkedDeque<>());
+		
+		for (i=0; i<size; i++)
+		{
+			costs[i] = cost_function.applyAsLong(sentences.get(i));
+			order[i] = i;
+		}
+		
+		Arrays.sort(order, (a, b) -> Long.compare(costs[b], costs[a]));
+		
+		for (int index : order)
+		{
+			worker = leastLoaded(loads);
+			queues.get(worker).addLast(sentences.get(index));
+			loads[worker] += costs[index];
+		}
+		
+		return queues;
+	}
+	
+	/** Called by {@link #schedule(List)}. */
+	private int leastLoaded(long[] loads)
+	{
+		int i, min = 0;
+		
+		for (i=1; i<loads.length; i++)
+			if (loads[i] < loads[min]) min = i;
+		
+		return min;
+	}
+	
+	class DecodeTask implements Runnable
+	{
+		private List<Deque<N[]>> queues;
+		private NLPComponent<N,S> decoder;
+		private int worker;
+		/** The first failure of any worker. */
+		private AtomicReference<Throwable> failure;
+		
+		public DecodeTask(int worker, List<Deque<N[]>> queues, NLPComponent<N,S> decoder, AtomicReference<Throwable> failure)
+		{
+			this.worker  = worker;
+			this.queues  = queues;
+			this.decoder = decoder;
+			this.failure = failure;
+		}
+		
+		@Override
+		public void run()
+		{
+			Deque<N[]> own = queues.get(worker);
+			N[] nodes;
+			long st;
+			
+			while (true)
+			{
+				nodes = own.pollFirst();
+				
+				if (nodes == null)
+				{
+					nodes = steal();
+					if (nodes == null) break;
+					steal_counts[worker]++;
+				}
+				
+				st = System.nanoTime();
+				
+				try
+				{
+					decoder.process(nodes);
+				}
+				catch (Throwable e) {failure.compareAndSet(null, e);}
+				
+				busy_times[worker] += System.nanoTime() - st;
+				sentence_counts[worker]++;
+				token_counts[worker] += nodes.length;
+			}
+		}
+		
+		/** @return the shortest remaining sentence of another worker if exists; otherwise, null. */
+		private N[] steal()
+		{
+			N[] nodes;
+			
+			for (int i=1; i<thread_size; i++)
+			{
+				nodes = queues.get((worker + i) % thread_size).pollLast();
+				if (nodes != null) return nodes;
+			}
+			
+			return null;
+		}
+	}
+	
+//	============================== METRICS ==============================
+	
+	private void initMetrics()
+	{
+		busy_times      = new long[thread_size];
+		sentence_counts = new long[thread_size];
+		token_counts    = new long[thread_size];
+		steal_counts    = new long[thread_size];
+		wall_time       = 0;
+	}
+	
+	/** @return the wall-clock time of the last decoding in nanoseconds. */
+	public long getWallTime()
+	{
+		return wall_time;
+	}
+	
+	/** @return the ratio of time the specific worker spent on decoding during the last decoding. */
+	public double getUtilization(int worker)
+	{
+		return MathUtils.divide(busy_times[worker], wall_time);
+	}
+	
+	public long getSentenceCount(int worker)
+	{
+		return sentence_counts[worker];
+	}
+	
+	public long getTokenCount(int worker)
+	{
+		return token_counts[worker];
+	}
+	
+	/** @return the number of sentences the specific worker stole from the others. */
+	public long getStealCount(int worker)
+	{
+		return steal_counts[worker];
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder build = new StringBuilder();
+		long tokens = Arrays.stream(token_counts).sum();
+		double seconds = wall_time / 1e9;
+		
+		build.append(String.format("Threads    : %d\n", thread_size));
+		build.append(String.format("Wall time  : %f sec.\n", seconds));
+		build.append(String.format("Tokens/Sec.: %f\n", MathUtils.divide(tokens, seconds)));
+		
+		for (int i=0; i<thread_size; i++)
+			build.append(String.format("%3d: sentences = %d, tokens = %d, stolen = %d, utilization = %5.2f%%\n", i, sentence_counts[i], token_counts[i], steal_counts[i], 100 * getUtilization(i)));
+		
+		return build.toString();
+	}
+}
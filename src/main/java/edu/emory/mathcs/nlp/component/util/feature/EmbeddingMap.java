@@ -0,0 +1,149 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.feature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.common.util.Splitter;
+import edu.emory.mathcs.nlp.component.util.node.NLPNode;
+import edu.emory.mathcs.nlp.component.util.node.SymbolTable;
+import edu.emory.mathcs.nlp.vsm.util.WordVectors;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * A read-only matrix of word embeddings shared by all feature templates and threads, whose rows are looked up by word-forms.
+ * The words are kept in a private map rather than {@link SymbolTable#FORMS} so that millions of embedding words,
+ * most of which never occur in the data, do not grow the shared table; {@link #indexOf(NLPNode)} still does not allocate
+ * since the simplified word-forms of nodes are shared strings whose hash codes are cached.
+ * Dense features refer to the rows of {@link #getMatrix()} instead of copying them.
+ * This map is not serialized with the templates; set it again after loading a model.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class EmbeddingMap
+{
+	/** The index of the row per word; -1 if not exists. */
+	private Object2IntOpenHashMap<String> row_ids;
+	/** The embeddings, where the i'th row is matrix[i*dimension, (i+1)*dimension). */
+	private float[] matrix;
+	private int     dimension;
+	private int     size;
+	
+	/**
+	 * The matrix is shared, not copied (e.g., {@code new EmbeddingMap(w2v.getWords(), w2v.getWordVectors(), w2v.getVectorSize())}).
+	 * @param words the word of each row in the matrix.
+	 */
+	public EmbeddingMap(List<String> words, float[] matrix, int dimension)
+	{
+		if (words.size() * dimension > matrix.length) throw new IllegalArgumentException("The matrix is smaller than "+words.size()+" x "+dimension);
+		row_ids = new Object2IntOpenHashMap<>(words.size());
+		row_ids.defaultReturnValue(-1);
+		
+		for (int i=0; i<words.size(); i++)
+			row_ids.putIfAbsent(words.get(i), i);
+		
+		row_ids.trim();
+		this.matrix    = matrix;
+		this.dimension = dimension;
+		this.size      = words.size();
+	}
+	
+//	============================== READ ==============================
+	
+	/** @return the map of the vectors saved by Word2Vec in the binary word2vec format, which are read once into one matrix. */
+	static public EmbeddingMap readBinary(String filename) throws IOException
+	{
+		WordVectors vectors = new WordVectors(filename);
+		int i, dimension = vectors.getDimension();
+		float[] matrix = new float[vectors.size() * dimension];
+		List<String> words = new ArrayList<>(vectors.size());
+		
+		for (i=0; i<vectors.size(); i++)
+		{
+			words.add(vectors.getWord(i));
+			vectors.get(i, matrix, i * dimension);
+		}
+		
+		vectors.close();
+		return new EmbeddingMap(words, matrix, dimension);
+	}
+	
+	/** @return the map of the vectors saved by Word2Vec in the text format, whose first line is "size dimension". */
+	static public EmbeddingMap readText(InputStream in) throws IOException
+	{
+		BufferedReader reader = IOUtils.createBufferedReader(in);
+		String[] t = Splitter.splitSpace(reader.readLine().trim());
+		int i, j, size = Integer.parseInt(t[0]), dimension = Integer.parseInt(t[1]);
+		float[] matrix = new float[size * dimension];
+		List<String> words = new ArrayList<>(size);
+		String line;
+		
+		for (i=0; i<size && (line = reader.readLine()) != null; i++)
+		{
+			t = Splitter.splitSpace(line.trim());
+			if (t.length != dimension + 1) throw new IOException("Invalid vector at line "+(i+2)+": "+t.length+" != "+(dimension+1));
+			words.add(t[0]);
+			
+			for (j=0; j<dimension; j++)
+				matrix[i*dimension+j] = Float.parseFloat(t[j+1]);
+		}
+		
+		reader.close();
+		if (i < size) throw new IOException("Expected "+size+" vectors but found "+i);
+		return new EmbeddingMap(words, matrix, dimension);
+	}
+	
+//	============================== GETTERS ==============================
+	
+	/** @return the row of the simplified word-form of the node if exists; otherwise, -1. */
+	public int indexOf(NLPNode node)
+	{
+		return indexOf(node.getSimplifiedWordForm());
+	}
+	
+	/** @return the row of the word if exists; otherwise, -1. */
+	public int indexOf(String word)
+	{
+		return (word != null) ? row_ids.getInt(word) : -1;
+	}
+	
+	/** @return the shared matrix, which must not be modified. */
+	public float[] getMatrix()
+	{
+		return matrix;
+	}
+	
+	/** @return the offset of the row in {@link #getMatrix()}. */
+	public int getOffset(int row)
+	{
+		return row * dimension;
+	}
+	
+	public int getDimension()
+	{
+		return dimension;
+	}
+	
+	/** @return the number of rows. */
+	public int size()
+	{
+		return size;
+	}
+}
@@ -18,27 +18,35 @@ package edu.emory.mathcs.nlp.component.util.feature;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OptionalDataException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
 
+import edu.emory.mathcs.nlp.common.util.StringUtils;
+import edu.emory.mathcs.nlp.component.util.node.NLPNode;
 import edu.emory.mathcs.nlp.learn.vector.StringVector;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
-public abstract class FeatureTemplate<N,S> implements Serializable
+public abstract class FeatureTemplate<N,S> implements Serializable, Cloneable
 {
 	private static final long serialVersionUID = -6755594173767815098L;
 	protected List<FeatureItem<?>[]> feature_list;
 	protected List<FeatureItem<?>>   feature_set;
+	/** The dense features, whose types follow the ones of {@link #feature_list} and {@link #feature_set}. */
+	protected List<FeatureItem<?>>   feature_dense;
+	/** The shared embeddings of the dense features, which are skipped if null. */
+	protected transient EmbeddingMap embedding_map;
 	protected S state;
 
 	public FeatureTemplate()
 	{
-		feature_list = new ArrayList<>();
-		feature_set  = new ArrayList<>();
+		feature_list  = new ArrayList<>();
+		feature_set   = new ArrayList<>();
+		feature_dense = new ArrayList<>();
 	}
 	
 //	============================== SERIALIZATION ==============================
@@ -48,12 +56,22 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 	{
 		feature_list = (List<FeatureItem<?>[]>)in.readObject();
 		feature_set  = (List<FeatureItem<?>>)  in.readObject();
+		
+		try
+		{
+			feature_dense = (List<FeatureItem<?>>)in.readObject();
+		}
+		catch (OptionalDataException e)	// saved before dense features
+		{
+			feature_dense = new ArrayList<>();
+		}
 	}
 	
 	private void writeObject(ObjectOutputStream out) throws IOException
 	{
 		out.writeObject(feature_list);
 		out.writeObject(feature_set);
+		out.writeObject(feature_dense);
 	}
 
 //	============================== INITIALIZATION ==============================
@@ -68,6 +86,12 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 		feature_set.add(items);
 	}
 	
+	/** Adds a dense feature (e.g., {@link Field#word_embedding}), which is extracted only if {@link #setEmbeddingMap(EmbeddingMap)} is called. */
+	public void addDense(FeatureItem<?> item)
+	{
+		feature_dense.add(item);
+	}
+	
 //	============================== GETTERS & SETTERS ==============================
 	
 	public S getState()
@@ -81,9 +105,48 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 	}
 	
 	
+	public EmbeddingMap getEmbeddingMap()
+	{
+		return embedding_map;
+	}
+	
+	/** Sets the embeddings shared by this template and its duplicates; dense features are skipped if null. */
+	public void setEmbeddingMap(EmbeddingMap map)
+	{
+		embedding_map = map;
+	}
+	
 	public int size()
 	{
-		return feature_list.size() + feature_set.size();
+		return feature_list.size() + feature_set.size() + feature_dense.size();
+	}
+	
+	/** @return the farthest window to the left that the features of the field look at (e.g., 2 if the window -2 is the farthest); 0 if none. */
+	public int getLeftWindow(Field field)
+	{
+		int window = 0;
+		
+		for (FeatureItem<?>[] items : feature_list)
+			for (FeatureItem<?> item : items)
+				if (item.field == field) window = Math.max(window, -item.window);
+		
+		for (FeatureItem<?> item : feature_set)
+			if (item.field == field) window = Math.max(window, -item.window);
+		
+		return window;
+	}
+	
+	/** @return a copy of this template that shares the feature items but keeps its own state. */
+	@SuppressWarnings("unchecked")
+	public FeatureTemplate<N,S> duplicate()
+	{
+		try
+		{
+			FeatureTemplate<N,S> template = (FeatureTemplate<N,S>)clone();
+			template.state = null;
+			return template;
+		}
+		catch (CloneNotSupportedException e) {throw new IllegalStateException(e);}
 	}
 	
 //	============================== EXTRACTOR ==============================
@@ -97,7 +160,7 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 		
 		for (i=0; i<feature_list.size(); i++,type++)
 		{
-			f = getFeature(feature_list.get(i));
+			f = getFeature(type, feature_list.get(i));
 			if (f != null) x.add(type, f);
 		}
 		
@@ -107,10 +170,25 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 			if (t != null) for (String s : t) x.add(type, s);
 		}
 		
+		if (embedding_map != null)
+		{
+			int row, dimension = embedding_map.getDimension();
+			
+			for (i=0; i<feature_dense.size(); i++,type++)
+			{
+				row = getDenseRow(feature_dense.get(i));
+				if (row >= 0) x.addDense(type, embedding_map.getMatrix(), embedding_map.getOffset(row), dimension);
+			}
+		}
+		
 		return x;
 	}
 	
-	private String getFeature(FeatureItem<?>... items)
+	/**
+	 * @param type the feature type, which is also the index of the items in {@link #feature_list}.
+	 * @return the feature joining the values of all items if exists; otherwise, null.
+	 */
+	protected String getFeature(int type, FeatureItem<?>[] items)
 	{
 		String f;
 		
@@ -133,4 +211,42 @@ public abstract class FeatureTemplate<N,S> implements Serializable
 	
 	protected abstract String   getFeature (FeatureItem<?> item);
 	protected abstract String[] getFeatures(FeatureItem<?> item);
+	
+	/** The prefix cannot be the entire word (e.g., getPrefix("abc", 3) -> null). */
+	protected String getPrefix(NLPNode node, int n)
+	{
+		String s = node.getSimplifiedWordForm();
+		return (n < s.length()) ? StringUtils.toLowerCase(s.substring(0, n)) : null;
+	}
+	
+	/** The suffix cannot be the entire word (e.g., getSuffix("abc", 3) -> null). */
+	protected String getSuffix(NLPNode node, int n)
+	{
+		String s = node.getSimplifiedWordForm();
+		return (n < s.length()) ? StringUtils.toLowerCase(s.substring(s.length()-n)) : null;
+	}
+	
+	/** @param isFirst true if the node is the first token in the sentence. */
+	protected String[] getOrthographicFeatures(NLPNode node, boolean isFirst)
+	{
+		String[] t = node.getOrthographic(isFirst);
+		return t.length == 0 ? null : t;
+	}
+	
+	/** @return the row of the dense feature in {@link #embedding_map} if exists; otherwise, -1. */
+	protected int getDenseRow(FeatureItem<?> item)
+	{
+		throw new IllegalArgumentException("Unsupported feature: "+item.field);
+	}
+	
+	/**
+	 * @param item the value of the item is the form to look up: {@link Field#uncapitalized_simplified_word_form} if the embeddings are lowercased;
+	 * otherwise, the simplified word-form.
+	 * @return the row of the embedding of the node if exists; otherwise, -1.
+	 */
+	protected int getEmbeddingRow(NLPNode node, FeatureItem<?> item)
+	{
+		if (node == null) return -1;
+		return (item.value == Field.uncapitalized_simplified_word_form) ? embedding_map.indexOf(StringUtils.toLowerCase(node.getSimplifiedWordForm())) : embedding_map.indexOf(node);
+	}
 }
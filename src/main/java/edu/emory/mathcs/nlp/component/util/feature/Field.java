@@ -40,7 +40,16 @@ public enum Field
 	dependency_label,
 	distance,
 	valency,
+	path,
+	subcategorization,
+	
+	// named entity recognition features
+	named_entity_tag,
+	gazetteer,	// set
 	
 	// more
-	binary;	// set
+	binary,	// set
+	
+	// dense features
+	word_embedding;
 }
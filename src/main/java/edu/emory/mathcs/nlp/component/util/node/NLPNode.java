@@ -15,6 +15,8 @@
  */
 package edu.emory.mathcs.nlp.component.util.node;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,8 @@ public class NLPNode implements Serializable
 	protected String  word_form;
 	protected FeatMap feat_map;
 	protected int     id;
+	/** The IDs of the word-forms in {@link SymbolTable#FORMS}, which are not serialized. */
+	protected transient int word_form_id = -1, simplified_word_form_id = -1;
 	
 	public NLPNode() {}
 	
@@ -51,6 +55,12 @@ public class NLPNode implements Serializable
 		setFeatMap(map);
 	}
 	
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		setWordForm(word_form);
+	}
+	
 //	============================== ID ==============================
 	
 	public int getID()
@@ -97,12 +107,23 @@ public class NLPNode implements Serializable
 		return word_form;
 	}
 	
-	/** @return the previous word-form. */
+	/** @return the ID of the word-form in {@link SymbolTable#FORMS}; -1 if the word-form is null. */
+	public int getWordFormID()
+	{
+		return word_form_id;
+	}
+	
+	/**
+	 * Interns the word-form and its simplified form in {@link SymbolTable#FORMS} so identical forms share one instance.
+	 * @return the previous word-form.
+	 */
 	public String setWordForm(String form)
 	{
-		simplified_word_form = StringUtils.toSimplifiedForm(form);
+		simplified_word_form_id = SymbolTable.FORMS.add(StringUtils.toSimplifiedForm(form));
+		simplified_word_form    = SymbolTable.FORMS.get(simplified_word_form_id);
 		String t = word_form;
-		word_form = form;
+		word_form_id = SymbolTable.FORMS.add(form);
+		word_form    = SymbolTable.FORMS.get(word_form_id);
 		return t;
 	}
 
@@ -119,6 +140,12 @@ public class NLPNode implements Serializable
 		return simplified_word_form;
 	}
 	
+	/** @return the ID of the simplified word-form in {@link SymbolTable#FORMS}; -1 if the word-form is null. */
+	public int getSimplifiedWordFormID()
+	{
+		return simplified_word_form_id;
+	}
+	
 	public boolean isSimplifiedWordForm(String form)
 	{
 		return form.equals(simplified_word_form);
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.node;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps strings to dense integer IDs (0, 1, ...) and keeps one shared instance per distinct string.
+ * Lookups are lock-free; only adding a new string is synchronized so that tables can be shared by concurrent readers.
+ * IDs are assigned per process, so they must not be serialized.
+ * The shared tables ({@link #FORMS}, {@link #LEMMAS}, {@link #TAGS}) only grow so that IDs held by nodes and models stay valid,
+ * which costs memory in a long-running process that keeps seeing new words; such a process can {@link #markAll()} once its models are loaded
+ * and {@link #resetAll()} between documents, which drops every symbol added since the mark while keeping the IDs the models rely on.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SymbolTable
+{
+	/** Word-forms and their simplified forms. */
+	static public final SymbolTable FORMS  = new SymbolTable();
+	static public final SymbolTable LEMMAS = new SymbolTable();
+	/** Part-of-speech tags. */
+	static public final SymbolTable TAGS   = new SymbolTable();
+	
+	private final ConcurrentHashMap<String,Integer> id_map;
+	private volatile String[] symbols;
+	private int size;
+	/** The size at the last {@link #mark()}; symbols with smaller IDs are kept by {@link #reset()}. */
+	private int mark;
+	
+	public SymbolTable()
+	{
+		id_map  = new ConcurrentHashMap<>();
+		symbols = new String[16];
+	}
+	
+	/** @return the ID of the symbol, which is added if not exists; -1 if the symbol is null. */
+	public int add(String symbol)
+	{
+		if (symbol == null) return -1;
+		Integer id = id_map.get(symbol);
+		return (id != null) ? id : addAux(symbol);
+	}
+	
+	/** Called by {@link #add(String)}. */
+	private synchronized int addAux(String symbol)
+	{
+		Integer id = id_map.get(symbol);
+		if (id != null) return id;
+		
+		String[] t = symbols;
+		if (size == t.length) t = Arrays.copyOf(t, size * 2);
+		t[size] = symbol;
+		symbols = t;
+		
+		id_map.put(symbol, size);
+		return size++;
+	}
+	
+	/** @return the ID of the symbol if exists; otherwise, -1. */
+	public int indexOf(String symbol)
+	{
+		Integer id = (symbol != null) ? id_map.get(symbol) : null;
+		return (id != null) ? id : -1;
+	}
+	
+	/** @return the symbol of the ID if the ID is not negative; otherwise, null. */
+	public String get(int id)
+	{
+		return (id < 0) ? null : symbols[id];
+	}
+	
+	/** @return the shared instance of the symbol, which is added if not exists. */
+	public String intern(String symbol)
+	{
+		return get(add(symbol));
+	}
+	
+	public int size()
+	{
+		return id_map.size();
+	}
+	
+//	============================== RESET ==============================
+	
+	/** Marks the current symbols to be kept by {@link #reset()}. */
+	public synchronized void mark()
+	{
+		mark = size;
+	}
+	
+	/**
+	 * Removes every symbol added since the last {@link #mark()} (all symbols if never marked) so that their IDs can be reused.
+	 * Must not be called while other threads use this table or while nodes created since the mark are still in use.
+	 */
+	public synchronized void reset()
+	{
+		for (int i=mark; i<size; i++)
+			id_map.remove(symbols[i]);
+		
+		symbols = Arrays.copyOf(symbols, Math.max(16, mark));
+		size = mark;
+	}
+	
+	/** Calls {@link #mark()} on all shared tables. */
+	static public void markAll()
+	{
+		FORMS .mark();
+		LEMMAS.mark();
+		TAGS  .mark();
+	}
+	
+	/** Calls {@link #reset()} on all shared tables. */
+	static public void resetAll()
+	{
+		FORMS .reset();
+		LEMMAS.reset();
+		TAGS  .reset();
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.tukaani.xz.XZInputStream;
+
+/**
+ * Reads sentences from a large byte buffer, which is memory-mapped for plain files and filled by streaming for .gz/.xz files,
+ * by finding tab and newline boundaries on the bytes themselves instead of reading lines and splitting them into strings.
+ * Only the columns in {@link TSVIndex#getColumns()} are decoded into strings; the other columns are null.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVByteReader<N> extends TSVReader<N>
+{
+	static public final int DEFAULT_BUFFER_SIZE = 1 << 24;
+	private int buffer_size;
+	
+	/** The memory-mapped file if opened by {@link #open(String)} on a plain file; otherwise, null. */
+	private FileChannel file_channel;
+	/** The file position of the first byte in {@link #buffer} if memory-mapped. */
+	private long file_offset;
+	/** The file position where reading stops if memory-mapped. */
+	private long file_end;
+	/** The stream if not memory-mapped; otherwise, null. */
+	private ReadableByteChannel stream_channel;
+	
+	private ByteBuffer buffer;
+	/** The index of the first byte in {@link #buffer} that has not been read. */
+	private int     position;
+	private boolean eof;
+	
+	/** used_columns[i] = true if the i'th column is read by the index; null if all columns are read. */
+	private boolean[] used_columns;
+	private String[]  all_columns;
+	private byte[]    field_bytes;
+	
+	public TSVByteReader(TSVIndex<N> index)
+	{
+		this(index, DEFAULT_BUFFER_SIZE);
+	}
+	
+	/** @param bufferSize the number of bytes mapped or buffered at a time; grown if a line does not fit. */
+	public TSVByteReader(TSVIndex<N> index, int bufferSize)
+	{
+		super(index);
+		buffer_size = bufferSize;
+		all_columns = new String[16];
+		field_bytes = new byte[64];
+	}
+	
+	@Override
+	public void setIndex(TSVIndex<N> index)
+	{
+		super.setIndex(index);
+		int[] columns = index.getColumns();
+		
+		if (columns == null)
+		{
+			used_columns = null;
+			return;
+		}
+		
+		int max = -1;
+		for (int c : columns) max = Math.max(max, c);
+		used_columns = new boolean[max+1];
+		for (int c : columns) if (c >= 0) used_columns[c] = true;
+	}
+	
+//	============================== OPEN & CLOSE ==============================
+	
+	/** Memory-maps the file unless it ends with .gz or .xz, in which case it is decompressed while streaming. */
+	public void open(String filename) throws IOException
+	{
+		if (filename.endsWith(".gz"))
+			open(new GZIPInputStream(new FileInputStream(filename), 1 << 16));
+		else if (filename.endsWith(".xz"))
+			open(new XZInputStream(new BufferedInputStream(new FileInputStream(filename), 1 << 16)));
+		else
+			open(filename, 0, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Memory-maps the byte range [start, end) of the plain file, where both positions should be at sentence boundaries
+	 * (see {@link TSVCorpus}); the end is clipped to the file size.
+	 */
+	public void open(String filename, long start, long end) throws IOException
+	{
+		close();
+		file_channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+		file_end     = Math.min(end, file_channel.size());
+		file_offset  = start;
+		buffer       = ByteBuffer.allocate(0);
+		position     = 0;
+		eof          = start >= file_end;
+	}
+	
+	@Override
+	public void open(InputStream in)
+	{
+		close();
+		stream_channel = Channels.newChannel(in);
+		buffer   = ByteBuffer.allocate(buffer_size);
+		buffer.limit(0);
+		position = 0;
+		eof      = false;
+	}
+	
+	@Override
+	public void close()
+	{
+		try
+		{
+			if (file_channel   != null) file_channel.close();
+			if (stream_channel != null) stream_channel.close();
+		}
+		catch (IOException e) {e.printStackTrace();}
+		
+		file_channel   = null;
+		stream_channel = null;
+		buffer         = null;
+	}
+	
+//	============================== READ ==============================
+	
+	@Override
+	public N[] next() throws IOException
+	{
+		List<String[]> list = new ArrayList<>();
+		int end, length;
+		
+		while ((end = findLineEnd()) >= 0)
+		{
+			length = end - position;
+			if (length > 0 && buffer.get(end-1) == '\r') length--;
+			
+			if (length == 0)
+			{
+				position = end + 1;
+				if (list.isEmpty()) continue;
+				break;
+			}
+			
+			list.add(split(position, position + length));
+			position = end + 1;
+		}
+		
+		return list.isEmpty() ? null : getIndex().toNodeList(list);
+	}
+	
+	/** @return the index of the newline ending the current line, the buffer limit if the last line has no newline, or -1 if no line is left. */
+	private int findLineEnd() throws IOException
+	{
+		int i = position, limit;
+		
+		for (;;)
+		{
+			for (limit=buffer.limit(); i<limit; i++)
+				if (buffer.get(i) == '\n') return i;
+			
+			if (eof) return (position < limit) ? limit : -1;
+			i -= position;
+			refill();
+			i += position;
+		}
+	}
+	
+	/** Keeps the bytes from {@link #position} and reads more bytes after them. */
+	private void refill() throws IOException
+	{
+		int remaining = buffer.limit() - position;
+		
+		if (file_channel != null)
+		{
+			long start  = file_offset + position;
+			int  length = (int)Math.min(Math.min(file_end - start, Math.max(buffer_size, 2L * remaining)), Integer.MAX_VALUE);
+			
+			buffer      = file_channel.map(MapMode.READ_ONLY, start, length);
+			file_offset = start;
+			eof         = start + length >= file_end;
+		}
+		else
+		{
+			buffer.position(position);
+			buffer.compact();
+			
+			if (!buffer.hasRemaining())
+			{
+				ByteBuffer b = ByteBuffer.allocate(buffer.capacity() * 2);
+				buffer.flip();
+				b.put(buffer);
+				buffer = b;
+			}
+			
+			while (buffer.hasRemaining())
+			{
+				if (stream_channel.read(buffer) < 0)
+				{
+					eof = true;
+					break;
+				}
+			}
+			
+			buffer.flip();
+		}
+		
+		position = 0;
+	}
+	
+	/** @return the columns of the line in [begin, end), where unused columns are null. */
+	private String[] split(int begin, int end)
+	{
+		String[] values = (used_columns != null) ? new String[used_columns.length] : all_columns;
+		int i, column = 0, start = begin;
+		
+		for (i=begin; i<=end; i++)
+		{
+			if (i < end && buffer.get(i) != '\t') continue;
+			
+			if (used_columns == null)
+			{
+				if (column == values.length) values = all_columns = Arrays.copyOf(values, column * 2);
+				values[column] = decode(start, i);
+			}
+			else if (column < values.length)
+			{
+				if (used_columns[column]) values[column] = decode(start, i);
+			}
+			else break;
+			
+			column++;
+			start = i + 1;
+		}
+		
+		return (used_columns != null) ? values : Arrays.copyOf(values, column);
+	}
+	
+	private String decode(int begin, int end)
+	{
+		int i, length = end - begin;
+		if (length == 1 && buffer.get(begin) == '_') return BLANK;
+		
+		if (buffer.hasArray())
+			return new String(buffer.array(), buffer.arrayOffset() + begin, length, StandardCharsets.UTF_8);
+		
+		if (field_bytes.length < length) field_bytes = new byte[Math.max(length, field_bytes.length * 2)];
+		for (i=0; i<length; i++) field_bytes[i] = buffer.get(begin + i);
+		return new String(field_bytes, 0, length, StandardCharsets.UTF_8);
+	}
+}
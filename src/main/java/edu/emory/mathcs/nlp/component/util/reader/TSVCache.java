@@ -0,0 +1,346 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import edu.emory.mathcs.nlp.component.util.node.SymbolTable;
+
+/**
+ * Converts TSV files once into binary caches so that repeated passes (e.g., training epochs) skip parsing text.
+ * Every field of the columns in {@link TSVIndex#getColumns()} is stored as the ID of a symbol table saved with the cache,
+ * and sentences are grouped into blocks, each of which stores its columns one after another.
+ * A cache is rebuilt whenever the size or the CRC32 checksum of its source file changes.
+ * <pre>
+ * header : MAGIC, VERSION, source size (long), source checksum (long), column size, columns
+ * block  : sentence size, token size, sentence lengths, IDs of the 1st column, IDs of the 2nd column, ...
+ * symbols: symbol size, (byte length, UTF-8 bytes)+
+ * trailer: offset of the symbols (long), MAGIC
+ * </pre>
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVCache<N>
+{
+	static private final int MAGIC   = 0x54535643;
+	static private final int VERSION = 1;
+	/** The number of sentences per block. */
+	static public final int DEFAULT_BLOCK_SIZE = 4096;
+	
+	private TSVIndex<N> index;
+	/** The distinct non-negative columns of the index in ascending order. */
+	private int[]  columns;
+	/** The directory of the cache files; if null, each cache file is placed next to its source. */
+	private String cache_dir;
+	private int    block_size;
+	/** The checksums of the source files validated so far, keyed by their paths, sizes, and modified times. */
+	private Map<String,Long> checksums;
+	
+	public TSVCache(TSVIndex<N> index)
+	{
+		this(index, null);
+	}
+	
+	public TSVCache(TSVIndex<N> index, String cacheDir)
+	{
+		int[] c = index.getColumns();
+		if (c == null) throw new IllegalArgumentException("The index must specify its columns.");
+		
+		this.index = index;
+		columns    = Arrays.stream(c).filter(i -> i >= 0).distinct().sorted().toArray();
+		cache_dir  = cacheDir;
+		block_size = DEFAULT_BLOCK_SIZE;
+		checksums  = new ConcurrentHashMap<>();
+		if (cacheDir != null) new File(cacheDir).mkdirs();
+	}
+	
+	public TSVIndex<N> getIndex()
+	{
+		return index;
+	}
+	
+	/** @return the cache file of the source file. */
+	public String getCacheFile(String source)
+	{
+		if (cache_dir == null) return source+".cache";
+		File file = new File(source).getAbsoluteFile();
+		return new File(cache_dir, file.getName()+"."+Integer.toHexString(file.getPath().hashCode())+".cache").getPath();
+	}
+	
+//	============================== ITERATE ==============================
+	
+	/** Passes every sentence in the source files to the consumer, where the cache of each file is built first if it is not valid. */
+	public void forEach(List<String> sources, Consumer<N[]> consumer)
+	{
+		String cacheFile;
+		
+		try
+		{
+			for (String source : sources)
+			{
+				cacheFile = getCacheFile(source);
+				if (!isValid(source, cacheFile)) write(source, cacheFile);
+				read(cacheFile, consumer);
+			}
+		}
+		catch (IOException e) {throw new IllegalStateException(e);}
+	}
+	
+//	============================== WRITE ==============================
+	
+	/** Converts the source file into the cache file, which is replaced only once it is completely written. */
+	public void write(String source, String cacheFile) throws IOException
+	{
+		File temp = new File(cacheFile+".tmp");
+		SymbolTable symbols = new SymbolTable();
+		TSVByteReader<String[]> reader = new TSVByteReader<>(new RowIndex());
+		List<String[][]> block = new ArrayList<>();
+		String[][] rows;
+		long offset;
+		
+		reader.open(source);
+		
+		try (FileOutputStream fout = new FileOutputStream(temp))
+		{
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fout, 1 << 16));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(new File(source).length());
+			out.writeLong(getChecksum(source));
+			out.writeInt(columns.length);
+			for (int c : columns) out.writeInt(c);
+			
+			while ((rows = reader.next()) != null)
+			{
+				block.add(rows);
+				if (block.size() == block_size) writeBlock(out, block, symbols);
+			}
+			
+			if (!block.isEmpty()) writeBlock(out, block, symbols);
+			out.flush();
+			offset = fout.getChannel().position();
+			writeSymbols(out, symbols);
+			out.writeLong(offset);
+			out.writeInt(MAGIC);
+			out.flush();
+		}
+		finally {reader.close();}
+		
+		Files.move(temp.toPath(), Paths.get(cacheFile), StandardCopyOption.REPLACE_EXISTING);
+	}
+	
+	private void writeBlock(DataOutputStream out, List<String[][]> block, SymbolTable symbols) throws IOException
+	{
+		int tokens = 0;
+		for (String[][] rows : block) tokens += rows.length;
+		
+		out.writeInt(block.size());
+		out.writeInt(tokens);
+		for (String[][] rows : block) out.writeInt(rows.length);
+		
+		for (int c : columns)
+			for (String[][] rows : block)
+				for (String[] row : rows)
+					out.writeInt(symbols.add(c < row.length ? row[c] : null));
+		
+		block.clear();
+	}
+	
+	private void writeSymbols(DataOutputStream out, SymbolTable symbols) throws IOException
+	{
+		byte[] b;
+		out.writeInt(symbols.size());
+		
+		for (int i=0; i<symbols.size(); i++)
+		{
+			b = symbols.get(i).getBytes(StandardCharsets.UTF_8);
+			out.writeInt(b.length);
+			out.write(b);
+		}
+	}
+	
+//	============================== READ ==============================
+	
+	/** Passes every sentence in the cache file to the consumer. */
+	public void read(String cacheFile, Consumer<N[]> consumer) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(Paths.get(cacheFile), StandardOpenOption.READ))
+		{
+			long end = channel.size() - 12;
+			long symbolOffset = readBuffer(channel, end, 8).getLong();
+			String[] symbols = readSymbols(channel, symbolOffset, end);
+			long offset = 28 + 4L * columns.length;
+			
+			while (offset < symbolOffset)
+				offset = readBlock(channel, offset, symbols, consumer);
+		}
+	}
+	
+	/** @return the offset of the next block. */
+	private long readBlock(FileChannel channel, long offset, String[] symbols, Consumer<N[]> consumer) throws IOException
+	{
+		ByteBuffer head = readBuffer(channel, offset, 8);
+		int sentences = head.getInt(), tokens = head.getInt();
+		long length = 4L * (sentences + (long)tokens * columns.length);
+		IntBuffer ids = channel.map(MapMode.READ_ONLY, offset + 8, length).asIntBuffer();
+		
+		int width = columns[columns.length-1] + 1;
+		int i, j, k, size, token = 0;
+		List<String[]> rows = new ArrayList<>();
+		String[] row;
+		
+		for (i=0; i<sentences; i++)
+		{
+			size = ids.get(i);
+			
+			for (j=0; j<size; j++,token++)
+			{
+				row = new String[width];
+				
+				for (k=0; k<columns.length; k++)
+					row[columns[k]] = get(symbols, ids.get(sentences + k * tokens + token));
+				
+				rows.add(row);
+			}
+			
+			consumer.accept(index.toNodeList(rows));
+			rows.clear();
+		}
+		
+		return offset + 8 + length;
+	}
+	
+	private String get(String[] symbols, int id)
+	{
+		return (id < 0) ? null : symbols[id];
+	}
+	
+	private String[] readSymbols(FileChannel channel, long offset, long end) throws IOException
+	{
+		ByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset, end - offset);
+		String[] symbols = new String[buffer.getInt()];
+		byte[] b = new byte[64];
+		int length;
+		
+		for (int i=0; i<symbols.length; i++)
+		{
+			length = buffer.getInt();
+			if (b.length < length) b = new byte[Math.max(length, b.length * 2)];
+			buffer.get(b, 0, length);
+			symbols[i] = new String(b, 0, length, StandardCharsets.UTF_8);
+		}
+		
+		return symbols;
+	}
+	
+	private ByteBuffer readBuffer(FileChannel channel, long offset, int length) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0);
+		buffer.flip();
+		return buffer;
+	}
+	
+//	============================== VALIDATION ==============================
+	
+	/** @return true if the cache file is complete, stores the same columns, and matches the size and the checksum of the source file. */
+	public boolean isValid(String source, String cacheFile) throws IOException
+	{
+		File file = new File(cacheFile);
+		if (!file.isFile() || file.length() < 40 + 4L * columns.length) return false;
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			if (readBuffer(channel, channel.size() - 4, 4).getInt() != MAGIC) return false;
+			ByteBuffer header = readBuffer(channel, 0, 28 + 4 * columns.length);
+			
+			if (header.getInt() != MAGIC || header.getInt() != VERSION) return false;
+			if (header.getLong() != new File(source).length() || header.getLong() != getChecksum(source)) return false;
+			if (header.getInt() != columns.length) return false;
+			
+			for (int c : columns)
+				if (header.getInt() != c) return false;
+		}
+		
+		return true;
+	}
+	
+	/** @return the CRC32 checksum of the file, which is computed once per size and modified time of the file. */
+	public long getChecksum(String filename) throws IOException
+	{
+		File file = new File(filename);
+		String key = file.getAbsolutePath()+":"+file.length()+":"+file.lastModified();
+		Long checksum = checksums.get(key);
+		
+		if (checksum == null)
+		{
+			checksum = computeChecksum(file);
+			checksums.put(key, checksum);
+		}
+		
+		return checksum;
+	}
+	
+	private long computeChecksum(File file) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			long offset, size = channel.size();
+			
+			for (offset=0; offset<size; offset+=Integer.MAX_VALUE)
+				crc.update(channel.map(MapMode.READ_ONLY, offset, Math.min(size - offset, Integer.MAX_VALUE)));
+		}
+		
+		return crc.getValue();
+	}
+	
+	/** Returns the rows of each sentence as they are, reading only the columns of the cache. */
+	private class RowIndex implements TSVIndex<String[]>
+	{
+		@Override
+		public String[][] toNodeList(List<String[]> values)
+		{
+			return values.toArray(new String[values.size()][]);
+		}
+		
+		@Override
+		public int[] getColumns()
+		{
+			return columns;
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Divides TSV files into splits that can be read independently: each compressed file is one split,
+ * and each plain file is divided into byte ranges of about {@link #getSplitSize()} that end at blank lines (sentence boundaries).
+ * Splits are read by {@link TSVByteReader} either as a (parallel) stream or by a pool of readers feeding one consumer in order.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVCorpus<N>
+{
+	static public final long DEFAULT_SPLIT_SIZE = 1 << 21;
+	private TSVIndex<N>  index;
+	private List<Split>  splits;
+	private long         split_size;
+	
+	public TSVCorpus(TSVIndex<N> index, List<String> filenames)
+	{
+		this(index, filenames, DEFAULT_SPLIT_SIZE);
+	}
+	
+	public TSVCorpus(TSVIndex<N> index, List<String> filenames, long splitSize)
+	{
+		this.index = index;
+		split_size = splitSize;
+		splits     = new ArrayList<>();
+		
+		try
+		{
+			for (String filename : filenames)
+				addSplits(filename);
+		}
+		catch (IOException e) {throw new IllegalArgumentException(e);}
+	}
+	
+//	============================== SPLITS ==============================
+	
+	private void addSplits(String filename) throws IOException
+	{
+		if (isCompressed(filename))
+		{
+			splits.add(new Split(filename, 0, Long.MAX_VALUE));
+			return;
+		}
+		
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			long start = 0, end, size = channel.size();
+			
+			while (start < size)
+			{
+				end = (size - start <= split_size) ? size : findBoundary(channel, start + split_size, size);
+				splits.add(new Split(filename, start, end));
+				start = end;
+			}
+		}
+	}
+	
+	/** @return the position of the first blank line at or after the offset if exists; otherwise, the size of the file. */
+	static long findBoundary(FileChannel channel, long offset, long size) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+		int i, limit;
+		
+		for (long start=offset; start<size; start+=Math.max(1, limit-2))
+		{
+			buffer.clear();
+			channel.read(buffer, start);
+			buffer.flip();
+			limit = buffer.limit();
+			
+			for (i=0; i+1<limit; i++)
+			{
+				if (buffer.get(i) != '\n') continue;
+				if (buffer.get(i+1) == '\n' || (i+2 < limit && buffer.get(i+1) == '\r' && buffer.get(i+2) == '\n'))
+					return start + i + 1;
+			}
+			
+			if (start + limit >= size) break;
+		}
+		
+		return size;
+	}
+	
+	private boolean isCompressed(String filename)
+	{
+		return filename.endsWith(".gz") || filename.endsWith(".xz");
+	}
+	
+	public List<Split> getSplits()
+	{
+		return splits;
+	}
+	
+	public long getSplitSize()
+	{
+		return split_size;
+	}
+	
+//	============================== READ ==============================
+	
+	/** @return all sentences in the split. */
+	public List<N[]> read(Split split)
+	{
+		TSVByteReader<N> reader = new TSVByteReader<>(index);
+		List<N[]> sentences = new ArrayList<>();
+		N[] nodes;
+		
+		try
+		{
+			if (isCompressed(split.filename))
+				reader.open(split.filename);
+			else
+				reader.open(split.filename, split.start, split.end);
+			
+			while ((nodes = reader.next()) != null)
+				sentences.add(nodes);
+		}
+		catch (IOException e) {throw new IllegalStateException(e);}
+		finally {reader.close();}
+		
+		return sentences;
+	}
+	
+	/**
+	 * @param parallel if true, splits are read in parallel by the common fork-join pool.
+	 * @return the stream of all sentences, whose encounter order is the order of the files; use {@link Stream#forEachOrdered(Consumer)} to keep it in parallel.
+	 */
+	public Stream<N[]> stream(boolean parallel)
+	{
+		return (parallel ? splits.parallelStream() : splits.stream()).flatMap(split -> read(split).stream());
+	}
+	
+	/**
+	 * Reads splits by the specific number of threads, which read ahead of the consumer by at most one split each,
+	 * and passes every sentence to the consumer on the calling thread in the order of the files.
+	 */
+	public void forEach(Consumer<N[]> consumer, int threadSize)
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(threadSize);
+		Deque<Future<List<N[]>>> futures = new ArrayDeque<>();
+		int next = 0;
+		
+		try
+		{
+			for (; next<splits.size() && next<=threadSize; next++)
+				futures.add(submit(executor, splits.get(next)));
+			
+			while (!futures.isEmpty())
+			{
+				List<N[]> sentences = futures.poll().get();
+				if (next < splits.size()) futures.add(submit(executor, splits.get(next++)));
+				sentences.forEach(consumer);
+			}
+		}
+		catch (InterruptedException | ExecutionException e) {throw new IllegalStateException(e);}
+		finally {executor.shutdownNow();}
+	}
+	
+	private Future<List<N[]>> submit(ExecutorService executor, Split split)
+	{
+		return executor.submit(() -> read(split));
+	}
+	
+	/** A byte range [start, end) of a file. */
+	static public class Split
+	{
+		public final String filename;
+		public final long   start;
+		public final long   end;
+		
+		public Split(String filename, long start, long end)
+		{
+			this.filename = filename;
+			this.start    = start;
+			this.end      = end;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return filename+"["+start+", "+end+")";
+		}
+	}
+}
@@ -23,4 +23,13 @@ import java.util.List;
 public interface TSVIndex<N>
 {
 	N[] toNodeList(List<String[]> values);
+	
+	/**
+	 * @return the indices of the columns read by {@link #toNodeList(List)} so readers such as {@link TSVByteReader}
+	 * can leave the other columns null instead of creating their strings; null if every column is read.
+	 */
+	default int[] getColumns()
+	{
+		return null;
+	}
 }
@@ -29,7 +29,10 @@ import edu.emory.mathcs.nlp.component.util.NLPComponent;
 import edu.emory.mathcs.nlp.component.util.NLPFlag;
 import edu.emory.mathcs.nlp.component.util.config.NLPConfig;
 import edu.emory.mathcs.nlp.component.util.eval.Eval;
+import edu.emory.mathcs.nlp.component.util.feature.EmbeddingMap;
 import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.reader.TSVCache;
+import edu.emory.mathcs.nlp.component.util.reader.TSVCorpus;
 import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
 import edu.emory.mathcs.nlp.component.util.state.NLPState;
 import edu.emory.mathcs.nlp.learn.model.StringModel;
@@ -56,6 +59,13 @@ public abstract class NLPTrain<N,S extends NLPState<N>>
 	public int feature_template = 103;
 	@Option(name="-m", usage="model file (optional)", required=false, metaVar="<filename>")
 	public String model_file = null;
+	@Option(name="-r", usage="number of threads reading input files; sentences are still processed in order (default: 1)", required=false, metaVar="<integer>")
+	public int reader_size = 1;
+	@Option(name="-cache", usage="directory of binary caches; input files are parsed once and read from their caches afterward (optional)", required=false, metaVar="<directory>")
+	public String cache_dir = null;
+	@Option(name="-e", usage="word embeddings saved by Word2Vec in the binary format; the same file must be given for decoding (optional)", required=false, metaVar="<filename>")
+	public String embedding_file = null;
+	private TSVCache<N> tsv_cache;
 	
 	public NLPTrain() {};
 	
@@ -73,13 +83,15 @@ public abstract class NLPTrain<N,S extends NLPState<N>>
 	
 	public void train()
 	{
-		List<String>      trainFiles    = FileUtils.getFileList(train_path  , train_ext);
-		List<String>      developFiles  = FileUtils.getFileList(develop_path, develop_ext);
-		NLPConfig<N>      configuration = createConfiguration(configuration_file);
-		TSVReader<N>      reader        = configuration.getTSVReader();
-		NLPComponent<N,S> component     = createComponent();
+		List<String>         trainFiles    = FileUtils.getFileList(train_path  , train_ext);
+		List<String>         developFiles  = FileUtils.getFileList(develop_path, develop_ext);
+		NLPConfig<N>         configuration = createConfiguration(configuration_file);
+		TSVReader<N>         reader        = configuration.getTSVReader();
+		NLPComponent<N,S>    component     = createComponent();
+		FeatureTemplate<N,S> template      = createFeatureTemplate();
 		
-		component.setFeatureTemplate(createFeatureTemplate());
+		if (embedding_file != null) template.setEmbeddingMap(readEmbeddingMap(embedding_file));
+		component.setFeatureTemplate(template);
 		component.setEval(createEvaluator());
 
 		train(reader, trainFiles, developFiles, configuration, component);
@@ -189,21 +201,32 @@ public abstract class NLPTrain<N,S extends NLPState<N>>
 	
 //	=================================== HELPERS ===================================
 	
+	/**
+	 * Files are read from their binary caches if {@link #cache_dir} is set (see {@link TSVCache});
+	 * otherwise, they are divided into splits read ahead by {@link #reader_size} threads (see {@link TSVCorpus}).
+	 * Either way, sentences are passed to the consumer in order.
+	 */
 	protected void iterate(TSVReader<N> reader, List<String> inputFiles, Consumer<N[]> f)
 	{
-		N[] nodes;
+		if (cache_dir != null)
+		{
+			if (tsv_cache == null || tsv_cache.getIndex() != reader.getIndex()) tsv_cache = new TSVCache<>(reader.getIndex(), cache_dir);
+			tsv_cache.forEach(inputFiles, f);
+		}
+		else
+			new TSVCorpus<>(reader.getIndex(), inputFiles).forEach(f, reader_size);
+	}
+	
+	/** @return the embeddings read from the binary output of Word2Vec. */
+	static public EmbeddingMap readEmbeddingMap(String filename)
+	{
+		BinUtils.LOG.info("Loading embeddings: "+filename+"\n");
 		
-		for (String inputFile : inputFiles)
+		try
 		{
-			reader.open(IOUtils.createFileInputStream(inputFile));
-			
-			try
-			{
-				while ((nodes = reader.next()) != null)
-					f.accept(nodes);
-			}
-			catch (IOException e) {e.printStackTrace();}
+			return EmbeddingMap.readBinary(filename);
 		}
+		catch (IOException e) {throw new IllegalArgumentException("Cannot read the embeddings: "+filename, e);}
 	}
 	
 	public void save(NLPComponent<N,S> component)
@@ -15,6 +15,8 @@
  */
 package edu.emory.mathcs.nlp.learn.model;
 
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -22,6 +24,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -37,6 +40,10 @@ public class FeatureMap implements Serializable
 	private Int2ObjectMap<Object2IntMap<String>> count_map;
 	private List<Object2IntMap<String>> index_map;
 	private int feature_size;
+	/** The dimension of the dense features per type, collected by {@link #addDense(int, int)} until {@link #expand(int)}. */
+	private Int2IntMap dense_sizes;
+	/** The index of the first feature of the dense block per type. */
+	private Int2IntMap dense_index;
 	
 	public FeatureMap()
 	{
@@ -47,6 +54,7 @@ public class FeatureMap implements Serializable
 	public void initIndices()
 	{
 		index_map = new ArrayList<>();
+		dense_index = null;
 		feature_size = 1;
 	}
 	
@@ -69,9 +77,31 @@ public class FeatureMap implements Serializable
 		}
 		
 		count_map = new Int2ObjectOpenHashMap<>();
+		expandDense();
 		return feature_size;
 	}
 	
+	/** Reserves a contiguous block of features per dense type regardless of the cutoff. Called by {@link #expand(int)}. */
+	private void expandDense()
+	{
+		if (dense_sizes == null) return;
+		if (dense_index == null) dense_index = new Int2IntOpenHashMap();
+		
+		int[] types = dense_sizes.keySet().toIntArray();
+		Arrays.sort(types);
+		
+		for (int type : types)
+		{
+			if (!dense_index.containsKey(type))
+			{
+				dense_index.put(type, feature_size);
+				feature_size += dense_sizes.get(type);
+			}
+		}
+		
+		dense_sizes = null;
+	}
+	
 	/** Called by {@link #expand(int)}. */
 	private void expandTypes(int type)
 	{
@@ -103,6 +133,26 @@ public class FeatureMap implements Serializable
 		FastUtils.increment(count_map.computeIfAbsent(type, k -> new Object2IntOpenHashMap<String>()), value);
 	}
 
+	/** Adds the dense features of the type, whose dimension must be the same for all instances. */
+	public void addDense(int type, int dimension)
+	{
+		if (dense_sizes == null) dense_sizes = new Int2IntOpenHashMap();
+		int size = dense_sizes.put(type, dimension);
+		if (size != 0 && size != dimension) throw new IllegalArgumentException("Dimension mismatch for the dense type "+type+": "+size+" != "+dimension);
+	}
+	
+	/** @return the index of the first feature of the dense block of the type if exists; otherwise, {@code -1}. */
+	public int indexOfDense(int type)
+	{
+		return (dense_index != null) ? dense_index.getOrDefault(type, -1) : -1;
+	}
+	
+	/** @return true if a block of dense features has been reserved (e.g., the model is trained with embeddings). */
+	public boolean hasDense()
+	{
+		return dense_index != null && !dense_index.isEmpty();
+	}
+	
 	/** @return the index of the specific feature given the specific type if exists; otherwise, {@code -1}. */
 	public int indexOf(int type, String feature)
 	{
@@ -26,6 +26,7 @@ import edu.emory.mathcs.nlp.learn.util.Instance;
 import edu.emory.mathcs.nlp.learn.util.Prediction;
 import edu.emory.mathcs.nlp.learn.util.StringInstance;
 import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.vector.DenseItem;
 import edu.emory.mathcs.nlp.learn.vector.IndexValuePair;
 import edu.emory.mathcs.nlp.learn.vector.SparseVector;
 import edu.emory.mathcs.nlp.learn.vector.StringItem;
@@ -67,6 +68,7 @@ public class StringModel implements Serializable
 	{
 		label_map.add(instance.getLabel());
 		instance.getVector().forEach(e -> feature_map.add(e.getType(), e.getValue()));
+		instance.getVector().getDenseItems().stream().filter(e -> e.getLength() > 0).forEach(e -> feature_map.addDense(e.getIndex(), e.getLength()));
 		instance_deque.add(instance);
 	}
 	
@@ -132,10 +134,22 @@ public class StringModel implements Serializable
 			if (index > 0) x.add(index, e.getWeight());
 		}
 		
+		for (DenseItem e : vector.getDenseItems())
+		{
+			index = feature_map.indexOfDense(e.getIndex());
+			if (index > 0) x.addDense(new DenseItem(index, e.getArray(), e.getOffset(), e.getLength()));
+		}
+		
 		x.sort();
 		return x;
 	}
 	
+	/** @return true if this model is trained with dense features so that the same embeddings must be given for decoding. */
+	public boolean hasDenseFeatures()
+	{
+		return feature_map.hasDense();
+	}
+	
 	public WeightVector getWeightVector()
 	{
 		return weight_vector;
@@ -151,12 +165,51 @@ public class StringModel implements Serializable
 		return label_map.getLabel(index);
 	}
 	
+	/** @return the scores of all labels with respect to x, where each score is indexed by {@link #getLabelIndex(String)}. */
+	public double[] scores(StringVector x)
+	{
+		return weight_vector.scores(toSparseVector(x));
+	}
+	
+	/** @return the index of the label if exists; otherwise, -1. */
+	public int getLabelIndex(String label)
+	{
+		return label_map.indexOf(label);
+	}
+	
 	public StringPrediction predictBest(StringVector x)
 	{
 		Prediction p = weight_vector.predictBest(toSparseVector(x));
 		return new StringPrediction(label_map.getLabel(p.getLabel()), p.getScore());
 	}
 	
+	/** @return the top-k predictions with respect to x in descending order of their scores. */
+	public StringPrediction[] predictTop(StringVector x, int k)
+	{
+		Prediction[] ps = weight_vector.predictTop(toSparseVector(x), k);
+		StringPrediction[] sp = new StringPrediction[ps.length];
+		
+		for (int i=0; i<ps.length; i++)
+			sp[i] = new StringPrediction(label_map.getLabel(ps[i].getLabel()), ps[i].getScore());
+		
+		return sp;
+	}
+	
+	/** @return the best predictions of all vectors, which are scored together as one batch. */
+	public StringPrediction[] predictBest(List<StringVector> xs)
+	{
+		List<SparseVector> vectors = new ArrayList<>(xs.size());
+		for (StringVector x : xs) vectors.add(toSparseVector(x));
+		
+		Prediction[] ps = weight_vector.predictBest(vectors);
+		StringPrediction[] sp = new StringPrediction[ps.length];
+		
+		for (int i=0; i<ps.length; i++)
+			sp[i] = new StringPrediction(label_map.getLabel(ps[i].getLabel()), ps[i].getScore());
+		
+		return sp;
+	}
+	
 	public String trainInfo()
 	{
 		StringBuilder build = new StringBuilder();
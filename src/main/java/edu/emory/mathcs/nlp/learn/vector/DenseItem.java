@@ -0,0 +1,83 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.learn.vector;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
+/**
+ * A dense block of values that refers to a slice of a shared array instead of copying it,
+ * where the index is the feature type in {@link StringVector} and the index of the first weight in {@link SparseVector}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DenseItem implements Serializable
+{
+	private static final long serialVersionUID = -2361583371064478259L;
+	private int               index;
+	/** The shared array (e.g., the embedding matrix), which is not serialized with the instances that refer to it. */
+	private transient float[] array;
+	private int               offset;
+	private int               length;
+	
+	/** The values are array[offset, offset+length), which must not be modified afterwards. */
+	public DenseItem(int index, float[] array, int offset, int length)
+	{
+		this.index  = index;
+		this.array  = array;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	/** This block becomes empty once deserialized since its array is not serialized. */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		length = 0;
+	}
+	
+	public int getIndex()
+	{
+		return index;
+	}
+	
+	public float[] getArray()
+	{
+		return array;
+	}
+	
+	public int getOffset()
+	{
+		return offset;
+	}
+	
+	public int getLength()
+	{
+		return length;
+	}
+	
+	/** @return the k'th value of this block. */
+	public float get(int k)
+	{
+		return array[offset+k];
+	}
+	
+	@Override
+	public String toString()
+	{
+		return index+":dense["+length+"]";
+	}
+}
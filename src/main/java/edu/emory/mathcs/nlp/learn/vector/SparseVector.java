@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import edu.emory.mathcs.nlp.common.constant.StringConst;
 import edu.emory.mathcs.nlp.common.util.Joiner;
@@ -30,6 +31,8 @@ public class SparseVector implements Vector
 {
 	private static final long serialVersionUID = -1427072719834760188L;
 	private List<IndexValuePair> vector;
+	/** The dense blocks, whose indices are the first weights of the blocks; null if none. */
+	private List<DenseItem>      dense;
 	
 	public SparseVector()
 	{
@@ -56,6 +59,20 @@ public class SparseVector implements Vector
 		vector.add(item);
 	}
 	
+	/** Adds the dense block whose k'th value is the feature of the index ({@link DenseItem#getIndex()} + k). */
+	public void addDense(DenseItem item)
+	{
+		if (dense == null) dense = new ArrayList<>();
+		dense.add(item);
+	}
+	
+	/** @return the dense blocks, which can be scored directly instead of through {@link #iterator()}. */
+	public List<DenseItem> getDenseItems()
+	{
+		return (dense == null) ? Collections.emptyList() : dense;
+	}
+	
+	/** @return the number of sparse features. */
 	public int size()
 	{
 		return vector.size();
@@ -66,10 +83,53 @@ public class SparseVector implements Vector
 		Collections.sort(vector);
 	}
 	
+	/** @return the iterator of the sparse features only. */
+	public Iterator<IndexValuePair> sparseIterator()
+	{
+		return vector.iterator();
+	}
+	
+	/** @return the iterator of the sparse features followed by every value of the dense blocks. */
 	@Override
 	public Iterator<IndexValuePair> iterator()
 	{
-		return vector.iterator();
+		if (dense == null) return vector.iterator();
+		
+		Iterator<IndexValuePair> it = new Iterator<IndexValuePair>()
+		{
+			private Iterator<IndexValuePair> sparse = vector.iterator();
+			private int block = 0, k = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				if (sparse.hasNext()) return true;
+				
+				for (; block < dense.size(); block++,k=0)
+					if (k < dense.get(block).getLength()) return true;
+				
+				return false;
+			}
+			
+			@Override
+			public IndexValuePair next()
+			{
+				if (sparse.hasNext()) return sparse.next();
+				if (!hasNext()) throw new NoSuchElementException();
+				DenseItem item = dense.get(block);
+				IndexValuePair p = new IndexValuePair(item.getIndex()+k, item.get(k));
+				k++;
+				return p;
+			}
+			
+			@Override
+			public void remove()
+			{
+				throw new UnsupportedOperationException();
+			}
+		};
+		
+		return it;
 	}
 
 	@Override
@@ -17,6 +17,7 @@ package edu.emory.mathcs.nlp.learn.vector;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -31,6 +32,8 @@ public class StringVector implements Serializable, Iterable<StringItem>
 {
 	private static final long serialVersionUID = -4051551027968492079L;
 	private List<StringItem> vector;
+	/** The dense features, which refer to their shared arrays; null if none. */
+	private List<DenseItem>  dense;
 	
 	public StringVector()
 	{
@@ -57,6 +60,20 @@ public class StringVector implements Serializable, Iterable<StringItem>
 		vector.add(item);
 	}
 	
+	/** Adds the dense feature array[offset, offset+length) of the type without copying the values. */
+	public void addDense(int type, float[] array, int offset, int length)
+	{
+		if (dense == null) dense = new ArrayList<>();
+		dense.add(new DenseItem(type, array, offset, length));
+	}
+	
+	/** @return the dense features, which are not included in {@link #iterator()}. */
+	public List<DenseItem> getDenseItems()
+	{
+		return (dense == null) ? Collections.emptyList() : dense;
+	}
+	
+	/** @return the number of sparse features. */
 	public int size()
 	{
 		return vector.size();
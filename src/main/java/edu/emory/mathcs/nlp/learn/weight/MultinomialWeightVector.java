@@ -15,13 +15,20 @@
  */
 package edu.emory.mathcs.nlp.learn.weight;
 
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import org.apache.commons.math3.util.FastMath;
 
 import edu.emory.mathcs.nlp.common.util.DSUtils;
 import edu.emory.mathcs.nlp.learn.util.Prediction;
+import edu.emory.mathcs.nlp.learn.vector.DenseItem;
 import edu.emory.mathcs.nlp.learn.vector.IndexValuePair;
+import edu.emory.mathcs.nlp.learn.vector.SparseVector;
 import edu.emory.mathcs.nlp.learn.vector.Vector;
 
 /**
@@ -30,6 +37,8 @@ import edu.emory.mathcs.nlp.learn.vector.Vector;
 public class MultinomialWeightVector extends WeightVector
 {
 	private static final long serialVersionUID = 2190946158451118027L;
+	/** The approximate number of bytes of weights scored together per block in {@link #scores(List)}. */
+	static public final int BLOCK_BYTES = 1 << 18;
 
 	public MultinomialWeightVector()
 	{
@@ -90,10 +99,14 @@ public class MultinomialWeightVector extends WeightVector
 	public double[] scores(Vector x)
 	{
 		double[] scores = new double[label_size];
+		Iterator<IndexValuePair> it = (x instanceof SparseVector) ? ((SparseVector)x).sparseIterator() : x.iterator();
+		IndexValuePair p;
 		int i, index;
 		
-		for (IndexValuePair p : x)
+		while (it.hasNext())
 		{
+			p = it.next();
+			
 			if (p.getIndex() < feature_size)
 			{
 				index = indexOf(p.getIndex());
@@ -103,23 +116,129 @@ public class MultinomialWeightVector extends WeightVector
 			}
 		}
 		
-		if (isRegression())
+		if (x instanceof SparseVector) addDenseScores(scores, (SparseVector)x);
+		if (isRegression()) normalize(scores);
+		return scores;
+	}
+	
+	/**
+	 * Adds the scores of the dense blocks, whose weights are contiguous so each block is a dense matrix-vector product
+	 * read straight from the shared arrays of the blocks.
+	 */
+	private void addDenseScores(double[] scores, SparseVector x)
+	{
+		int i, k, index;
+		float value;
+		
+		for (DenseItem item : x.getDenseItems())
 		{
-			double sum = 0;
+			if (item.getIndex() + item.getLength() > feature_size) continue;
+			index = indexOf(item.getIndex());
 			
-			for (i=0; i<label_size; i++)
+			for (k=0; k<item.getLength(); k++,index+=label_size)
 			{
-				scores[i] = FastMath.exp(scores[i]);
-				sum += scores[i];
+				value = item.get(k);
+				
+				for (i=0; i<label_size; i++)
+					scores[i] += weight_vector[index+i] * value;
 			}
+		}
+	}
+	
+	/**
+	 * Scores all vectors together using a cache-blocked sparse-dense product.
+	 * The feature indices of the batch are bucketed by weight block so that each block of weights
+	 * is loaded once and reused by every vector in the batch before moving onto the next block.
+	 */
+	@Override
+	public double[][] scores(List<? extends Vector> xs)
+	{
+		int i, j, l, index, size = xs.size();
+		double[][] scores = new double[size][label_size];
+		IntArrayList   instances = new IntArrayList();
+		IntArrayList   indices   = new IntArrayList();
+		FloatArrayList values    = new FloatArrayList();
+		
+		// gather the sparse feature-index vectors into one batch
+		Iterator<IndexValuePair> it;
+		IndexValuePair p;
+		Vector x;
+		
+		for (i=0; i<size; i++)
+		{
+			x  = xs.get(i);
+			it = (x instanceof SparseVector) ? ((SparseVector)x).sparseIterator() : x.iterator();
+			
+			while (it.hasNext())
+			{
+				p = it.next();
+				
+				if (p.getIndex() < feature_size)
+				{
+					instances.add(i);
+					indices  .add(p.getIndex());
+					values   .add(p.getValue());
+				}
+			}
+		}
+		
+		// bucket the batch by weight blocks (counting sort)
+		int   blockSize = Math.max(1, BLOCK_BYTES / (Float.BYTES * Math.max(1, label_size)));
+		int   total     = indices.size();
+		int[] offsets   = new int[feature_size / blockSize + 2];
+		int[] order     = new int[total];
+		
+		for (j=0; j<total; j++) offsets[indices.getInt(j) / blockSize + 1]++;
+		for (j=1; j<offsets.length; j++) offsets[j] += offsets[j-1];
+		for (j=0; j<total; j++) order[offsets[indices.getInt(j) / blockSize]++] = j;
+		
+		// score block by block
+		double[] score;
+		float value;
+		
+		for (j=0; j<total; j++)
+		{
+			l     = order[j];
+			score = scores[instances.getInt(l)];
+			index = indexOf(indices.getInt(l));
+			value = values.getFloat(l);
 			
 			for (i=0; i<label_size; i++)
-				scores[i] /= sum;
+				score[i] += weight_vector[index+i] * value;
+		}
+		
+		// the dense blocks are contiguous, so they are scored per vector
+		for (i=0; i<size; i++)
+		{
+			if (xs.get(i) instanceof SparseVector)
+				addDenseScores(scores[i], (SparseVector)xs.get(i));
+		}
+		
+		if (isRegression())
+		{
+			for (double[] s : scores)
+				normalize(s);
 		}
 		
 		return scores;
 	}
 	
+	/** Normalizes the scores into probabilities using softmax. */
+	private void normalize(double[] scores)
+	{
+		double sum = 0;
+		int i;
+		
+		for (i=0; i<label_size; i++)
+		{
+			scores[i] = FastMath.exp(scores[i]);
+			sum += scores[i];
+		}
+		
+		for (i=0; i<label_size; i++)
+			scores[i] /= sum;
+	}
+	
 	@Override
 	public Prediction predictBest(Vector x)
 	{
@@ -128,6 +247,22 @@ public class MultinomialWeightVector extends WeightVector
 		return new Prediction(label, scores[label]);
 	}
 	
+	@Override
+	public Prediction[] predictBest(List<? extends Vector> xs)
+	{
+		double[][] scores = scores(xs);
+		Prediction[] ps = new Prediction[scores.length];
+		int label;
+		
+		for (int i=0; i<ps.length; i++)
+		{
+			label = DSUtils.maxIndex(scores[i]);
+			ps[i] = new Prediction(label, scores[i][label]);
+		}
+		
+		return ps;
+	}
+	
 //	@Override
 //	public Pair<Prediction,Prediction> predictTop2(Vector x)
 //	{
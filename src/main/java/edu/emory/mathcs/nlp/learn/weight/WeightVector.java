@@ -17,6 +17,7 @@ package edu.emory.mathcs.nlp.learn.weight;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.List;
 
 import edu.emory.mathcs.nlp.learn.util.Prediction;
 import edu.emory.mathcs.nlp.learn.vector.IndexValuePair;
@@ -163,4 +164,48 @@ public abstract class WeightVector implements Serializable
 	
 	/** @return the best predicated label with respect to x. */
 	public abstract Prediction predictBest(Vector x);
+	
+	/** @return the top-k predictions with respect to x in descending order of their scores. */
+	public Prediction[] predictTop(Vector x, int k)
+	{
+		double[] scores = scores(x);
+		Prediction[] ps = new Prediction[Math.min(k, scores.length)];
+		int i, j, size = 0;
+		
+		for (i=0; i<scores.length; i++)
+		{
+			if (size == ps.length && scores[i] <= ps[size-1].getScore())
+				continue;
+			
+			// insertion sort into the top-k
+			for (j=(size < ps.length) ? size++ : size-1; j > 0 && ps[j-1].getScore() < scores[i]; j--)
+				ps[j] = ps[j-1];
+			
+			ps[j] = new Prediction(i, scores[i]);
+		}
+		
+		return ps;
+	}
+	
+	/** @return the scores of all labels with respect to each vector in xs. */
+	public double[][] scores(List<? extends Vector> xs)
+	{
+		double[][] scores = new double[xs.size()][];
+		
+		for (int i=0; i<scores.length; i++)
+			scores[i] = scores(xs.get(i));
+		
+		return scores;
+	}
+	
+	/** @return the best predicated label with respect to each vector in xs. */
+	public Prediction[] predictBest(List<? extends Vector> xs)
+	{
+		Prediction[] ps = new Prediction[xs.size()];
+		
+		for (int i=0; i<ps.length; i++)
+			ps[i] = predictBest(xs.get(i));
+		
+		return ps;
+	}
 }
@@ -16,29 +16,39 @@
 package edu.emory.mathcs.nlp.vsm;
 
 import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.kohsuke.args4j.Option;
 
 import edu.emory.mathcs.nlp.common.random.XORShiftRandom;
 import edu.emory.mathcs.nlp.common.util.BinUtils;
 import edu.emory.mathcs.nlp.common.util.FileUtils;
-import edu.emory.mathcs.nlp.common.util.IOUtils;
 import edu.emory.mathcs.nlp.common.util.MathUtils;
 import edu.emory.mathcs.nlp.common.util.Sigmoid;
 import edu.emory.mathcs.nlp.vsm.optimizer.HierarchicalSoftmax;
 import edu.emory.mathcs.nlp.vsm.optimizer.NegativeSampling;
 import edu.emory.mathcs.nlp.vsm.optimizer.Optimizer;
+import edu.emory.mathcs.nlp.vsm.reader.InputShard;
+import edu.emory.mathcs.nlp.vsm.reader.Reader;
 import edu.emory.mathcs.nlp.vsm.reader.SentenceReader;
+import edu.emory.mathcs.nlp.vsm.util.Checkpoint;
+import edu.emory.mathcs.nlp.vsm.util.CheckpointWriter;
+import edu.emory.mathcs.nlp.vsm.util.SubwordVectors;
 import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
+import edu.emory.mathcs.nlp.vsm.util.Word;
+import edu.emory.mathcs.nlp.vsm.util.WordVectors;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
@@ -69,25 +79,54 @@ public class Word2Vec
 	int min_count = 5;
 	@Option(name="-alpha", usage="initial learning rate (default: 0.025 for skip-gram; use 0.05 for CBOW).", required=false, metaVar="<double>")
 	double alpha_init = 0.025;
-	@Option(name="-binary", usage="If set, save the resulting vectors in binary moded.", required=false, metaVar="<boolean>")
+	@Option(name="-binary", usage="If set, save the resulting vectors in the binary format of word2vec.", required=false, metaVar="<boolean>")
 	boolean binary = false;
 	@Option(name="-cbow", usage="If set, use the continuous bag-of-words model instead of the skip-gram model.", required=false, metaVar="<boolean>")
 	boolean cbow = false;
+	@Option(name="-report", usage="interval in seconds between progress reports (default: 10); no report if 0.", required=false, metaVar="<int>")
+	int report_interval = 10;
+	@Option(name="-vocab-capacity", usage="max number of distinct words kept while counting the vocabulary, split evenly across the threads and also bounding the merged vocabulary (default: 21000000). Infrequent words are removed beyond it and their counts are estimated; if 0, all words are counted exactly.", required=false, metaVar="<int>")
+	int vocab_capacity = Reader.VOCAB_REDUCE_SIZE;
+	@Option(name="-checkpoint", usage="file to save checkpoints to; if it exists, training resumes from it (default: none).", required=false, metaVar="<filename>")
+	String checkpoint_file = null;
+	@Option(name="-checkpoint-interval", usage="interval in seconds between checkpoints (default: 1800).", required=false, metaVar="<int>")
+	int checkpoint_interval = 1800;
+	@Option(name="-subword", usage="If set, each input vector is the average of the vectors of the word and its character n-grams, which are also saved to <output>.subword.", required=false, metaVar="<boolean>")
+	boolean subword = false;
+	@Option(name="-minn", usage="min-length of character n-grams for -subword (default: 3).", required=false, metaVar="<int>")
+	int subword_min = 3;
+	@Option(name="-maxn", usage="max-length of character n-grams for -subword (default: 6).", required=false, metaVar="<int>")
+	int subword_max = 6;
+	@Option(name="-bucket", usage="number of buckets that character n-grams are hashed into for -subword (default: 2000000).", required=false, metaVar="<int>")
+	int subword_bucket = 2000000;
 	
 	final double ALPHA_MIN_RATE  = 0.0001;      
 	final int    MAX_CODE_LENGTH = 40;
+	/** The number of words each thread processes before adding its count to {@link #word_count_global} and updating the learning rate. */
+	final int    ALPHA_UPDATE_INTERVAL = 10000;
 	
 	Sigmoid sigmoid;
 	Vocabulary vocab;
 	long word_count_train;
 	double subsample_size;
 	Optimizer optimizer;
+	SubwordVectors subword_vectors;	// null unless subword
+	/** The input rows of the i'th word are subword_rows[subword_offsets[i], subword_offsets[i+1]) in one flat array. */
+	int[] subword_rows, subword_offsets;
+	long train_time;	// nanoseconds spent on training vectors
 	
-	volatile long word_count_global;	// word count dynamically updated by all threads
-	volatile double alpha_global;		// learning rate dynamically updated by all threads
+	LongAdder word_count_global;		// word count periodically added by all threads
+	long word_count_resumed;			// word count restored from the checkpoint
+	volatile double alpha_global;		// learning rate recomputed from the word count every ALPHA_UPDATE_INTERVAL words per thread
 	volatile public float[] W;			// weights between the input and the hidden layers
 	volatile public float[] V;			// weights between the hidden and the output layers
 	
+	/** Options are set directly and {@link #train(List)} is called separately (e.g., by benchmarks). */
+	Word2Vec()
+	{
+		sigmoid = new Sigmoid();
+	}
+	
 	public Word2Vec(String[] args)
 	{
 		BinUtils.initArgs(args, this);
@@ -104,25 +143,51 @@ public class Word2Vec
 	
 	public void train(List<String> filenames) throws Exception
 	{
-		BinUtils.LOG.info("Reading vocabulary:\n");
-		vocab = new Vocabulary();
-		word_count_train = new SentenceReader().learn(filenames, vocab, min_count);
-		BinUtils.LOG.info(String.format("- types = %d, tokens = %d\n", vocab.size(), word_count_train));
+		List<InputShard> shards = InputShard.split(filenames, thread_size);
+		Checkpoint checkpoint = loadCheckpoint(shards);
 		
-		BinUtils.LOG.info("Initializing neural network.\n");
-		initNeuralNetwork();
+		if (checkpoint != null)
+		{
+			BinUtils.LOG.info("Resuming from "+checkpoint_file+":\n");
+			vocab = checkpoint.vocab;
+			word_count_train = checkpoint.word_count_train;
+			W = checkpoint.W;
+			V = checkpoint.V;
+			BinUtils.LOG.info(String.format("- types = %d, tokens = %d\n", vocab.size(), word_count_train));
+			if (subword) initSubword();
+		}
+		else
+		{
+			BinUtils.LOG.info("Reading vocabulary:\n");
+			vocab = new Vocabulary();
+			word_count_train = new SentenceReader().learn(filenames, vocab, min_count, thread_size, vocab_capacity);
+			BinUtils.LOG.info(String.format("- types = %d, tokens = %d\n", vocab.size(), word_count_train));
+			
+			BinUtils.LOG.info("Initializing neural network.\n");
+			initNeuralNetwork();
+		}
 		
 		BinUtils.LOG.info("Initializing optimizer.\n");
-		optimizer = isNegativeSampling() ? new NegativeSampling(vocab, sigmoid, vector_size, negative_size) : new HierarchicalSoftmax(vocab, sigmoid, vector_size);
+		optimizer = createOptimizer();
 
 		BinUtils.LOG.info("Training vectors:");
-		word_count_global = 0;
+		word_count_global = new LongAdder();
 		alpha_global      = alpha_init;
 		subsample_size    = subsample_threshold * word_count_train;
 		ExecutorService executor = Executors.newFixedThreadPool(thread_size);
+		TrainTask[] tasks = new TrainTask[shards.size()];
+		
+		for (int i=0; i<tasks.length; i++)
+			tasks[i] = new TrainTask(i, shards.get(i), (checkpoint != null) ? checkpoint.progress[i] : null);
 		
-		for (String filename : filenames)
-			executor.execute(new TrainTask(filename));
+		word_count_resumed = word_count_global.sum();
+		if (checkpoint != null) adjustLearningRate();
+		long st = System.nanoTime();
+		ScheduledExecutorService reporter = startReporter(st, shards.size());
+		CheckpointWriter checkpointer = startCheckpointWriter(shards, tasks);
+		
+		for (TrainTask task : tasks)
+			executor.execute(task);
 		
 		executor.shutdown();
 		
@@ -132,40 +197,80 @@ public class Word2Vec
 		}
 		catch (InterruptedException e) {e.printStackTrace();}
 		
+		if (reporter != null) reporter.shutdownNow();
+		if (checkpointer != null) checkpointer.close();
+		train_time = System.nanoTime() - st;
+		BinUtils.LOG.info(String.format("- %d words in %.1f seconds\n", word_count_global.sum(), train_time / 1e9));
 		BinUtils.LOG.info("Saving word vectors.\n");
 		saveModel();
 	}
 	
+	/** Trains on one shard, which is re-opened at every iteration. */
 	class TrainTask implements Runnable
 	{
-		private String filename;
+		private InputShard shard;
+		private int id;
+		/** The number of words read by this task, which is added to {@link Word2Vec#word_count_global} every {@link Word2Vec#ALPHA_UPDATE_INTERVAL} words. */
+		private long word_count;
+		private long last_word_count;
+		/** The number of iterations completed and the number of sentences read in the current iteration. */
+		private int  iteration;
+		private long sentence_count;
+		/** {iteration, sentence_count, word_count} as of the last {@link #addWordCount()}, taken by checkpoints; all sentences counted are already trained. */
+		volatile long[] progress;
 		
-		public TrainTask(String filename)
+		/** @param progress the progress to resume from ({@link Checkpoint#progress}); null to start from the beginning. */
+		public TrainTask(int id, InputShard shard, long[] progress)
 		{
-			this.filename = filename;
+			this.id    = id;
+			this.shard = shard;
+			
+			if (progress != null)
+			{
+				iteration       = (int)progress[0];
+				sentence_count  = progress[1];
+				word_count      = progress[2];
+				last_word_count = word_count;
+				word_count_global.add(word_count);
+			}
+			
+			this.progress = new long[]{iteration, sentence_count, word_count};
 		}
 		
 		@Override
 		public void run()
 		{
-			SentenceReader reader = new SentenceReader(IOUtils.createFileInputStream(filename));
-			Random  rand  = new XORShiftRandom(filename.hashCode());
-			float[] neu1  = cbow ? new float[vector_size] : null;
+			try
+			{
+				train();
+			}
+			catch (IOException e) {e.printStackTrace();}
+		}
+		
+		private void train() throws IOException
+		{
+			if (iteration >= train_iteration) return;
+			SentenceReader reader = new SentenceReader(shard.open());
+			Random  rand  = new XORShiftRandom(id + 1);
+			float[] neu1  = (cbow || subword) ? new float[vector_size] : null;
 			float[] neu1e = new float[vector_size];
-			int     iter  = 0;
 			int     index, window;
 			int[]   words;
 			
+			// skips the sentences already trained in the current iteration when resumed
+			for (long i=0; i<sentence_count; i++) reader.next();
+			
 			while (true)
 			{
 				words = next(reader, rand);
 				
 				if (words == null)
 				{
-					BinUtils.LOG.info(String.format("%s: %d\n", FileUtils.getBaseName(filename), iter));
-					if (++iter == train_iteration) break;
-					adjustLearningRate();
-					reader.close(); reader.open(IOUtils.createFileInputStream(filename));
+					iteration++;
+					sentence_count = 0;
+					addWordCount();
+					if (iteration == train_iteration) break;
+					reader.close(); reader.open(shard.open());
 					continue;
 				}
 				
@@ -176,29 +281,91 @@ public class Word2Vec
 					Arrays.fill(neu1e, 0);
 					
 					if (cbow) bagOfWords(words, index, window, rand, neu1e, neu1);
-					else      skipGram  (words, index, window, rand, neu1e);
+					else      skipGram  (words, index, window, rand, neu1e, neu1);
+				}
+				
+				// published after the sentence is trained so a checkpoint never counts a sentence that is not in its weights
+				if (word_count - last_word_count > ALPHA_UPDATE_INTERVAL) addWordCount();
+			}
+			
+			reader.close();
+		}
+		
+		/** Adds the words read since the last call to the global count and updates the learning rate as word2vec does. */
+		private void addWordCount()
+		{
+			word_count_global.add(word_count - last_word_count);
+			last_word_count = word_count;
+			progress = new long[]{iteration, sentence_count, word_count};
+			adjustLearningRate();
+		}
+		
+		/** @return the indices of the next sentence after sub-sampling if exists; otherwise, null. */
+		int[] next(SentenceReader reader, Random rand)
+		{
+			String[] words = reader.next();
+			if (words == null) return null;
+			sentence_count++;
+			int[] next = new int[words.length];
+			int i, j, index;
+			double d;
+			
+			for (i=0,j=0; i<words.length; i++)
+			{
+				index = vocab.indexOf(words[i]);
+				if (index < 0) continue;
+				word_count++;
+				
+				// sub-sampling: randomly discards frequent words
+				if (subsample_threshold > 0)
+				{
+					d = (Math.sqrt(MathUtils.divide(vocab.get(index).count, subsample_size)) + 1) * (subsample_size / vocab.get(index).count);
+					if (d < rand.nextDouble()) continue;
 				}
+				
+				next[j++] = index;
 			}
+			
+			return (j == 0) ? next(reader, rand) : (j == words.length) ? next : Arrays.copyOf(next, j);
 		}
 	}
 	
 	void adjustLearningRate()
 	{
-		double rate = Math.max(ALPHA_MIN_RATE, 1 - MathUtils.divide(word_count_global, train_iteration * word_count_train + 1));
+		double rate = Math.max(ALPHA_MIN_RATE, 1 - MathUtils.divide(word_count_global.sum(), train_iteration * word_count_train + 1));
 		alpha_global = alpha_init * rate;
 	}
 	
+	/** @return the executor reporting the progress every {@link #report_interval} seconds; null if no report. */
+	ScheduledExecutorService startReporter(long startTime, int threadSize)
+	{
+		if (report_interval <= 0) return null;
+		ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+		reporter.scheduleAtFixedRate(() -> report(startTime, threadSize), report_interval, report_interval, TimeUnit.SECONDS);
+		return reporter;
+	}
+	
+	/** Reports the progress, the speed, the current learning rate, and the estimated time to finish. */
+	void report(long startTime, int threadSize)
+	{
+		long   count   = word_count_global.sum();
+		double seconds = (System.nanoTime() - startTime) / 1e9;
+		double total   = (double)train_iteration * word_count_train;
+		double speed   = (count - word_count_resumed) / seconds;
+		double eta     = (speed > 0) ? (total - count) / speed : 0;
+		
+		BinUtils.LOG.info(String.format("- progress: %5.2f%%, alpha: %.6f, words/sec/thread: %.1f, eta: %02d:%02d:%02d\n", 100 * count / total, alpha_global, speed / threadSize, (long)eta / 3600, (long)eta / 60 % 60, (long)eta % 60));
+	}
+	
 	void bagOfWords(int[] words, int index, int window, Random rand, float[] neu1e, float[] neu1)
 	{
-		int i, j, k, l, wc = 0, word = words[index];
+		int i, j, k, wc = 0, word = words[index];
 
 		// input -> hidden
 		for (i=-window,j=index+i; i<=window; i++,j++)
 		{
 			if (i == 0 || words.length <= j || j < 0) continue;
-			l = words[j] * vector_size;
-			for (k=0; k<vector_size; k++) neu1[k] += W[k+l];
-			wc++;
+			wc += addInput(words[j], neu1);
 		}
 		
 		if (wc == 0) return;
@@ -209,25 +376,122 @@ public class Word2Vec
 		for (i=-window,j=index+i; i<=window; i++,j++)
 		{
 			if (i == 0 || words.length <= j || j < 0) continue;
-			l = words[j] * vector_size;
-			for (k=0; k<vector_size; k++) W[k+l] += neu1e[k];
+			addGradient(words[j], neu1e);
 		}
 	}
 	
-	void skipGram(int[] words, int index, int window, Random rand, float[] neu1e)
+	/** @param neu1 the hidden layer composed of the input rows of each context word; used only if {@link #subword}. */
+	void skipGram(int[] words, int index, int window, Random rand, float[] neu1e, float[] neu1)
 	{
-		int i, j, k, l1, word = words[index];
+		int i, j, k, l1, n, word = words[index];
 		
 		for (i=-window,j=index+i; i<=window; i++,j++)
 		{
 			if (i == 0 || words.length <= j || j < 0) continue;
-			l1 = words[j] * vector_size;
 			Arrays.fill(neu1e, 0);
-			optimizer.learnSkipGram(rand, word, W, V, neu1e, alpha_global, l1);
 			
-			// hidden -> input
-			for (k=0; k<vector_size; k++) W[l1+k] += neu1e[k];
+			if (subword_rows == null)
+			{
+				l1 = words[j] * vector_size;
+				optimizer.learnSkipGram(rand, word, W, V, neu1e, alpha_global, l1);
+				
+				// hidden -> input
+				Optimizer.axpy(1, neu1e, 0, W, l1, vector_size);
+			}
+			else
+			{
+				Arrays.fill(neu1, 0);
+				n = addInput(words[j], neu1);
+				for (k=0; k<vector_size; k++) neu1[k] /= n;
+				optimizer.learnSkipGram(rand, word, neu1, V, neu1e, alpha_global, 0);
+				addGradient(words[j], neu1e);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the input rows of the word to the hidden layer.
+	 * @return the number of rows added.
+	 */
+	int addInput(int word, float[] neu1)
+	{
+		if (subword_rows == null)
+		{
+			Optimizer.axpy(1, W, word * vector_size, neu1, 0, vector_size);
+			return 1;
+		}
+		
+		int begin = subword_offsets[word], end = subword_offsets[word+1];
+		
+		for (int i=begin; i<end; i++)
+			Optimizer.axpy(1, W, subword_rows[i] * vector_size, neu1, 0, vector_size);
+		
+		return end - begin;
+	}
+	
+	/** Adds the gradient to every input row of the word. */
+	void addGradient(int word, float[] neu1e)
+	{
+		if (subword_rows == null)
+		{
+			Optimizer.axpy(1, neu1e, 0, W, word * vector_size, vector_size);
+			return;
 		}
+		
+		for (int i=subword_offsets[word]; i<subword_offsets[word+1]; i++)
+			Optimizer.axpy(1, neu1e, 0, W, subword_rows[i] * vector_size, vector_size);
+	}
+	
+//	=================================== Checkpoint ===================================
+	
+	/** @return the checkpoint to resume from if {@link #checkpoint_file} exists; otherwise, null. */
+	Checkpoint loadCheckpoint(List<InputShard> shards) throws IOException
+	{
+		if (checkpoint_file == null || !new File(checkpoint_file).isFile()) return null;
+		Checkpoint checkpoint = Checkpoint.load(checkpoint_file);
+		
+		if (checkpoint.vector_size != vector_size || checkpoint.W.length != getInputSize(checkpoint.vocab.size()) || !Arrays.equals(checkpoint.shard_sizes, getShardSizes(shards)))
+			throw new IOException("The checkpoint does not match the vector size, the subword buckets, the training files, or the number of threads: "+checkpoint_file);
+		
+		return checkpoint;
+	}
+	
+	/** @return the writer taking a checkpoint every {@link #checkpoint_interval} seconds; null if no checkpoint. */
+	CheckpointWriter startCheckpointWriter(List<InputShard> shards, TrainTask[] tasks)
+	{
+		if (checkpoint_file == null || checkpoint_interval <= 0) return null;
+		long[] shardSizes = getShardSizes(shards);
+		CheckpointWriter writer = new CheckpointWriter(checkpoint_file, c -> snapshot(c, shardSizes, tasks));
+		writer.start(checkpoint_interval);
+		return writer;
+	}
+	
+	/** Copies the current state into the checkpoint while training continues; the progress is taken before the weights so no training is skipped when resumed. */
+	void snapshot(Checkpoint checkpoint, long[] shardSizes, TrainTask[] tasks)
+	{
+		long[][] progress = new long[tasks.length][];
+		for (int i=0; i<tasks.length; i++) progress[i] = tasks[i].progress;
+		
+		checkpoint.vocab            = vocab;
+		checkpoint.word_count_train = word_count_train;
+		checkpoint.vector_size      = vector_size;
+		checkpoint.alpha            = alpha_global;
+		checkpoint.shard_sizes      = shardSizes;
+		checkpoint.progress         = progress;
+		checkpoint.W = copy(W, checkpoint.W);
+		checkpoint.V = copy(V, checkpoint.V);
+	}
+	
+	private float[] copy(float[] source, float[] target)
+	{
+		if (target == null || target.length != source.length) target = new float[source.length];
+		System.arraycopy(source, 0, target, 0, source.length);
+		return target;
+	}
+	
+	private long[] getShardSizes(List<InputShard> shards)
+	{
+		return shards.stream().mapToLong(InputShard::size).toArray();
 	}
 	
 //	=================================== Helper Methods ===================================
@@ -237,71 +501,119 @@ public class Word2Vec
 		return negative_size > 0;
 	}
 	
+	Optimizer createOptimizer()
+	{
+		return isNegativeSampling() ? new NegativeSampling(vocab, sigmoid, vector_size, negative_size) : new HierarchicalSoftmax(vocab, sigmoid, vector_size);
+	}
+	
 	/** Initializes weights between the input layer to the hidden layer using random numbers between [-0.5, 0.5]. */
 	void initNeuralNetwork()
 	{
 		int size = vocab.size() * vector_size;
 		Random rand = new XORShiftRandom(1);
 
-		W = new float[size];
+		W = new float[getInputSize(vocab.size())];
 		V = new float[size];
 		
-		for (int i=0; i<size; i++)
+		for (int i=0; i<W.length; i++)
 			W[i] = (float)((rand.nextDouble() - 0.5) / vector_size);
+		
+		if (subword) initSubword();
+	}
+	
+	/** @return the size of {@link #W}, which includes the rows of the n-gram buckets if {@link #subword}. */
+	int getInputSize(int vocabSize)
+	{
+		return (vocabSize + (subword ? subword_bucket : 0)) * vector_size;
 	}
 	
-	int[] next(SentenceReader reader, Random rand)
+	/** Computes the input rows of all words once so training reads them from one flat array. */
+	void initSubword()
 	{
-		String[] words = reader.next();
-		if (words == null) return null;
-		int[] next = new int[words.length];
-		int i, j, index, count = 0;
-		double d;
+		subword_vectors = new SubwordVectors(getWords(), vector_size, subword_min, subword_max, subword_bucket);
+		subword_vectors.setVectors(W);
+		subword_offsets = new int[vocab.size()+1];
+		int[][] rows = new int[vocab.size()][];
 		
-		for (i=0,j=0; i<words.length; i++)
+		for (int i=0; i<rows.length; i++)
 		{
-			index = vocab.indexOf(words[i]);
-			if (index < 0) continue;
-			count++;
-			
-			// sub-sampling: randomly discards frequent words
-			if (subsample_threshold > 0)
-			{
-				d = (Math.sqrt(MathUtils.divide(vocab.get(index).count, subsample_size)) + 1) * (subsample_size / vocab.get(index).count);
-				if (d < rand.nextDouble()) continue;
-			}
-			
-			next[j++] = index;
+			rows[i] = subword_vectors.getRows(vocab.get(i).form);
+			subword_offsets[i+1] = subword_offsets[i] + rows[i].length;
 		}
 		
-		word_count_global += count;
-		return (j == 0) ? next(reader, rand) : (j == words.length) ? next : Arrays.copyOf(next, j);
+		subword_rows = new int[subword_offsets[rows.length]];
+		
+		for (int i=0; i<rows.length; i++)
+			System.arraycopy(rows[i], 0, subword_rows, subword_offsets[i], rows[i].length);
 	}
 	
 	void saveModel() throws IOException
 	{
-		PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output_file)));
-		save(out, binary);
-		out.close();
+		if (binary)
+			WordVectors.write(output_file, getWords(), getWordVectors(), vector_size);
+		else
+		{
+			PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output_file), 1 << 24));
+			save(out);
+			out.close();
+		}
+		
+		if (subword_vectors != null) subword_vectors.save(output_file+".subword");
 	}
 	
-	public void save(PrintStream out, boolean binary)
+	/** @return the vectors of the words in the vocabulary; if {@link #subword}, each vector is the average of its input rows. */
+	public float[] getWordVectors()
 	{
-		out.printf("%d %d\n", vocab.size(), vector_size);
+		if (subword_vectors == null) return W;
+		float[] vectors = new float[vocab.size() * vector_size];
+		
+		for (int i=0; i<vocab.size(); i++)
+			subword_vectors.get(Arrays.copyOfRange(subword_rows, subword_offsets[i], subword_offsets[i+1]), vectors, i * vector_size);
+		
+		return vectors;
+	}
+	
+	/** @return the vector of the word, which is generated from its character n-grams if {@link #subword} and the word is unknown; otherwise, null if unknown. */
+	public float[] getVector(String word)
+	{
+		if (subword_vectors != null) return subword_vectors.get(word);
+		int index = vocab.indexOf(word);
+		return (index < 0) ? null : Arrays.copyOfRange(W, index * vector_size, (index+1) * vector_size);
+	}
+	
+	/** @return the words in the order of their vectors in {@link #getWordVectors()}. */
+	public List<String> getWords()
+	{
+		List<String> words = new ArrayList<>(vocab.size());
+		for (Word w : vocab.list()) words.add(w.form);
+		return words;
+	}
+	
+	public int getVectorSize()
+	{
+		return vector_size;
+	}
+	
+	/** Saves the vectors in the text format of word2vec; see {@link WordVectors#write(String, List, float[], int)} for the binary format. */
+	public void save(PrintStream out)
+	{
+		StringBuilder build = new StringBuilder();
+		float[] vectors = getWordVectors();
 		int i, j, l;
 		
+		out.printf("%d %d\n", vocab.size(), vector_size);
+		
 		for (i=0; i<vocab.size(); i++)
 		{
-			out.print(vocab.get(i).form);
+			build.setLength(0);
+			build.append(vocab.get(i).form);
 			l = i * vector_size;
 			
 			for (j=0; j<vector_size; j++)
-			{
-				if (binary)	out.print(" "+Long.toBinaryString(Double.doubleToRawLongBits(W[j+l])));
-				else		out.print(" "+W[j+l]);
-			}
+				build.append(' ').append(vectors[j+l]);
 			
-			out.println();
+			build.append('\n');
+			out.append(build);
 		}
 	}
 }
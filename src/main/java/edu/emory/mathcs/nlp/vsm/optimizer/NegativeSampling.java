@@ -20,8 +20,6 @@ import java.util.Random;
 
 import edu.emory.mathcs.nlp.common.util.Sigmoid;
 import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
@@ -62,35 +60,37 @@ public class NegativeSampling extends Optimizer
 		return Math.pow(count, DIST_POWER);
 	}
 	
+	/** Negative samples are drawn straight into the updates without being deduplicated, as word2vec does. */
 	@Override
 	public void learnBagOfWords(Random rand, int word, float[] syn1, float[] neu1, float[] neu1e, double alpha)
 	{
 		learnBagOfWords(1, word, syn1, neu1, neu1e, alpha);
+		int target;
 		
-		for (int sample : getNegativeSamples(rand, word))
-			learnBagOfWords(0, sample, syn1, neu1, neu1e, alpha);
+		for (int i=0; i<sample_size; i++)
+		{
+			target = nextSample(rand);
+			if (target != word) learnBagOfWords(0, target, syn1, neu1, neu1e, alpha);
+		}
 	}
 	
+	/** Negative samples are drawn straight into the updates without being deduplicated, as word2vec does. */
 	@Override
 	public void learnSkipGram(Random rand, int word, float[] syn0, float[] syn1, float[] neu1e, double alpha, int l1)
 	{
 		learnSkipGram(1, word, syn0, syn1, neu1e, alpha, l1);
+		int target;
 		
-		for (int sample : getNegativeSamples(rand, word))
-			learnSkipGram(0, sample, syn0, syn1, neu1e, alpha, l1);
+		for (int i=0; i<sample_size; i++)
+		{
+			target = nextSample(rand);
+			if (target != word) learnSkipGram(0, target, syn0, syn1, neu1e, alpha, l1);
+		}
 	}
 	
-	private int[] getNegativeSamples(Random rand, int word)
+	/** @return the index of a word drawn from the unigram distribution raised to {@link #DIST_POWER}. */
+	int nextSample(Random rand)
 	{
-		IntSet set = new IntOpenHashSet();
-		int target;
-
-		while (set.size() < sample_size)
-		{
-			target = dist_table[rand.nextInt(Integer.MAX_VALUE) % dist_table.length];
-			if (target != word) set.add(target);
-		}
-		
-		return set.toIntArray();
+		return dist_table[(rand.nextInt() >>> 1) % dist_table.length];
 	}
-}
\ No newline at end of file
+}
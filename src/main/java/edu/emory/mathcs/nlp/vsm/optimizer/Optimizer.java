@@ -41,37 +41,78 @@ public abstract class Optimizer
 	
 	protected void learnBagOfWords(int label, int word, float[] syn1, float[] neu1, float[] neu1e, double alpha)
 	{
-		int l = word * vector_size, k;
-		double score = 0, gradient;
+		int l = word * vector_size;
 		
 		// hidden -> output
-		for (k=0; k<vector_size; k++) score += neu1[k] * syn1[k+l];
-		gradient = (label - sigmoid.get(score)) * alpha;
+		float gradient = (float)((label - sigmoid.get(dot(neu1, 0, syn1, l, vector_size))) * alpha);
 		
 		if (gradient != 0)
 		{
 			// output -> hidden
-			for (k=0; k<vector_size; k++) neu1e[k] += syn1[k+l] * gradient;
+			axpy(gradient, syn1, l, neu1e, 0, vector_size);
 			// hidden -> output
-			for (k=0; k<vector_size; k++) syn1[k+l] += neu1[k] * gradient;
+			axpy(gradient, neu1, 0, syn1, l, vector_size);
 		}
 	}
 	
 	protected void learnSkipGram(int label, int word, float[] syn0, float[] syn1, float[] neu1e, double alpha, int l1)
 	{
-		int l2 = word * vector_size, k;
-		double score = 0, gradient;
+		int l2 = word * vector_size;
 		
 		// input -> output
-		for (k=0; k<vector_size; k++) score += syn0[k+l1] * syn1[k+l2];
-		gradient = (label - sigmoid.get(score)) * alpha;
+		float gradient = (float)((label - sigmoid.get(dot(syn0, l1, syn1, l2, vector_size))) * alpha);
 		
 		if (gradient != 0)
 		{
 			// output -> hidden
-			for (k=0; k<vector_size; k++) neu1e[k] += syn1[k+l2] * gradient;
+			axpy(gradient, syn1, l2, neu1e, 0, vector_size);
 			// input -> output
-			for (k=0; k<vector_size; k++) syn1[k+l2] += syn0[k+l1] * gradient;
+			axpy(gradient, syn0, l1, syn1, l2, vector_size);
 		}
 	}
+	
+//	=================================== Kernels ===================================
+	
+	/** If true, {@link #dot(float[], int, float[], int, int)} uses the plain loop instead of the unrolled one (-Dvsm.scalar=true). */
+	static public final boolean SCALAR = Boolean.getBoolean("vsm.scalar");
+	
+	/** @return the dot product of x[xi, xi+n) and y[yi, yi+n). */
+	static public float dot(float[] x, int xi, float[] y, int yi, int n)
+	{
+		return SCALAR ? dotScalar(x, xi, y, yi, n) : dotUnrolled(x, xi, y, yi, n);
+	}
+	
+	static public float dotScalar(float[] x, int xi, float[] y, int yi, int n)
+	{
+		float sum = 0;
+		for (int k=0; k<n; k++) sum += x[xi+k] * y[yi+k];
+		return sum;
+	}
+	
+	/**
+	 * Keeps 4 independent partial sums; the JIT does not reorder the floating-point additions of the plain loop,
+	 * so each addition there waits for the previous one.
+	 */
+	static public float dotUnrolled(float[] x, int xi, float[] y, int yi, int n)
+	{
+		float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int k, m = n & ~3;
+		
+		for (k=0; k<m; k+=4)
+		{
+			s0 += x[xi+k  ] * y[yi+k  ];
+			s1 += x[xi+k+1] * y[yi+k+1];
+			s2 += x[xi+k+2] * y[yi+k+2];
+			s3 += x[xi+k+3] * y[yi+k+3];
+		}
+		
+		for (; k<n; k++) s0 += x[xi+k] * y[yi+k];
+		return (s0 + s1) + (s2 + s3);
+	}
+	
+	/** y[yi, yi+n) += a * x[xi, xi+n); kept as a plain loop, which the JIT vectorizes (superword) by itself. */
+	static public void axpy(float a, float[] x, int xi, float[] y, int yi, int n)
+	{
+		for (int k=0; k<n; k++) y[yi+k] += a * x[xi+k];
+	}
 }
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.reader;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A sequence of byte ranges over the training files, where each range starts and ends at a line (sentence) boundary.
+ * {@link #split(List, int)} divides the files into shards of about the same number of bytes regardless of the file sizes,
+ * as the original word2vec does by seeking each thread to its own offset of the training file.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class InputShard
+{
+	private List<String> filenames;
+	private List<long[]> ranges;
+	
+	public InputShard()
+	{
+		filenames = new ArrayList<>();
+		ranges    = new ArrayList<>();
+	}
+	
+	/** Adds the byte range [start, end) of the file. */
+	public void add(String filename, long start, long end)
+	{
+		if (start >= end) return;
+		filenames.add(filename);
+		ranges.add(new long[]{start, end});
+	}
+	
+	/** @return the total number of bytes in this shard. */
+	public long size()
+	{
+		long size = 0;
+		for (long[] r : ranges) size += r[1] - r[0];
+		return size;
+	}
+	
+	/** @return a new stream over all ranges of this shard in order. */
+	public InputStream open() throws IOException
+	{
+		List<InputStream> streams = new ArrayList<>(ranges.size());
+		
+		for (int i=0; i<ranges.size(); i++)
+			streams.add(new RangeInputStream(filenames.get(i), ranges.get(i)[0], ranges.get(i)[1]));
+		
+		return new BufferedInputStream(new SequenceInputStream(Collections.enumeration(streams)), 1 << 16);
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder build = new StringBuilder();
+		
+		for (int i=0; i<ranges.size(); i++)
+		{
+			if (i > 0) build.append(", ");
+			build.append(new File(filenames.get(i)).getName()+"["+ranges.get(i)[0]+", "+ranges.get(i)[1]+")");
+		}
+		
+		return build.toString();
+	}
+	
+//	============================== SPLIT ==============================
+	
+	/** @return the files divided into the specific number of shards, where every shard but the last has at least total_bytes / size bytes. */
+	static public List<InputShard> split(List<String> filenames, int size) throws IOException
+	{
+		long[] lengths = new long[filenames.size()];
+		long total = 0, target, start;
+		int i;
+		
+		for (i=0; i<lengths.length; i++)
+			total += lengths[i] = new File(filenames.get(i)).length();
+		
+		List<InputShard> shards = new ArrayList<>(size);
+		InputShard shard = new InputShard();
+		long bytes = 0;
+		target = Math.max(1, (total + size - 1) / size);
+		
+		for (i=0; i<lengths.length; i++)
+		{
+			start = 0;
+			
+			try (FileChannel channel = FileChannel.open(Paths.get(filenames.get(i)), StandardOpenOption.READ))
+			{
+				while (start < lengths[i])
+				{
+					long end = (shards.size() == size - 1) ? lengths[i] : findLineEnd(channel, start + target - bytes, lengths[i]);
+					shard.add(filenames.get(i), start, end);
+					bytes += end - start;
+					start  = end;
+					
+					if (bytes >= target && shards.size() < size - 1)
+					{
+						shards.add(shard);
+						shard = new InputShard();
+						bytes = 0;
+					}
+				}
+			}
+		}
+		
+		if (shard.size() > 0 || shards.isEmpty()) shards.add(shard);
+		return shards;
+	}
+	
+	/** @return the position after the first newline at or after the offset if exists; otherwise, the size of the file. */
+	static long findLineEnd(FileChannel channel, long offset, long size) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+		int i;
+		
+		for (long start=offset; start<size; start+=buffer.limit())
+		{
+			buffer.clear();
+			if (channel.read(buffer, start) <= 0) break;
+			buffer.flip();
+			
+			for (i=0; i<buffer.limit(); i++)
+				if (buffer.get(i) == '\n') return start + i + 1;
+		}
+		
+		return size;
+	}
+	
+	/** Reads the byte range of a file by positional reads, ending with a newline so its last line is never joined with the first line of the next range. */
+	static private class RangeInputStream extends InputStream
+	{
+		private FileChannel channel;
+		private String filename;
+		private long position;
+		private long end;
+		/** True if the last byte read is a newline. */
+		private boolean newline;
+		
+		public RangeInputStream(String filename, long start, long end)
+		{
+			this.filename = filename;
+			this.position = start;
+			this.end      = end;
+		}
+		
+		@Override
+		public int read() throws IOException
+		{
+			byte[] b = new byte[1];
+			return (read(b, 0, 1) < 0) ? -1 : b[0] & 0xFF;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			if (len == 0) return 0;
+			
+			if (position >= end)
+			{
+				if (newline) return -1;
+				b[off] = '\n';
+				newline = true;
+				return 1;
+			}
+			
+			if (channel == null) channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+			int n = channel.read(ByteBuffer.wrap(b, off, (int)Math.min(len, end - position)), position);
+			
+			if (n < 0)
+			{
+				position = end;
+				return read(b, off, len);
+			}
+			
+			if (n > 0) newline = b[off+n-1] == '\n';
+			position += n;
+			return n;
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			if (channel != null) channel.close();
+			position = end;
+			newline  = true;
+		}
+	}
+}
@@ -15,20 +15,26 @@
  */
 package edu.emory.mathcs.nlp.vsm.reader;
 
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import edu.emory.mathcs.nlp.vsm.util.CountMinSketch;
 import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
 
 /**
  * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
  */
-public abstract class Reader<N>
+public abstract class Reader<N> implements Cloneable
 {
 	static public final int VOCAB_REDUCE_SIZE = 21000000;
+	/** The dimensions of the count-min sketch that keeps the counts of words removed from a shard by {@link Vocabulary#reduce(int, CountMinSketch)}. */
+	static public final int SKETCH_DEPTH = 4, SKETCH_WIDTH = 1 << 19;
 	public abstract void add(Vocabulary vocab, N[] nodes);
 	public abstract void open(InputStream in);
 	public abstract void close();
@@ -41,17 +47,105 @@ public abstract class Reader<N>
 	 */
 	public long learn(List<String> inputFiles, Vocabulary vocab, int minCount) throws IOException
 	{
+		return learn(inputFiles, vocab, minCount, 1, VOCAB_REDUCE_SIZE);
+	}
+	
+	/**
+	 * The training files are split into shards ({@link InputShard#split(List, int)}), whose words are counted in parallel
+	 * then merged in the order of the shards, so the vocabulary is the same as the one counted by a single thread.
+	 * The capacity is split evenly across the threads, and a shard whose number of distinct words exceeds its part is reduced to half of it
+	 * ({@link Vocabulary#reduce(int, CountMinSketch)}); the merged vocabulary is likewise reduced to half of the capacity whenever it exceeds the whole capacity.
+	 * The counts of the removed words are kept in a count-min sketch and added to the merged counts;
+	 * in this case, the counts become estimates that are never less than the true counts.
+	 * @param minCount words whose counts are less than this are discarded.
+	 * @param threadSize the number of shards counted in parallel.
+	 * @param capacity the max number of distinct words kept by all shards together, and by the merged vocabulary; if non-positive, all words are counted exactly.
+	 * @return the total number of word tokens learned.
+	 */
+	public long learn(List<String> inputFiles, Vocabulary vocab, int minCount, int threadSize, int capacity) throws IOException
+	{
+		List<InputShard> shards = InputShard.split(inputFiles, threadSize);
+		ExecutorService executor = Executors.newFixedThreadPool(threadSize);
+		List<Future<ShardCount>> futures = new ArrayList<>(shards.size());
+		int shardCapacity = (capacity > 0) ? Math.max(1, capacity / threadSize) : 0;
+		CountMinSketch sketch = null;
+		ShardCount count;
+		
+		for (InputShard shard : shards)
+			futures.add(executor.submit(() -> count(shard, shardCapacity)));
+		
+		executor.shutdown();
+		
+		try
+		{
+			for (Future<ShardCount> future : futures)
+			{
+				count = future.get();
+				vocab.merge(count.vocab);
+				
+				if (count.removed != null)
+				{
+					if (sketch == null) sketch = count.removed;
+					else sketch.merge(count.removed);
+				}
+				
+				if (capacity > 0 && vocab.size() > capacity)
+				{
+					if (sketch == null) sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+					vocab.reduce(capacity / 2, sketch);
+				}
+			}
+		}
+		catch (InterruptedException | ExecutionException e) {throw new IOException(e);}
+		finally {executor.shutdownNow();}
+		
+		if (sketch != null)
+		{
+			for (int i=0; i<vocab.size(); i++)
+				vocab.get(i).increment(sketch.get(vocab.get(i).form));
+		}
+		
+		return vocab.sort(minCount);
+	}
+	
+	private ShardCount count(InputShard shard, int capacity) throws IOException
+	{
+		Reader<N> reader = duplicate();
+		ShardCount count = new ShardCount();
 		N[] nodes;
 		
-		for (String inputFile : inputFiles)
+		reader.open(shard.open());
+		
+		while ((nodes = reader.next()) != null)
 		{
-			open(new BufferedInputStream(new FileInputStream(inputFile)));
-			while ((nodes = next()) != null) add(vocab, nodes);
-			if (vocab.size() > VOCAB_REDUCE_SIZE) vocab.reduce();
-			close();
+			reader.add(count.vocab, nodes);
+			
+			if (capacity > 0 && count.vocab.size() > capacity)
+			{
+				if (count.removed == null) count.removed = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+				count.vocab.reduce(capacity / 2, count.removed);
+			}
 		}
 		
-		long count = vocab.sort(minCount);
+		reader.close();
 		return count;
 	}
+	
+	/** @return a copy of this reader that can be opened independently. */
+	@SuppressWarnings("unchecked")
+	public Reader<N> duplicate()
+	{
+		try
+		{
+			return (Reader<N>)clone();
+		}
+		catch (CloneNotSupportedException e) {throw new IllegalStateException(e);}
+	}
+	
+	/** The words counted from one shard and the sketch of the words removed from them, if any. */
+	static private class ShardCount
+	{
+		Vocabulary     vocab = new Vocabulary();
+		CountMinSketch removed;
+	}
 }
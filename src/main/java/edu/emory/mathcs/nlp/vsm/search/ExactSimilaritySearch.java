@@ -0,0 +1,114 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import edu.emory.mathcs.nlp.vsm.util.WordVectors;
+
+/**
+ * Scans all vectors for every query; the vectors are divided into blocks scanned in parallel, whose top-k are merged.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ExactSimilaritySearch extends SimilaritySearch
+{
+	/** The number of vectors per block; 4096 vectors of 300 dimensions (~5MB) are scanned by one task. */
+	static public final int BLOCK_SIZE = 4096;
+	
+	public ExactSimilaritySearch(List<String> words, float[] vectors, int dimension)
+	{
+		super(words, vectors, dimension);
+	}
+	
+	public ExactSimilaritySearch(WordVectors map)
+	{
+		super(map);
+	}
+	
+	@Override
+	protected TopK search(float[] query, int k, int exclude)
+	{
+		return IntStream.range(0, getBlockCount()).parallel()
+				.mapToObj(b -> scan(new float[][]{query}, k, exclude, b)[0])
+				.reduce((t1, t2) -> {t1.addAll(t2); return t1;})
+				.orElse(new TopK(k));
+	}
+	
+	/**
+	 * Finds the nearest words of all queries together; each block of vectors is scanned once for all queries while it is in cache.
+	 * @return the k nearest words of each query in descending order of similarity; empty per query if k <= 0.
+	 */
+	public Neighbor[][] nearest(float[][] queries, int k)
+	{
+		if (k <= 0)
+		{
+			Neighbor[][] neighbors = new Neighbor[queries.length][];
+			Arrays.fill(neighbors, new Neighbor[0]);
+			return neighbors;
+		}
+		
+		float[][] units = new float[queries.length][];
+		
+		for (int i=0; i<queries.length; i++)
+		{
+			units[i] = Arrays.copyOf(queries[i], dimension);
+			normalize(units[i], 0, dimension);
+		}
+		
+		TopK[] tops = IntStream.range(0, getBlockCount()).parallel()
+				.mapToObj(b -> scan(units, k, -1, b))
+				.reduce((t1, t2) -> {for (int i=0; i<t1.length; i++) t1[i].addAll(t2[i]); return t1;})
+				.orElse(null);
+		
+		Neighbor[][] neighbors = new Neighbor[queries.length][];
+		
+		for (int i=0; i<queries.length; i++)
+			neighbors[i] = (tops != null) ? toNeighbors(tops[i]) : new Neighbor[0];
+		
+		return neighbors;
+	}
+	
+	/** @return the top-k of each query within the block'th block. */
+	private TopK[] scan(float[][] queries, int k, int exclude, int block)
+	{
+		int i, q, end = Math.min(size(), (block+1) * BLOCK_SIZE);
+		TopK[] tops = new TopK[queries.length];
+		float score;
+		
+		for (q=0; q<queries.length; q++)
+			tops[q] = new TopK(k);
+		
+		for (i=block*BLOCK_SIZE; i<end; i++)
+		{
+			if (i == exclude) continue;
+			
+			for (q=0; q<queries.length; q++)
+			{
+				score = score(queries[q], i);
+				if (score > tops[q].threshold()) tops[q].add(i, score);
+			}
+		}
+		
+		return tops;
+	}
+	
+	private int getBlockCount()
+	{
+		return (size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+	}
+}
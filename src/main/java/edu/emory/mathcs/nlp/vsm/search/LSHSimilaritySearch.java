@@ -0,0 +1,183 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import edu.emory.mathcs.nlp.common.random.XORShiftRandom;
+import edu.emory.mathcs.nlp.vsm.optimizer.Optimizer;
+import edu.emory.mathcs.nlp.vsm.util.WordVectors;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+
+/**
+ * Approximate search by random-projection LSH (Charikar, 2002).
+ * Each of the tables hashes a vector into the signs of its projections on random hyperplanes (one bit per hyperplane),
+ * so vectors with a small angle in between are likely to fall into the same bucket.
+ * A query looks up its own bucket and the buckets one bit away from it in every table (multi-probe),
+ * then ranks the candidates by their exact cosine similarities.
+ * More tables increase the recall; more bits per table decrease the number of candidates (and the recall).
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class LSHSimilaritySearch extends SimilaritySearch
+{
+	/** planes[(t*bit_size+b)*dimension, ...): the b'th hyperplane of the t'th table. */
+	private float[] planes;
+	/** bucket_keys[t]: the keys of all vectors in the t'th table in ascending order. */
+	private int[][] bucket_keys;
+	/** bucket_ids[t][i]: the index of the vector whose key is bucket_keys[t][i]. */
+	private int[][] bucket_ids;
+	private int     table_size;
+	private int     bit_size;
+	
+	/** The number of bits is {@link #getBitSize(int)}. */
+	public LSHSimilaritySearch(List<String> words, float[] vectors, int dimension, int tableSize)
+	{
+		this(words, vectors, dimension, tableSize, getBitSize(words.size()), 1);
+	}
+	
+	public LSHSimilaritySearch(List<String> words, float[] vectors, int dimension, int tableSize, int bitSize, int seed)
+	{
+		super(words, vectors, dimension);
+		build(tableSize, bitSize, seed);
+	}
+	
+	public LSHSimilaritySearch(WordVectors map, int tableSize, int bitSize, int seed)
+	{
+		super(map);
+		build(tableSize, bitSize, seed);
+	}
+	
+	/** @return log2(size / 16) so each bucket has about 16 vectors if the vectors are spread evenly. */
+	static public int getBitSize(int size)
+	{
+		return Math.max(1, Math.min(30, 31 - Integer.numberOfLeadingZeros(Math.max(1, size / 16))));
+	}
+	
+//	============================== BUILD ==============================
+	
+	private void build(int tableSize, int bitSize, int seed)
+	{
+		Random rand = new XORShiftRandom(seed);
+		table_size  = tableSize;
+		bit_size    = bitSize;
+		planes      = new float[tableSize * bitSize * dimension];
+		bucket_keys = new int[tableSize][];
+		bucket_ids  = new int[tableSize][];
+		
+		for (int i=0; i<planes.length; i++)
+			planes[i] = (float)rand.nextGaussian();
+		
+		IntStream.range(0, tableSize).parallel().forEach(this::buildTable);
+	}
+	
+	private void buildTable(int table)
+	{
+		long[] entries = new long[size()];
+		int i;
+		
+		// the key in the upper 32 bits and the index in the lower 32 bits so sorting groups the vectors by key
+		for (i=0; i<entries.length; i++)
+			entries[i] = ((long)getKey(vectors, i * dimension, table) << 32) | i;
+		
+		Arrays.sort(entries);
+		int[] keys = new int[entries.length];
+		int[] ids  = new int[entries.length];
+		
+		for (i=0; i<entries.length; i++)
+		{
+			keys[i] = (int)(entries[i] >>> 32);
+			ids [i] = (int)entries[i];
+		}
+		
+		bucket_keys[table] = keys;
+		bucket_ids [table] = ids;
+	}
+	
+	/** @return the signs of the projections of x[offset, offset+dimension) on the hyperplanes of the table as bits. */
+	private int getKey(float[] x, int offset, int table)
+	{
+		int key = 0, p = table * bit_size * dimension;
+		
+		for (int b=0; b<bit_size; b++,p+=dimension)
+			if (Optimizer.dot(planes, p, x, offset, dimension) > 0) key |= 1 << b;
+		
+		return key;
+	}
+	
+//	============================== SEARCH ==============================
+	
+	@Override
+	protected TopK search(float[] query, int k, int exclude)
+	{
+		IntOpenHashSet visited = new IntOpenHashSet();
+		TopK top = new TopK(k);
+		int key;
+		
+		for (int t=0; t<table_size; t++)
+		{
+			key = getKey(query, 0, t);
+			probe(query, exclude, t, key, visited, top);
+			
+			for (int b=0; b<bit_size; b++)
+				probe(query, exclude, t, key ^ (1 << b), visited, top);
+		}
+		
+		return top;
+	}
+	
+	private void probe(float[] query, int exclude, int table, int key, IntOpenHashSet visited, TopK top)
+	{
+		int[] keys = bucket_keys[table], ids = bucket_ids[table];
+		int i = lowerBound(keys, key), id;
+		float score;
+		
+		for (; i<keys.length && keys[i] == key; i++)
+		{
+			id = ids[i];
+			if (id == exclude || !visited.add(id)) continue;
+			score = score(query, id);
+			if (score > top.threshold()) top.add(id, score);
+		}
+	}
+	
+	/** @return the first position whose key is greater than or equal to the specific key. */
+	private int lowerBound(int[] keys, int key)
+	{
+		int lo = 0, hi = keys.length, mid;
+		
+		while (lo < hi)
+		{
+			mid = (lo + hi) >>> 1;
+			if (keys[mid] < key) lo = mid + 1;
+			else hi = mid;
+		}
+		
+		return lo;
+	}
+	
+	public int getTableSize()
+	{
+		return table_size;
+	}
+	
+	public int getBitSize()
+	{
+		return bit_size;
+	}
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class Neighbor implements Comparable<Neighbor>
+{
+	public String word;
+	public int    index;
+	public float  score;
+	
+	public Neighbor(String word, int index, float score)
+	{
+		this.word  = word;
+		this.index = index;
+		this.score = score;
+	}
+	
+	/** Sorts neighbors in descending order of their scores, then ascending order of their indices. */
+	@Override
+	public int compareTo(Neighbor o)
+	{
+		int c = Float.compare(o.score, score);
+		return (c != 0) ? c : Integer.compare(index, o.index);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return word+":"+score;
+	}
+}
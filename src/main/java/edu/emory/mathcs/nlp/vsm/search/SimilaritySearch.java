@@ -0,0 +1,152 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.emory.mathcs.nlp.vsm.optimizer.Optimizer;
+import edu.emory.mathcs.nlp.vsm.util.WordVectors;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Finds the words whose vectors are the most similar to a query in cosine similarity.
+ * All vectors are normalized to unit length into one contiguous array so the cosine similarity is a dot product.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public abstract class SimilaritySearch
+{
+	protected Object2IntOpenHashMap<String> index_map;
+	protected String[] words;
+	/** The i'th unit vector is vectors[i*dimension, (i+1)*dimension). */
+	protected float[]  vectors;
+	protected int      dimension;
+	
+	/** @param vectors the i'th vector is vectors[i*dimension, (i+1)*dimension); copied, not modified. */
+	public SimilaritySearch(List<String> words, float[] vectors, int dimension)
+	{
+		this.words     = words.toArray(new String[words.size()]);
+		this.vectors   = Arrays.copyOf(vectors, words.size() * dimension);
+		this.dimension = dimension;
+		init();
+	}
+	
+	public SimilaritySearch(WordVectors map)
+	{
+		words     = new String[map.size()];
+		vectors   = new float[map.size() * map.getDimension()];
+		dimension = map.getDimension();
+		
+		for (int i=0; i<words.length; i++)
+		{
+			words[i] = map.getWord(i);
+			map.get(i, vectors, i * dimension);
+		}
+		
+		init();
+	}
+	
+	private void init()
+	{
+		index_map = new Object2IntOpenHashMap<>(words.length);
+		index_map.defaultReturnValue(-1);
+		
+		for (int i=0; i<words.length; i++)
+		{
+			index_map.putIfAbsent(words[i], i);
+			normalize(vectors, i * dimension, dimension);
+		}
+	}
+	
+	/** Scales x[offset, offset+n) to unit length unless it is a zero vector. */
+	static public void normalize(float[] x, int offset, int n)
+	{
+		float norm = (float)Math.sqrt(Optimizer.dot(x, offset, x, offset, n));
+		if (norm > 0) for (int k=0; k<n; k++) x[offset+k] /= norm;
+	}
+	
+//	============================== SEARCH ==============================
+	
+	/** @return the k nearest words to the word, excluding itself, in descending order of similarity; null if the word is unknown, empty if k <= 0. */
+	public Neighbor[] nearest(String word, int k)
+	{
+		int index = indexOf(word);
+		if (index < 0) return null;
+		if (k <= 0) return new Neighbor[0];
+		float[] query = Arrays.copyOfRange(vectors, index * dimension, (index+1) * dimension);
+		return toNeighbors(search(query, k, index));
+	}
+	
+	/** @return the k nearest words to the query vector in descending order of similarity; empty if k <= 0. */
+	public Neighbor[] nearest(float[] query, int k)
+	{
+		if (k <= 0) return new Neighbor[0];
+		query = Arrays.copyOf(query, dimension);
+		normalize(query, 0, dimension);
+		return toNeighbors(search(query, k, -1));
+	}
+	
+	/**
+	 * @param query a unit vector.
+	 * @param exclude the index of the word to skip; -1 if none.
+	 */
+	protected abstract TopK search(float[] query, int k, int exclude);
+	
+	/** @return the cosine similarity between the unit query and the index'th vector. */
+	protected float score(float[] query, int index)
+	{
+		return Optimizer.dot(query, 0, vectors, index * dimension, dimension);
+	}
+	
+	protected Neighbor[] toNeighbors(TopK top)
+	{
+		Neighbor[] neighbors = new Neighbor[top.size()];
+		int index;
+		
+		for (int i=0; i<neighbors.length; i++)
+		{
+			index = top.getIndex(i);
+			neighbors[i] = new Neighbor(words[index], index, top.getScore(i));
+		}
+		
+		Arrays.sort(neighbors);
+		return neighbors;
+	}
+	
+//	============================== GETTERS ==============================
+	
+	/** @return the index of the word if exists; otherwise, -1. */
+	public int indexOf(String word)
+	{
+		return index_map.getInt(word);
+	}
+	
+	public String getWord(int index)
+	{
+		return words[index];
+	}
+	
+	/** @return the number of words. */
+	public int size()
+	{
+		return words.length;
+	}
+	
+	public int getDimension()
+	{
+		return dimension;
+	}
+}
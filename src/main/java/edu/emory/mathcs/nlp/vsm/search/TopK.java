@@ -0,0 +1,92 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+/**
+ * Keeps the k highest scores with their indices in a min-heap so the lowest kept score is compared first.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class TopK
+{
+	private int[]   indices;
+	private float[] scores;
+	private int     size;
+	
+	public TopK(int k)
+	{
+		indices = new int  [k];
+		scores  = new float[k];
+	}
+	
+	/** @return the lowest score to beat if full; otherwise, negative infinity. */
+	public float threshold()
+	{
+		return (size < scores.length) ? Float.NEGATIVE_INFINITY : scores[0];
+	}
+	
+	public void add(int index, float score)
+	{
+		if (size < scores.length)
+		{
+			int i = size++;
+			
+			for (int p; i > 0 && scores[p = (i-1)/2] > score; i = p)
+			{
+				scores [i] = scores [p];
+				indices[i] = indices[p];
+			}
+			
+			scores [i] = score;
+			indices[i] = index;
+		}
+		else if (score > scores[0])
+		{
+			int i = 0, c;
+			
+			while ((c = 2*i+1) < size)
+			{
+				if (c+1 < size && scores[c+1] < scores[c]) c++;
+				if (scores[c] >= score) break;
+				scores [i] = scores [c];
+				indices[i] = indices[c];
+				i = c;
+			}
+			
+			scores [i] = score;
+			indices[i] = index;
+		}
+	}
+	
+	public void addAll(TopK top)
+	{
+		for (int i=0; i<top.size; i++) add(top.indices[i], top.scores[i]);
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public int getIndex(int i)
+	{
+		return indices[i];
+	}
+	
+	public float getScore(int i)
+	{
+		return scores[i];
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A snapshot of Word2Vec training: the vocabulary, the weights, the learning rate,
+ * and the progress of each training task (iterations, sentences, and words read).
+ * The file consists of the length of the serialized fields, the serialized fields, then the length and the raw little-endian floats of W and V.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class Checkpoint implements Serializable
+{
+	private static final long serialVersionUID = 2766431451106364587L;
+	static private final int BUFFER_SIZE = 1 << 24;
+	
+	public Vocabulary vocab;
+	public long       word_count_train;
+	public int        vector_size;
+	public double     alpha;
+	/** The sizes of the input shards in bytes, which must be the same to resume. */
+	public long[]     shard_sizes;
+	/** progress[i]: {iterations, sentences, words} read by the i'th task; see {@code Word2Vec.TrainTask}. */
+	public long[][]   progress;
+	public transient float[] W;
+	public transient float[] V;
+	
+//	============================== SAVE ==============================
+	
+	/** Writes to a temporary file first, then moves it to the specific file so the previous checkpoint remains valid until the new one is complete. */
+	public void save(String filename) throws IOException
+	{
+		Path path = Paths.get(filename).toAbsolutePath();
+		Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+		
+		try
+		{
+			try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {oos.writeObject(this);}
+				ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				
+				buffer.putInt(bytes.size());
+				flush(out, buffer);
+				write(out, ByteBuffer.wrap(bytes.toByteArray()));
+				write(out, buffer, W);
+				write(out, buffer, V);
+				out.force(false);
+			}
+			
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {Files.deleteIfExists(temp);}
+	}
+	
+	private void write(FileChannel out, ByteBuffer buffer, float[] array) throws IOException
+	{
+		buffer.putInt(array.length);
+		flush(out, buffer);
+		FloatBuffer floats = buffer.asFloatBuffer();
+		int n;
+		
+		for (int i=0; i<array.length; i+=n)
+		{
+			n = Math.min(floats.capacity(), array.length - i);
+			floats.clear();
+			floats.put(array, i, n);
+			buffer.clear().limit(n * Float.BYTES);
+			write(out, buffer);
+		}
+		
+		buffer.clear();
+	}
+	
+	private void flush(FileChannel out, ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+		write(out, buffer);
+		buffer.clear();
+	}
+	
+	private void write(FileChannel out, ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining()) out.write(buffer);
+	}
+	
+//	============================== LOAD ==============================
+	
+	static public Checkpoint load(String filename) throws IOException
+	{
+		try (FileChannel in = FileChannel.open(Paths.get(filename), StandardOpenOption.READ))
+		{
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			read(in, buffer, Integer.BYTES);
+			ByteBuffer bytes = ByteBuffer.allocate(buffer.getInt());
+			read(in, bytes, bytes.capacity());
+			Checkpoint checkpoint;
+			
+			try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.array())))
+			{
+				checkpoint = (Checkpoint)ois.readObject();
+			}
+			catch (ClassNotFoundException e) {throw new IOException(e);}
+			
+			checkpoint.W = read(in, buffer);
+			checkpoint.V = read(in, buffer);
+			return checkpoint;
+		}
+	}
+	
+	static private float[] read(FileChannel in, ByteBuffer buffer) throws IOException
+	{
+		read(in, buffer, Integer.BYTES);
+		float[] array = new float[buffer.getInt()];
+		int n, capacity = buffer.capacity() / Float.BYTES;
+		
+		for (int i=0; i<array.length; i+=n)
+		{
+			n = Math.min(capacity, array.length - i);
+			read(in, buffer, n * Float.BYTES);
+			buffer.asFloatBuffer().get(array, i, n);
+		}
+		
+		return array;
+	}
+	
+	/** Reads exactly the specific number of bytes into the buffer, which is then ready to be read from. */
+	static private void read(FileChannel in, ByteBuffer buffer, int size) throws IOException
+	{
+		buffer.clear().limit(size);
+		
+		while (buffer.hasRemaining())
+			if (in.read(buffer) < 0) throw new IOException("Truncated checkpoint");
+		
+		buffer.flip();
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import edu.emory.mathcs.nlp.common.util.BinUtils;
+
+/**
+ * Periodically takes snapshots into one of two checkpoint buffers and writes them to disk in the background,
+ * so a snapshot can be taken while the previous one is being written and training threads never wait for either.
+ * If both buffers are in use (the disk is slower than the interval), the snapshot is skipped.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CheckpointWriter implements Closeable
+{
+	private BlockingQueue<Checkpoint> buffers;
+	private ScheduledExecutorService  scheduler;
+	private ExecutorService           writer;
+	private Consumer<Checkpoint>      snapshot;
+	private String                    filename;
+	
+	/** @param snapshot fills the checkpoint with the current training state, reusing its arrays if possible. */
+	public CheckpointWriter(String filename, Consumer<Checkpoint> snapshot)
+	{
+		this.filename = filename;
+		this.snapshot = snapshot;
+		buffers = new ArrayBlockingQueue<>(2);
+		buffers.add(new Checkpoint());
+		buffers.add(new Checkpoint());
+		writer = Executors.newSingleThreadExecutor();
+	}
+	
+	/** Takes a snapshot every the specific number of seconds. */
+	public void start(int interval)
+	{
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+		scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * If taking the snapshot fails, the buffer is returned and the next checkpoint is still taken on schedule.
+	 * @return true if a snapshot is taken and queued to be written; false if both buffers are in use or the snapshot fails.
+	 */
+	public boolean checkpoint()
+	{
+		Checkpoint checkpoint = buffers.poll();
+		
+		if (checkpoint == null)
+		{
+			BinUtils.LOG.info("- checkpoint skipped: the previous one is still being written\n");
+			return false;
+		}
+		
+		try
+		{
+			snapshot.accept(checkpoint);
+			writer.execute(() -> write(checkpoint));
+			return true;
+		}
+		catch (RuntimeException e)
+		{
+			e.printStackTrace();
+			buffers.add(checkpoint);
+			return false;
+		}
+	}
+	
+	private void write(Checkpoint checkpoint)
+	{
+		try
+		{
+			long st = System.nanoTime();
+			checkpoint.save(filename);
+			BinUtils.LOG.info(String.format("- checkpoint saved in %.1f seconds\n", (System.nanoTime() - st) / 1e9));
+		}
+		catch (IOException e) {e.printStackTrace();}
+		finally {buffers.add(checkpoint);}
+	}
+	
+	/** Stops taking snapshots and waits until the queued ones are written. */
+	@Override
+	public void close()
+	{
+		try
+		{
+			if (scheduler != null)
+			{
+				scheduler.shutdown();
+				scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+			
+			writer.shutdown();
+			writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {e.printStackTrace();}
+	}
+}
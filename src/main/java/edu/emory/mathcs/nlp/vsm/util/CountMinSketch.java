@@ -0,0 +1,92 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import java.io.Serializable;
+
+/**
+ * Estimates the counts of strings in a fixed amount of memory (depth x width counters).
+ * An estimate is never less than the true count, and exceeds it by at most 2N/width with probability 1-(1/2)^depth,
+ * where N is the total count added to the sketch.
+ * Sketches of the same dimensions can be merged by adding their counters.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class CountMinSketch implements Serializable
+{
+	private static final long serialVersionUID = -2203785307960627612L;
+	private final long[] table;
+	private final int    depth;
+	private final int    mask;
+	
+	/** @param width the number of counters per row, rounded up to a power of 2. */
+	public CountMinSketch(int depth, int width)
+	{
+		width = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+		this.table = new long[depth * width];
+		this.depth = depth;
+		this.mask  = width - 1;
+	}
+	
+	public void add(String item, long count)
+	{
+		int h1 = item.hashCode(), h2 = mix(h1), width = mask + 1;
+		
+		for (int i=0; i<depth; i++)
+			table[i * width + ((h1 + i * h2) & mask)] += count;
+	}
+	
+	/** @return the estimated count of the item; 0 if the item has never been added. */
+	public long get(String item)
+	{
+		int h1 = item.hashCode(), h2 = mix(h1), width = mask + 1;
+		long min = Long.MAX_VALUE;
+		
+		for (int i=0; i<depth; i++)
+			min = Math.min(min, table[i * width + ((h1 + i * h2) & mask)]);
+		
+		return min;
+	}
+	
+	/** Adds the counters of the specific sketch, which must have the same dimensions, to this sketch. */
+	public void merge(CountMinSketch sketch)
+	{
+		if (sketch.depth != depth || sketch.mask != mask)
+			throw new IllegalArgumentException("Mismatch dimensions: "+sketch.depth+"x"+(sketch.mask+1)+" != "+depth+"x"+(mask+1));
+		
+		for (int i=0; i<table.length; i++) table[i] += sketch.table[i];
+	}
+	
+	public int getDepth()
+	{
+		return depth;
+	}
+	
+	public int getWidth()
+	{
+		return mask + 1;
+	}
+	
+	/** The second hash for double hashing; odd so that the rows probe different counters. */
+	private int mix(int h)
+	{
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h | 1;
+	}
+}
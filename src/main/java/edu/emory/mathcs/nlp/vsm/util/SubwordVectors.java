@@ -0,0 +1,173 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.emory.mathcs.nlp.vsm.optimizer.Optimizer;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Input vectors of words composed of their character n-grams (Bojanowski et al., 2017).
+ * The vector of a word is the average of its own row, if the word is in the vocabulary, and the rows of its n-grams,
+ * where each n-gram of "&lt;word&gt;" is hashed into one of the buckets; thus, vectors can be generated for unknown words.
+ * All rows are in one flat array: the rows of the words first, then the rows of the buckets.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SubwordVectors implements Serializable
+{
+	private static final long serialVersionUID = 4718092618457320415L;
+	static public final char BOW = '<', EOW = '>';
+	
+	private Object2IntOpenHashMap<String> index_map;
+	private int     word_size;
+	private int     bucket_size;
+	private int     min_length;
+	private int     max_length;
+	private int     dimension;
+	/** The i'th row is vectors[i*dimension, (i+1)*dimension). */
+	private float[] vectors;
+	
+	/**
+	 * @param minLength the min-length of character n-grams.
+	 * @param maxLength the max-length of character n-grams.
+	 * @param bucketSize the number of buckets for n-grams.
+	 */
+	public SubwordVectors(List<String> words, int dimension, int minLength, int maxLength, int bucketSize)
+	{
+		index_map = new Object2IntOpenHashMap<>(words.size());
+		index_map.defaultReturnValue(-1);
+		for (int i=0; i<words.size(); i++) index_map.putIfAbsent(words.get(i), i);
+		
+		this.word_size   = words.size();
+		this.bucket_size = bucketSize;
+		this.min_length  = minLength;
+		this.max_length  = maxLength;
+		this.dimension   = dimension;
+	}
+	
+//	============================== ROWS ==============================
+	
+	/** @return the number of rows (words and buckets). */
+	public int getRowSize()
+	{
+		return word_size + bucket_size;
+	}
+	
+	/** @return the rows of the word in ascending order: its own row if exists, then the rows of its n-grams. */
+	public int[] getRows(String word)
+	{
+		IntArrayList rows = new IntArrayList();
+		int index = index_map.getInt(word);
+		if (index >= 0) rows.add(index);
+		
+		String s = BOW + word + EOW;
+		int i, n, len = s.length();
+		
+		for (n=min_length; n<=max_length && n<=len; n++)
+			for (i=0; i+n<=len; i++)
+				if (n > 1 || (i > 0 && i+n < len)) rows.add(word_size + Integer.remainderUnsigned(hash(s, i, i+n), bucket_size));
+		
+		int[] array = rows.toIntArray();
+		Arrays.sort(array);
+		return array;
+	}
+	
+	/** @return the 32-bit FNV-1a hash of s[begin, end). */
+	static public int hash(String s, int begin, int end)
+	{
+		int h = 0x811c9dc5;
+		
+		for (int i=begin; i<end; i++)
+		{
+			h ^= s.charAt(i);
+			h *= 0x01000193;
+		}
+		
+		return h;
+	}
+	
+//	============================== VECTORS ==============================
+	
+	public float[] getVectors()
+	{
+		return vectors;
+	}
+	
+	/** @param vectors the rows of the words then the buckets; shared, not copied. */
+	public void setVectors(float[] vectors)
+	{
+		if (vectors.length != getRowSize() * dimension)
+			throw new IllegalArgumentException("Mismatch size: "+vectors.length+" != "+getRowSize()+" x "+dimension);
+		
+		this.vectors = vectors;
+	}
+	
+	public int getDimension()
+	{
+		return dimension;
+	}
+	
+	/** @return the vector of the word, which can be unknown. */
+	public float[] get(String word)
+	{
+		float[] vector = new float[dimension];
+		get(getRows(word), vector, 0);
+		return vector;
+	}
+	
+	/** Sets vector[offset, offset+dimension) to the average of the rows. */
+	public void get(int[] rows, float[] vector, int offset)
+	{
+		Arrays.fill(vector, offset, offset + dimension, 0);
+		if (rows.length == 0) return;
+		
+		for (int row : rows)
+			Optimizer.axpy(1, vectors, row * dimension, vector, offset, dimension);
+		
+		for (int k=0; k<dimension; k++)
+			vector[offset+k] /= rows.length;
+	}
+	
+//	============================== SERIALIZATION ==============================
+	
+	public void save(String filename) throws IOException
+	{
+		try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(filename), 1 << 24)))
+		{
+			out.writeObject(this);
+		}
+	}
+	
+	static public SubwordVectors load(String filename) throws IOException
+	{
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(filename), 1 << 24)))
+		{
+			return (SubwordVectors)in.readObject();
+		}
+		catch (ClassNotFoundException e) {throw new IOException(e);}
+	}
+}
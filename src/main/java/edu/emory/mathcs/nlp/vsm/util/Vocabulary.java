@@ -20,8 +20,10 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.IntPredicate;
 
 import edu.emory.mathcs.nlp.common.util.Joiner;
 
@@ -49,6 +51,15 @@ public class Vocabulary implements Serializable
 	 * @return the word object either already existing or newly introduced.
 	 */
 	public Word add(String word)
+	{
+		return add(word, 1);
+	}
+	
+	/**
+	 * Adds the word to the vocabulary if absent, and increments its count by the specific count. 
+	 * @return the word object either already existing or newly introduced.
+	 */
+	public Word add(String word, long count)
 	{
 		int index = index_map.computeIfAbsent(word, k -> size());
 		Word w;
@@ -56,17 +67,27 @@ public class Vocabulary implements Serializable
 		if (index < size())
 		{
 			w = get(index);
-			w.increment(1);
+			w.increment(count);
 		}
 		else
 		{
-			w = new Word(word, 1);
+			w = new Word(word, count);
 			word_list.add(w);
 		}
 		
 		return w;
 	}
 	
+	/**
+	 * Adds the counts of all words in the specific vocabulary to this vocabulary.
+	 * New words are appended in the order of the specific vocabulary so merging vocabularies counted from consecutive parts of a corpus
+	 * keeps the order in which the words would have been added from the entire corpus.
+	 */
+	public void merge(Vocabulary vocab)
+	{
+		for (Word w : vocab.word_list) add(w.form, w.count);
+	}
+	
 	public Word get(int index)
 	{
 		return word_list.get(index);
@@ -104,21 +125,70 @@ public class Vocabulary implements Serializable
 	 */
 	public long reduce()
 	{
-		return reduce(++min_reduce, false);
+		return reduce(++min_reduce, false, null);
+	}
+	
+	/**
+	 * Reduces the vocabulary to at most the specific number of the most frequent words,
+	 * where words tied at the cutoff count are kept in the order they are added, and the counts of the removed words are added to the sketch.
+	 * Unlike {@link #reduce()}, the min-count does not increase with every call.
+	 * @return total number of word counts after reducing.
+	 */
+	public long reduce(int maxSize, CountMinSketch removed)
+	{
+		if (size() <= maxSize) return reduce(0, false, removed);
+		if (maxSize <= 0) return reduce(k -> false, false, removed);
+		long[] counts = new long[size()];
+		int i;
+		
+		for (i=0; i<counts.length; i++) counts[i] = get(i).count;
+		Arrays.sort(counts);
+		long cutoff = counts[counts.length - maxSize];
+		
+		// words above the cutoff are always kept, so the rest of the space goes to the earliest words at the cutoff
+		int ties = maxSize;
+		for (i=counts.length-1; i>=0 && counts[i] > cutoff; i--) ties--;
+		
+		boolean[] keep = new boolean[size()];
+		long count;
+		
+		for (i=0; i<keep.length; i++)
+		{
+			count = get(i).count;
+			keep[i] = count > cutoff || (count == cutoff && ties-- > 0);
+		}
+		
+		return reduce(k -> keep[k], false, removed);
 	}
 	
 	long reduce(int minCount, boolean sort)
+	{
+		return reduce(minCount, sort, null);
+	}
+	
+	private long reduce(long minCount, boolean sort, CountMinSketch removed)
+	{
+		return reduce(k -> get(k).count >= minCount, sort, removed);
+	}
+	
+	/** @param keep takes the index of each word and returns true if the word is kept. */
+	private long reduce(IntPredicate keep, boolean sort, CountMinSketch removed)
 	{
 		ArrayList<Word> list = new ArrayList<>(size());
 		long count = 0;
+		Word w;
 		
-		for (Word w : word_list)
+		for (int i=0; i<size(); i++)
 		{
-			if (w.count >= minCount)
+			w = get(i);
+			
+			if (keep.test(i))
 			{
 				count += w.count;
 				list.add(w);
 			}
+			else if (removed != null)
+				removed.add(w.form, w.count);
 		}
 		
 		if (sort) Collections.sort(list, Collections.reverseOrder());
@@ -35,18 +35,18 @@ public class Word implements Serializable, Comparable<Word>
 		set(form, 0);
 	}
 	
-	public Word(String form, int count)
+	public Word(String form, long count)
 	{
 		set(form, count);
 	}
 	
-	public void set(String form, int count)
+	public void set(String form, long count)
 	{
 		this.form  = form;
 		this.count = count;
 	}
 	
-	public void increment(int count)
+	public void increment(long count)
 	{
 		this.count += count;
 	}
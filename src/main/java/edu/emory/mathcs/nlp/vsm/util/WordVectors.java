@@ -0,0 +1,243 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Word vectors in the binary format of the original word2vec: the header "<words> <dimension>\n",
+ * then for each word, the word, a space, the dimension number of little-endian floats, and a newline.
+ * The file is memory-mapped so only the words are loaded; each vector is read from the mapped file on demand.
+ * Files larger than 2GB are mapped in multiple regions, each of which contains whole records.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WordVectors implements Closeable
+{
+	/** The max number of bytes per mapped region. */
+	static public final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+	static private final int WRITE_BUFFER_SIZE = 1 << 24;
+	
+	private FileChannel channel;
+	private List<MappedByteBuffer> regions;
+	private Object2IntOpenHashMap<String> index_map;
+	private String[] words;
+	private int[]    region_ids;	// region_ids[i]: the region containing the i'th vector
+	private int[]    positions;		// positions[i]: the position of the i'th vector in its region
+	private int      dimension;
+	
+	public WordVectors(String filename) throws IOException
+	{
+		this(filename, MAX_REGION_SIZE);
+	}
+	
+	WordVectors(String filename, int maxRegionSize) throws IOException
+	{
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+		regions = new ArrayList<>();
+		load(channel.size(), maxRegionSize);
+	}
+	
+//	============================== LOAD ==============================
+	
+	private void load(long fileSize, int maxRegionSize) throws IOException
+	{
+		MappedByteBuffer region = map(0, Math.min(fileSize, maxRegionSize));
+		String header = readToken(region, '\n');
+		if (header == null) throw new IOException("No header: "+fileSize+" bytes");
+		String[] t = header.trim().split(" ");
+		int size = Integer.parseInt(t[0]);
+		dimension = Integer.parseInt(t[1]);
+		
+		index_map  = new Object2IntOpenHashMap<>(size);
+		words      = new String[size];
+		region_ids = new int[size];
+		positions  = new int[size];
+		index_map.defaultReturnValue(-1);
+		
+		int  vectorSize = dimension * Float.BYTES;
+		long start = 0, record;
+		String word;
+		
+		for (int i=0; i<size; i++)
+		{
+			record = start + region.position();
+			skipWhitespace(region);
+			word = readToken(region, ' ');
+			
+			if (word == null || region.remaining() < vectorSize)
+			{
+				// the record crosses the end of the region; map a new region starting at the record
+				if (start + region.limit() == fileSize) throw new IOException("Truncated file at word "+i+": "+fileSize+" bytes");
+				start  = record;
+				region = map(start, Math.min(fileSize - start, maxRegionSize));
+				skipWhitespace(region);
+				word = readToken(region, ' ');
+				if (word == null || region.remaining() < vectorSize) throw new IOException("Record too large at word "+i);
+			}
+			
+			words[i]      = word;
+			region_ids[i] = regions.size() - 1;
+			positions[i]  = region.position();
+			index_map.putIfAbsent(word, i);
+			region.position(region.position() + vectorSize);
+		}
+	}
+	
+	private MappedByteBuffer map(long position, long size) throws IOException
+	{
+		MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		region.order(ByteOrder.LITTLE_ENDIAN);
+		regions.add(region);
+		return region;
+	}
+	
+	private void skipWhitespace(ByteBuffer buffer)
+	{
+		while (buffer.hasRemaining() && isWhitespace(buffer.get(buffer.position())))
+			buffer.get();
+	}
+	
+	private boolean isWhitespace(byte b)
+	{
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+	
+	/** @return the UTF-8 string up to the delimiter, which is consumed; null if the buffer ends before the delimiter. */
+	private String readToken(ByteBuffer buffer, char delim)
+	{
+		int start = buffer.position(), end;
+		
+		for (end=start; end<buffer.limit(); end++)
+		{
+			if (buffer.get(end) == delim)
+			{
+				byte[] b = new byte[end - start];
+				buffer.get(b);
+				buffer.get();
+				return new String(b, StandardCharsets.UTF_8);
+			}
+		}
+		
+		return null;
+	}
+	
+//	============================== GETTERS ==============================
+	
+	/** @return the number of words. */
+	public int size()
+	{
+		return words.length;
+	}
+	
+	public int getDimension()
+	{
+		return dimension;
+	}
+	
+	/** @return the index of the word if exists; otherwise, -1. */
+	public int indexOf(String word)
+	{
+		return index_map.getInt(word);
+	}
+	
+	public String getWord(int index)
+	{
+		return words[index];
+	}
+	
+	/** @return a new array containing the vector of the word if exists; otherwise, null. */
+	public float[] get(String word)
+	{
+		int index = indexOf(word);
+		if (index < 0) return null;
+		float[] vector = new float[dimension];
+		get(index, vector, 0);
+		return vector;
+	}
+	
+	/** Copies the vector of the index'th word to vector[offset, offset+dimension). */
+	public void get(int index, float[] vector, int offset)
+	{
+		ByteBuffer region = regions.get(region_ids[index]);
+		int position = positions[index];
+		
+		for (int j=0; j<dimension; j++,position+=Float.BYTES)
+			vector[offset+j] = region.getFloat(position);
+	}
+	
+	/** @return the j'th value of the index'th vector. */
+	public float get(int index, int j)
+	{
+		return regions.get(region_ids[index]).getFloat(positions[index] + j * Float.BYTES);
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		regions.clear();
+		channel.close();
+	}
+	
+//	============================== WRITE ==============================
+	
+	/**
+	 * Writes the vectors in the binary format of word2vec.
+	 * @param vectors the i'th vector is vectors[i*dimension, (i+1)*dimension).
+	 */
+	static public void write(String filename, List<String> words, float[] vectors, int dimension) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(WRITE_BUFFER_SIZE, dimension * Float.BYTES * 2)).order(ByteOrder.LITTLE_ENDIAN);
+		int i, j, k;
+		byte[] word;
+		
+		try (FileChannel out = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			buffer.put((words.size()+" "+dimension+"\n").getBytes(StandardCharsets.UTF_8));
+			
+			for (i=0; i<words.size(); i++)
+			{
+				word = words.get(i).getBytes(StandardCharsets.UTF_8);
+				if (buffer.remaining() < word.length + dimension * Float.BYTES + 2) flush(out, buffer);
+				if (buffer.remaining() < word.length + dimension * Float.BYTES + 2) throw new IOException("Word too long: "+words.get(i));
+				
+				buffer.put(word).put((byte)' ');
+				for (j=0,k=i*dimension; j<dimension; j++,k++) buffer.putFloat(vectors[k]);
+				buffer.put((byte)'\n');
+			}
+			
+			flush(out, buffer);
+		}
+	}
+	
+	static private void flush(FileChannel out, ByteBuffer buffer) throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining()) out.write(buffer);
+		buffer.clear();
+	}
+}
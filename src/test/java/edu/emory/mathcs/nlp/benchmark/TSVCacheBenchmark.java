@@ -0,0 +1,88 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.util.reader.TSVCache;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+
+/**
+ * Compares parsing TSV files against reading their binary caches, as in repeated training passes.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVCacheBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		File dir = Files.createTempDirectory("cache").toFile();
+		dir.deleteOnExit();
+		
+		List<String> files = new ArrayList<>();
+		for (File file : new File("src/main/resources/dat/wsj-dep/trn/").listFiles((d, name) -> name.endsWith(".dep")))
+			files.add(file.getPath());
+		
+		DEPIndex index = new DEPIndex(1, 2, 3, 4, 5, 6);
+		TSVCache<DEPNode> cache = new TSVCache<>(index, dir.getPath());
+		int[] tokens = {0};
+		long st;
+		
+		st = System.nanoTime();
+		cache.forEach(files, nodes -> tokens[0] += nodes.length - 1);
+		print("build cache", tokens, st);
+		
+		for (int i=0; i<5; i++)
+		{
+			TSVReader<DEPNode> reader = new TSVReader<>(index);
+			DEPNode[] nodes;
+			tokens[0] = 0;
+			st = System.nanoTime();
+			
+			for (String filename : files)
+			{
+				reader.open(IOUtils.createFileInputStream(filename));
+				while ((nodes = reader.next()) != null) tokens[0] += nodes.length - 1;
+				reader.close();
+			}
+			
+			print("parse text", tokens, st);
+			
+			tokens[0] = 0;
+			st = System.nanoTime();
+			cache.forEach(files, n -> tokens[0] += n.length - 1);
+			print("read cache", tokens, st);
+			System.out.println();
+		}
+		
+		for (File file : dir.listFiles()) file.delete();
+	}
+	
+	void print(String name, int[] tokens, long st)
+	{
+		double seconds = (System.nanoTime() - st) / 1e9;
+		System.out.printf("%-12s: %8d tokens, %6.3f sec, %10.1f tokens/sec\n", name, tokens[0], seconds, tokens[0] / seconds);
+	}
+}
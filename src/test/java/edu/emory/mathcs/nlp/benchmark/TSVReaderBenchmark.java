@@ -0,0 +1,112 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.util.reader.TSVByteReader;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+
+/**
+ * Compares the parsing throughput in MB/s of {@link TSVReader} against {@link TSVByteReader} on plain and gzipped files.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVReaderBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		File plain = createCorpus("src/main/resources/dat/wsj-dep/trn/", 4);
+		File gzip  = File.createTempFile("wsj", ".dep.gz");
+		gzip.deleteOnExit();
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip))) {Files.copy(plain.toPath(), out);}
+		
+		DEPIndex index = new DEPIndex(1, 2, 3, 4, 5, 6);
+		double mb = plain.length() / 1e6;
+		
+		for (int i=0; i<5; i++)
+		{
+			TSVReader<DEPNode> reader = new TSVReader<>(index);
+			long st = System.nanoTime();
+			reader.open(IOUtils.createFileInputStream(plain.getPath()));
+			int tokens = read(reader);
+			print("line reader", mb, tokens, st);
+			
+			TSVByteReader<DEPNode> bytes = new TSVByteReader<>(index);
+			st = System.nanoTime();
+			bytes.open(plain.getPath());
+			tokens = read(bytes);
+			print("byte reader (mmap)", mb, tokens, st);
+			
+			st = System.nanoTime();
+			bytes.open(gzip.getPath());
+			tokens = read(bytes);
+			print("byte reader (gzip)", mb, tokens, st);
+			
+			// only the word-forms and the POS tags
+			bytes.setIndex(new DEPIndex(1, -1, 3, -1));
+			st = System.nanoTime();
+			bytes.open(plain.getPath());
+			tokens = read(bytes);
+			print("byte reader (2 cols)", mb, tokens, st);
+			System.out.println();
+		}
+	}
+	
+	int read(TSVReader<DEPNode> reader) throws IOException
+	{
+		DEPNode[] nodes;
+		int tokens = 0;
+		
+		while ((nodes = reader.next()) != null)
+			tokens += nodes.length - 1;
+		
+		reader.close();
+		return tokens;
+	}
+	
+	void print(String name, double mb, int tokens, long st)
+	{
+		double seconds = (System.nanoTime() - st) / 1e9;
+		System.out.printf("%-20s: %7.2f MB/s, %10.1f tokens/sec\n", name, mb / seconds, tokens / seconds);
+	}
+	
+	/** @return a temporary file concatenating the first n files in the directory. */
+	File createCorpus(String dir, int n) throws IOException
+	{
+		File corpus = File.createTempFile("wsj", ".dep");
+		corpus.deleteOnExit();
+		File[] files = new File(dir).listFiles((d, name) -> name.endsWith(".dep"));
+		
+		try (OutputStream out = new FileOutputStream(corpus))
+		{
+			for (int i=0; i<Math.min(n, files.length); i++)
+				Files.copy(files[i].toPath(), out);
+		}
+		
+		return corpus;
+	}
+}
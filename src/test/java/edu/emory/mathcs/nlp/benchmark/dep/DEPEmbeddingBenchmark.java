@@ -0,0 +1,107 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.dep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.benchmark.pos.POSEmbeddingBenchmark;
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPEval;
+import edu.emory.mathcs.nlp.component.dep.DEPFeatureTemplate;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPParser;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate1;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate2;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.feature.EmbeddingMap;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Measures parsing accuracy and speed per template with and without its dense {@link Field#word_embedding} features
+ * of the top of the stack and the first two words in the input, using the embeddings of {@link POSEmbeddingBenchmark}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPEmbeddingBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		final String root = "src/main/resources/dat/wsj-dep/";
+		List<DEPNode[]> trn = read(root+"trn/wsj-24.dep");
+		String dev = root+"dev/wsj-08.dep";
+		String filename = System.getProperty("embedding");
+		EmbeddingMap embeddings = (filename != null) ? EmbeddingMap.readBinary(filename) : POSEmbeddingBenchmark.random(trn, read(dev), 50);
+		
+		DEPFeatureTemplate[][] templates = {{new DEPFeatureTemplate0(), new DEPFeatureTemplate0()}, {new DEPFeatureTemplate1(), new DEPFeatureTemplate1()}, {new DEPFeatureTemplate2(), new DEPFeatureTemplate2()}};
+		
+		for (DEPFeatureTemplate[] t : templates)
+		{
+			String name = t[0].getClass().getSimpleName();
+			double[] sparse = run(t[0], trn, dev);
+			
+			t[1].setEmbeddingMap(embeddings);
+			double[] dense = run(t[1], trn, dev);
+			
+			System.out.printf("%s: sparse = %5.2f (%8.1f tokens/sec), dense = %5.2f (%8.1f tokens/sec), speed ratio = %4.2f\n", name, sparse[0], sparse[1], dense[0], dense[1], dense[1]/sparse[1]);
+		}
+	}
+	
+	/** @return {LAS, tokens per second} on the development set. */
+	double[] run(DEPFeatureTemplate template, List<DEPNode[]> trn, String dev) throws IOException
+	{
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		DEPParser<DEPNode> parser = new DEPParser<>(model);
+		parser.setFeatureTemplate(template);
+		parser.setFlag(NLPFlag.TRAIN);
+		trn.forEach(nodes -> parser.process(nodes));
+		model.vectorize(0, 0, false);
+		new AdaGrad(model.getWeightVector(), true, 0.02).train(model.getInstanceList(), 5);
+		
+		List<DEPNode[]> document = read(dev);
+		DEPEval eval = new DEPEval();
+		parser.setFlag(NLPFlag.EVALUATE);
+		parser.setEval(eval);
+		
+		long st = System.nanoTime();
+		document.forEach(nodes -> parser.process(nodes));
+		double seconds = (System.nanoTime() - st) / 1e9;
+		return new double[]{eval.getLAS(), eval.total() / seconds};
+	}
+	
+	List<DEPNode[]> read(String filename) throws IOException
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<DEPNode[]> document = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.dep;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPFeatureTemplate;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPState;
+import edu.emory.mathcs.nlp.component.dep.feature.BonggunMohsenFeatureTemplate;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate1;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate2;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplateStanford;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+
+/**
+ * Measures feature extraction with and without the per-sentence cache in {@link DEPState}.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPFeatureBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		List<DEPNode[]> document = read("src/main/resources/dat/wsj-dep/dev/wsj-08.dep");
+		
+		run("0"       , new DEPFeatureTemplate0()         , new DEPFeatureTemplate0()         , document);
+		run("1"       , new DEPFeatureTemplate1()         , new DEPFeatureTemplate1()         , document);
+		run("2"       , new DEPFeatureTemplate2()         , new DEPFeatureTemplate2()         , document);
+		run("Stanford", new DEPFeatureTemplateStanford()  , new DEPFeatureTemplateStanford()  , document);
+		run("BM"      , new BonggunMohsenFeatureTemplate(), new BonggunMohsenFeatureTemplate(), document);
+	}
+	
+	/** Extracts features from both templates in lockstep following the oracle transitions. */
+	void run(String name, DEPFeatureTemplate cached, DEPFeatureTemplate baseline, List<DEPNode[]> document)
+	{
+		long cachedTime = 0, baselineTime = 0, st;
+		String cachedFeatures, baselineFeatures;
+		DEPState<DEPNode> state;
+		baseline.setCache(false);
+		
+		for (int epoch=0; epoch<5; epoch++)
+		{
+			for (DEPNode[] nodes : document)
+			{
+				state = new DEPState<>(nodes);
+				state.saveOracle();
+				cached  .setState(state);
+				baseline.setState(state);
+				
+				while (!state.isTerminate())
+				{
+					st = System.nanoTime();
+					baselineFeatures = baseline.extractFeatures().toString();
+					baselineTime += System.nanoTime() - st;
+
+					st = System.nanoTime();
+					cachedFeatures = cached.extractFeatures().toString();
+					cachedTime += System.nanoTime() - st;
+					
+					assertEquals(baselineFeatures, cachedFeatures);
+					state.next(new StringPrediction(state.getOraclePrediction(), 1));
+				}
+			}
+		}
+		
+		System.out.printf("%-8s: baseline = %6d ms, cached = %6d ms, speedup = %4.2f\n", name, baselineTime/1000000, cachedTime/1000000, (double)baselineTime/cachedTime);
+	}
+	
+	List<DEPNode[]> read(String filename) throws IOException
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<DEPNode[]> document = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.dep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPEval;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPParser;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.dep.graph.ChuLiuEdmondsDecoder;
+import edu.emory.mathcs.nlp.component.dep.graph.DEPGraphParser;
+import edu.emory.mathcs.nlp.component.dep.graph.EisnerDecoder;
+import edu.emory.mathcs.nlp.component.dep.graph.feature.DEPArcFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.OnlineOptimizer;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Compares the transition-based parser against the graph-based parser in accuracy and speed.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPGraphBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		final String root = "src/main/resources/dat/wsj-dep/";
+		List<DEPNode[]> trn = read(root+"trn/wsj-24.dep");
+		String dev = root+"dev/wsj-08.dep";
+		
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		DEPParser<DEPNode> transition = new DEPParser<>(model);
+		transition.setFeatureTemplate(new DEPFeatureTemplate0());
+		run("transition", transition, model, trn, dev);
+		
+		model = new StringModel(new MultinomialWeightVector());
+		DEPGraphParser<DEPNode> graph = new DEPGraphParser<>(model, new EisnerDecoder());
+		graph.setFeatureTemplate(new DEPArcFeatureTemplate0());
+		graph.setNegativeInterval(10);
+		run("eisner", graph, model, trn, dev);
+		
+		graph.setDecoder(new ChuLiuEdmondsDecoder());
+		evaluate("chu-liu-edmonds", graph, dev);
+	}
+	
+	<S extends NLPState<DEPNode>> void run(String name, NLPComponent<DEPNode,S> parser, StringModel model, List<DEPNode[]> trn, String dev) throws IOException
+	{
+		parser.setFlag(NLPFlag.TRAIN);
+		trn.forEach(nodes -> parser.process(nodes));
+		model.vectorize(0, 0, false);
+		
+		OnlineOptimizer sgd = new AdaGrad(model.getWeightVector(), true, 0.02);
+		sgd.train(model.getInstanceList(), 5);
+		evaluate(name, parser, dev);
+	}
+	
+	<S extends NLPState<DEPNode>> void evaluate(String name, NLPComponent<DEPNode,S> parser, String filename) throws IOException
+	{
+		List<DEPNode[]> dev = read(filename);
+		DEPEval eval = new DEPEval();
+		parser.setFlag(NLPFlag.EVALUATE);
+		parser.setEval(eval);
+		
+		long st = System.nanoTime();
+		dev.forEach(nodes -> parser.process(nodes));
+		double seconds = (System.nanoTime() - st) / 1e9;
+		
+		System.out.printf("%-16s: %s, %8.1f tokens/sec\n", name, eval.toString(), eval.total() / seconds);
+	}
+	
+	List<DEPNode[]> read(String filename) throws IOException
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<DEPNode[]> document = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
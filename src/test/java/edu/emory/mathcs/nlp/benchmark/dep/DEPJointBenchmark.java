@@ -0,0 +1,152 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.dep;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPEval;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPJointEval;
+import edu.emory.mathcs.nlp.component.dep.DEPJointParser;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPParser;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPJointFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.eval.AccuracyEval;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Compares joint tagging and parsing against tagging followed by parsing in accuracy and total speed.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointBenchmark
+{
+	static final String ROOT = "src/main/resources/dat/wsj-dep/";
+	
+	@Test
+	public void benchmark() throws IOException
+	{
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> map.add(toPOSNodes(nodes)));
+		map.expand(0.4);
+		
+		// two-stage pipeline: the parser is trained on gold tags
+		StringModel posModel = new StringModel(new MultinomialWeightVector());
+		POSTagger<POSNode> tagger = new POSTagger<>(posModel);
+		tagger.setAmbiguityClassMap(map);
+		tagger.setFeatureTemplate(new POSFeatureTemplate0());
+		tagger.setFlag(NLPFlag.TRAIN);
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> tagger.process(toPOSNodes(nodes)));
+		train(posModel);
+		
+		StringModel depModel = new StringModel(new MultinomialWeightVector());
+		DEPParser<DEPNode> parser = new DEPParser<>(depModel);
+		parser.setFeatureTemplate(new DEPFeatureTemplate0());
+		parser.setFlag(NLPFlag.TRAIN);
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> parser.process(nodes));
+		train(depModel);
+		
+		// joint
+		StringModel parseModel = new StringModel(new MultinomialWeightVector());
+		StringModel tagModel   = new StringModel(new MultinomialWeightVector());
+		DEPJointParser<DEPNode> joint = new DEPJointParser<>(parseModel, tagModel);
+		joint.setAmbiguityClassMap(map);
+		joint.setFeatureTemplate(new DEPJointFeatureTemplate0());
+		joint.setFlag(NLPFlag.TRAIN);
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> joint.process(nodes));
+		train(parseModel);
+		train(tagModel);
+		
+		for (int i=0; i<3; i++)
+		{
+			evaluatePipeline(tagger, parser, read(ROOT+"dev/wsj-08.dep"));
+			evaluateJoint(joint, read(ROOT+"dev/wsj-08.dep"));
+		}
+	}
+	
+	void train(StringModel model)
+	{
+		model.vectorize(0, 0, false);
+		new AdaGrad(model.getWeightVector(), true, 0.02).train(model.getInstanceList(), 5);
+	}
+	
+	void evaluatePipeline(POSTagger<POSNode> tagger, DEPParser<DEPNode> parser, List<DEPNode[]> document)
+	{
+		AccuracyEval posEval = new AccuracyEval();
+		DEPEval depEval = new DEPEval();
+		tagger.setFlag(NLPFlag.EVALUATE);
+		parser.setFlag(NLPFlag.EVALUATE);
+		tagger.setEval(posEval);
+		parser.setEval(depEval);
+		
+		long st = System.nanoTime();
+		
+		for (DEPNode[] nodes : document)
+		{
+			tagger.process(toPOSNodes(nodes));
+			parser.process(nodes);
+		}
+		
+		double seconds = (System.nanoTime() - st) / 1e9;
+		System.out.printf("pipeline: POS = %5.2f, %s, %8.1f tokens/sec\n", posEval.score(), depEval.toString(), depEval.total() / seconds);
+	}
+	
+	void evaluateJoint(DEPJointParser<DEPNode> joint, List<DEPNode[]> document)
+	{
+		DEPJointEval eval = new DEPJointEval();
+		joint.setFlag(NLPFlag.EVALUATE);
+		joint.setEval(eval);
+		
+		long st = System.nanoTime();
+		document.forEach(nodes -> joint.process(nodes));
+		double seconds = (System.nanoTime() - st) / 1e9;
+		System.out.printf("joint   : %s, %8.1f tokens/sec\n", eval.toString(), eval.total() / seconds);
+	}
+	
+	/** @return the nodes without the artificial root, sharing the node objects. */
+	POSNode[] toPOSNodes(DEPNode[] nodes)
+	{
+		return Arrays.copyOfRange(nodes, 1, nodes.length, POSNode[].class);
+	}
+	
+	List<DEPNode[]> read(String filename) throws IOException
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<DEPNode[]> document = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
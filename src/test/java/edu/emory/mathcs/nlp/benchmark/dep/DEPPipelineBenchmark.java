@@ -0,0 +1,123 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.dep;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.dep.DEPIndex;
+import edu.emory.mathcs.nlp.component.dep.DEPNode;
+import edu.emory.mathcs.nlp.component.dep.DEPParser;
+import edu.emory.mathcs.nlp.component.dep.feature.DEPFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.decode.NLPPipeline;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Tags and parses through {@link NLPPipeline} with and without overlapping the stages.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPPipelineBenchmark
+{
+	static final String ROOT = "src/main/resources/dat/wsj-dep/";
+	
+	@Test
+	public void benchmark() throws IOException
+	{
+		List<DEPNode[]> trn = read(ROOT+"trn/wsj-24.dep", new DEPIndex(1, 2, 3, 4, 5, 6));
+		
+		// part-of-speech tagger
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		trn.forEach(nodes -> map.add(toPOSNodes(nodes)));
+		map.expand(0.4);
+		
+		StringModel posModel = new StringModel(new MultinomialWeightVector());
+		POSTagger<POSNode> tagger = new POSTagger<>(posModel);
+		tagger.setAmbiguityClassMap(map);
+		tagger.setFeatureTemplate(new POSFeatureTemplate0());
+		tagger.setFlag(NLPFlag.TRAIN);
+		trn.forEach(nodes -> tagger.process(toPOSNodes(nodes)));
+		posModel.vectorize(0, 0, false);
+		new AdaGrad(posModel.getWeightVector(), true, 0.02).train(posModel.getInstanceList(), 5);
+		
+		// dependency parser
+		StringModel depModel = new StringModel(new MultinomialWeightVector());
+		DEPParser<DEPNode> parser = new DEPParser<>(depModel);
+		parser.setFeatureTemplate(new DEPFeatureTemplate0());
+		parser.setFlag(NLPFlag.TRAIN);
+		trn.forEach(nodes -> parser.process(nodes));
+		depModel.vectorize(0, 0, false);
+		new AdaGrad(depModel.getWeightVector(), true, 0.02).train(depModel.getInstanceList(), 5);
+		
+		tagger.setFlag(NLPFlag.DECODE);
+		parser.setFlag(NLPFlag.DECODE);
+		
+		NLPPipeline<DEPNode> pipeline = new NLPPipeline<>();
+		pipeline.add("pos", tagger, this::toPOSNodes);
+		pipeline.add("dep", parser);
+		
+		for (int i=0; i<3; i++)
+		{
+			List<DEPNode[]> sequential = read(ROOT+"dev/wsj-08.dep", new DEPIndex(1, 2, 3, 4));
+			List<DEPNode[]> pipelined  = read(ROOT+"dev/wsj-08.dep", new DEPIndex(1, 2, 3, 4));
+			
+			pipeline.setPipelined(false, 64);
+			pipeline.process(sequential);
+			System.out.println(pipeline.toString());
+			
+			pipeline.setPipelined(true, 64);
+			pipeline.process(pipelined);
+			System.out.println(pipeline.toString());
+			
+			for (int j=0; j<sequential.size(); j++)
+				assertEquals(Arrays.toString(sequential.get(j)), Arrays.toString(pipelined.get(j)));
+		}
+	}
+	
+	/** @return the nodes without the artificial root, sharing the node objects. */
+	POSNode[] toPOSNodes(DEPNode[] nodes)
+	{
+		return Arrays.copyOfRange(nodes, 1, nodes.length, POSNode[].class);
+	}
+	
+	List<DEPNode[]> read(String filename, DEPIndex index) throws IOException
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(index);
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<DEPNode[]> document = new ArrayList<>();
+		DEPNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.ner;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.ner.Gazetteer;
+import edu.emory.mathcs.nlp.component.pos.POSIndex;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+
+/**
+ * Matches gazetteers of 1M+ entries against a corpus with the Aho-Corasick automaton
+ * and with a hash lookup per span, which tries every span up to the longest entry.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class GazetteerBenchmark
+{
+	static final String ROOT = "src/main/resources/dat/wsj-dep/";
+	static final String[] LABELS = {"PER", "LOC", "ORG", "MISC"};
+	
+	@Test
+	public void benchmark() throws IOException
+	{
+		List<String[]> trn = read(ROOT+"trn/wsj-24.dep");
+		List<String[]> dev = read(ROOT+"dev/wsj-08.dep");
+		
+		for (int size : new int[]{1000000, 2000000})
+		{
+			Gazetteer gazetteer = new Gazetteer();
+			Map<String,List<String>> map = new HashMap<>();
+			int maxLength = build(gazetteer, map, trn, size);
+			
+			long st = System.nanoTime();
+			gazetteer.build();
+			System.out.printf("entries = %d, states = %d, build = %d ms\n", gazetteer.size(), gazetteer.getStateSize(), (System.nanoTime()-st)/1000000);
+			
+			for (int i=0; i<3; i++)
+			{
+				double automaton = matchAutomaton(gazetteer, dev);
+				double hash = matchHash(map, maxLength, dev);
+				System.out.printf("automaton = %10.1f, hash = %10.1f tokens/sec\n", automaton, hash);
+			}
+		}
+	}
+	
+	/**
+	 * Adds entries of 1-4 tokens until the gazetteer has the specific size, where half of the entries are n-grams
+	 * sampled from the corpus so they get matched, and the other half are random sequences of the corpus vocabulary.
+	 * @return the longest entry length.
+	 */
+	int build(Gazetteer gazetteer, Map<String,List<String>> map, List<String[]> document, int size)
+	{
+		List<String> vocab = new ArrayList<>(document.stream().flatMap(Arrays::stream).map(Gazetteer::normalize).collect(Collectors.toSet()));
+		Random rand = new Random(1);
+		int i, len, beg, maxLength = 0;
+		String[] tokens, entry;
+		String label;
+		
+		while (gazetteer.size() < size)
+		{
+			tokens = document.get(rand.nextInt(document.size()));
+			len    = Math.min(tokens.length, 1 + rand.nextInt(4));
+			beg    = rand.nextInt(tokens.length - len + 1);
+			label  = LABELS[rand.nextInt(LABELS.length)];
+			entry  = new String[len];
+			
+			if (rand.nextBoolean())
+				for (i=0; i<len; i++) entry[i] = Gazetteer.normalize(tokens[beg+i]);
+			else
+				for (i=0; i<len; i++) entry[i] = vocab.get(rand.nextInt(vocab.size()));
+			
+			gazetteer.add(entry, label);
+			List<String> labels = map.computeIfAbsent(String.join(" ", entry), k -> new ArrayList<>());
+			if (!labels.contains(label)) labels.add(label);
+			maxLength = Math.max(maxLength, len);
+		}
+		
+		return maxLength;
+	}
+	
+	double matchAutomaton(Gazetteer gazetteer, List<String[]> document)
+	{
+		long st = System.nanoTime(), tokens = 0, matches = 0;
+		
+		for (String[] forms : document)
+		{
+			matches += gazetteer.match(forms).size();
+			tokens  += forms.length;
+		}
+		
+		if (matches < 0) System.out.println(matches);
+		return tokens / ((System.nanoTime() - st) / 1e9);
+	}
+	
+	double matchHash(Map<String,List<String>> map, int maxLength, List<String[]> document)
+	{
+		long st = System.nanoTime(), tokens = 0, matches = 0;
+		List<String> labels;
+		StringJoiner join;
+		String[] norms;
+		int i, j;
+		
+		for (String[] forms : document)
+		{
+			norms = new String[forms.length];
+			for (i=0; i<forms.length; i++) norms[i] = Gazetteer.normalize(forms[i]);
+			
+			for (i=0; i<norms.length; i++)
+			{
+				join = new StringJoiner(" ");
+				
+				for (j=i; j<norms.length && j-i<maxLength; j++)
+				{
+					join.add(norms[j]);
+					if ((labels = map.get(join.toString())) != null) matches += labels.size();
+				}
+			}
+			
+			tokens += forms.length;
+		}
+		
+		if (matches < 0) System.out.println(matches);
+		return tokens / ((System.nanoTime() - st) / 1e9);
+	}
+	
+	List<String[]> read(String filename) throws IOException
+	{
+		TSVReader<POSNode> reader = new TSVReader<>(new POSIndex(1, 3));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<String[]> document = new ArrayList<>();
+		POSNode[] nodes;
+		String[] forms;
+		
+		while ((nodes = reader.next()) != null)
+		{
+			forms = new String[nodes.length];
+			for (int i=0; i<nodes.length; i++) forms[i] = nodes[i].getWordForm();
+			document.add(forms);
+		}
+		
+		reader.close();
+		return document;
+	}
+}
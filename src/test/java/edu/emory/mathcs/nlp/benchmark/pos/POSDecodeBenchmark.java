@@ -0,0 +1,131 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.pos;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSFeatureTemplate;
+import edu.emory.mathcs.nlp.component.pos.POSIndex;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.eval.AccuracyEval;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureItem;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Accuracy and throughput of greedy, beam, and Viterbi decoding.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class POSDecodeBenchmark
+{
+	static final String ROOT = "src/main/resources/dat/wsj-dep/";
+	
+	@Test
+	public void benchmark() throws IOException
+	{
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> map.add(nodes));
+		map.expand(0.4);
+		
+		System.out.println("POSFeatureTemplate0");
+		run(train(new POSFeatureTemplate0(), map), 1, 2, 4, 8);
+		
+		System.out.println("POSFeatureTemplateBigram");
+		run(train(new POSFeatureTemplateBigram(), map), 1, 2, 4, 8, POSTagger.VITERBI);
+	}
+	
+	POSTagger<POSNode> train(POSFeatureTemplate template, AmbiguityClassMap map) throws IOException
+	{
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		POSTagger<POSNode> tagger = new POSTagger<>(model);
+		tagger.setAmbiguityClassMap(map);
+		tagger.setFeatureTemplate(template);
+		tagger.setFlag(NLPFlag.TRAIN);
+		read(ROOT+"trn/wsj-24.dep").forEach(nodes -> tagger.process(nodes));
+		
+		model.vectorize(0, 0, false);
+		new AdaGrad(model.getWeightVector(), true, 0.02).train(model.getInstanceList(), 5);
+		return tagger;
+	}
+	
+	void run(POSTagger<POSNode> tagger, int... beamSizes) throws IOException
+	{
+		AccuracyEval eval = new AccuracyEval();
+		tagger.setFlag(NLPFlag.EVALUATE);
+		tagger.setEval(eval);
+		
+		for (int beamSize : beamSizes)
+		{
+			List<POSNode[]> document = read(ROOT+"dev/wsj-08.dep");
+			eval.clear();
+			
+			long st = System.nanoTime();
+			for (POSNode[] nodes : document) tagger.process(nodes, beamSize);
+			double seconds = (System.nanoTime() - st) / 1e9;
+			
+			System.out.printf("%10s: %5.2f, %8.1f tokens/sec\n", (beamSize == POSTagger.VITERBI) ? "viterbi" : Integer.toString(beamSize), eval.score(), eval.total() / seconds);
+		}
+	}
+	
+	List<POSNode[]> read(String filename) throws IOException
+	{
+		TSVReader<POSNode> reader = new TSVReader<>(new POSIndex(1, 3));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<POSNode[]> document = new ArrayList<>();
+		POSNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+	
+	/** Looks at the previous tag only so that Viterbi decoding is exact and tractable. */
+	static class POSFeatureTemplateBigram extends POSFeatureTemplate
+	{
+		private static final long serialVersionUID = -1740932358120263071L;
+
+		@Override
+		protected void init()
+		{
+			add(new FeatureItem<>(-2, Field.simplified_word_form));
+			add(new FeatureItem<>(-1, Field.simplified_word_form));
+			add(new FeatureItem<>( 0, Field.simplified_word_form));
+			add(new FeatureItem<>( 1, Field.simplified_word_form));
+			add(new FeatureItem<>( 2, Field.simplified_word_form));
+			
+			add(new FeatureItem<>( 0, Field.ambiguity_class));
+			add(new FeatureItem<>( 1, Field.ambiguity_class));
+			add(new FeatureItem<>( 0, Field.suffix, 3));
+			
+			add(new FeatureItem<>(-1, Field.pos_tag));
+			add(new FeatureItem<>(-1, Field.pos_tag), new FeatureItem<>(0, Field.ambiguity_class));
+		}
+	}
+}
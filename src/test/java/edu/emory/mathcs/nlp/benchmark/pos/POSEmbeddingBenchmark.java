@@ -0,0 +1,132 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.pos;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSFeatureTemplate;
+import edu.emory.mathcs.nlp.component.pos.POSIndex;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate1;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate2;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.eval.AccuracyEval;
+import edu.emory.mathcs.nlp.component.util.feature.EmbeddingMap;
+import edu.emory.mathcs.nlp.component.util.feature.Field;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Measures tagging accuracy and speed per template with and without its dense {@link Field#word_embedding} features.
+ * The embeddings are read from the binary output of Word2Vec given by {@code -Dembedding=<filename>} if set;
+ * otherwise, random vectors of the word-forms are used, which measure the speed only.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class POSEmbeddingBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		final String root = "src/main/resources/dat/wsj-dep/";
+		List<POSNode[]> trn = read(root+"trn/wsj-24.dep");
+		String dev = root+"dev/wsj-08.dep";
+		String filename = System.getProperty("embedding");
+		EmbeddingMap embeddings = (filename != null) ? EmbeddingMap.readBinary(filename) : random(trn, read(dev), 50);
+		
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		trn.forEach(nodes -> map.add(nodes));
+		map.expand(0.4);
+		
+		POSFeatureTemplate[][] templates = {{new POSFeatureTemplate0(), new POSFeatureTemplate0()}, {new POSFeatureTemplate1(), new POSFeatureTemplate1()}, {new POSFeatureTemplate2(), new POSFeatureTemplate2()}};
+		
+		for (POSFeatureTemplate[] t : templates)
+		{
+			String name = t[0].getClass().getSimpleName();
+			double[] sparse = run(t[0], map, trn, dev);
+			
+			t[1].setEmbeddingMap(embeddings);
+			double[] dense = run(t[1], map, trn, dev);
+			
+			System.out.printf("%s: sparse = %5.2f (%8.1f tokens/sec), dense = %5.2f (%8.1f tokens/sec), speed ratio = %4.2f\n", name, sparse[0], sparse[1], dense[0], dense[1], dense[1]/sparse[1]);
+		}
+	}
+	
+	/** @return {accuracy, tokens per second} on the development set. */
+	double[] run(POSFeatureTemplate template, AmbiguityClassMap map, List<POSNode[]> trn, String dev) throws IOException
+	{
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		POSTagger<POSNode> tagger = new POSTagger<>(model);
+		tagger.setAmbiguityClassMap(map);
+		tagger.setFeatureTemplate(template);
+		tagger.setFlag(NLPFlag.TRAIN);
+		trn.forEach(nodes -> tagger.process(nodes));
+		model.vectorize(0, 0, false);
+		new AdaGrad(model.getWeightVector(), true, 0.02).train(model.getInstanceList(), 5);
+		
+		List<POSNode[]> document = read(dev);	// tagging overwrites the gold tags
+		AccuracyEval eval = new AccuracyEval();
+		tagger.setFlag(NLPFlag.EVALUATE);
+		tagger.setEval(eval);
+		
+		long st = System.nanoTime();
+		document.forEach(nodes -> tagger.process(nodes));
+		double seconds = (System.nanoTime() - st) / 1e9;
+		return new double[]{eval.score(), eval.total() / seconds};
+	}
+	
+	/** @return random embeddings of the simplified word-forms in the documents. */
+	static public EmbeddingMap random(List<? extends POSNode[]> trn, List<? extends POSNode[]> dev, int dimension)
+	{
+		Set<String> forms = new LinkedHashSet<>();
+		for (POSNode[] nodes : trn) for (POSNode node : nodes) forms.add(node.getSimplifiedWordForm());
+		for (POSNode[] nodes : dev) for (POSNode node : nodes) forms.add(node.getSimplifiedWordForm());
+		
+		float[] matrix = new float[forms.size() * dimension];
+		Random rand = new Random(1);
+		
+		for (int i=0; i<matrix.length; i++)
+			matrix[i] = (rand.nextFloat() - 0.5f) / dimension;
+		
+		return new EmbeddingMap(new ArrayList<>(forms), matrix, dimension);
+	}
+	
+	List<POSNode[]> read(String filename) throws IOException
+	{
+		TSVReader<POSNode> reader = new TSVReader<>(new POSIndex(1, 3));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<POSNode[]> document = new ArrayList<>();
+		POSNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.benchmark.pos;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.IOUtils;
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSFeatureTemplate;
+import edu.emory.mathcs.nlp.component.pos.POSIndex;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSState;
+import edu.emory.mathcs.nlp.component.pos.POSTagger;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate1;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate2;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.feature.FeatureTemplate;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * Measures feature extraction with and without freezing {@link AmbiguityClassMap},
+ * and tagging with and without precomputing static features per sentence.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class POSFeatureBenchmark
+{
+	@Test
+	public void benchmark() throws IOException
+	{
+		final String root = "src/main/resources/dat/wsj-dep/";
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		read(root+"trn/wsj-24.dep").forEach(nodes -> map.add(nodes));
+		map.expand(0.4);
+		
+		List<POSNode[]> document = read(root+"dev/wsj-08.dep");
+		POSFeatureTemplate template = new POSFeatureTemplate0();
+		template.setCache(false);	// ambiguity classes would be looked up once per sentence otherwise
+		
+		for (int i=0; i<3; i++)
+		{
+			map.unfreeze();
+			long joined = run(template, map, document);
+			map.freeze();
+			long frozen = run(template, map, document);
+			System.out.printf("joined = %6d ms, frozen = %6d ms, speedup = %4.2f\n", joined/1000000, frozen/1000000, (double)joined/frozen);
+		}
+	}
+	
+	@Test
+	public void benchmarkStaticFeatures() throws IOException
+	{
+		final String root = "src/main/resources/dat/wsj-dep/";
+		AmbiguityClassMap map = new AmbiguityClassMap();
+		read(root+"trn/wsj-24.dep").forEach(nodes -> map.add(nodes));
+		map.expand(0.4);
+		
+		POSFeatureTemplate[] templates = {new POSFeatureTemplate0(), new POSFeatureTemplate1(), new POSFeatureTemplate2()};
+		
+		for (POSFeatureTemplate template : templates)
+		{
+			StringModel model = new StringModel(new MultinomialWeightVector());
+			POSTagger<POSNode> tagger = new POSTagger<>(model);
+			tagger.setAmbiguityClassMap(map);
+			tagger.setFeatureTemplate(template);
+			tagger.setFlag(NLPFlag.TRAIN);
+			read(root+"trn/wsj-24.dep").forEach(nodes -> tagger.process(nodes));
+			model.vectorize(0, 0, false);
+			new AdaGrad(model.getWeightVector(), true, 0.02).train(model.getInstanceList(), 3);
+			tagger.setFlag(NLPFlag.DECODE);
+			
+			for (int i=0; i<3; i++)
+			{
+				List<POSNode[]> before = read(root+"dev/wsj-08.dep");
+				List<POSNode[]> after  = read(root+"dev/wsj-08.dep");
+				
+				template.setCache(false);
+				double tps0 = tag(tagger, before);
+				template.setCache(true);
+				double tps1 = tag(tagger, after);
+				
+				for (int j=0; j<before.size(); j++)
+					for (int k=0; k<before.get(j).length; k++)
+						assertEquals(before.get(j)[k].getPOSTag(), after.get(j)[k].getPOSTag());
+				
+				System.out.printf("%s: before = %8.1f, after = %8.1f tokens/sec, speedup = %4.2f\n", template.getClass().getSimpleName(), tps0, tps1, tps1/tps0);
+			}
+		}
+	}
+	
+	/** @return the number of tokens tagged per second. */
+	double tag(POSTagger<POSNode> tagger, List<POSNode[]> document)
+	{
+		long st = System.nanoTime();
+		int tokens = 0;
+		
+		for (POSNode[] nodes : document)
+		{
+			tagger.process(nodes);
+			tokens += nodes.length;
+		}
+		
+		return tokens / ((System.nanoTime() - st) / 1e9);
+	}
+	
+	long run(FeatureTemplate<POSNode,POSState<POSNode>> template, AmbiguityClassMap map, List<POSNode[]> document)
+	{
+		POSState<POSNode> state;
+		long st, time = 0;
+		
+		for (POSNode[] nodes : document)
+		{
+			state = new POSState<>(nodes, map);
+			template.setState(state);
+			
+			while (!state.isTerminate())
+			{
+				st = System.nanoTime();
+				template.extractFeatures();
+				time += System.nanoTime() - st;
+				state.next(new StringPrediction(state.getNode(0).getPOSTag(), 1));
+			}
+		}
+		
+		return time;
+	}
+	
+	List<POSNode[]> read(String filename) throws IOException
+	{
+		TSVReader<POSNode> reader = new TSVReader<>(new POSIndex(1, 3));
+		reader.open(IOUtils.createFileInputStream(filename));
+		List<POSNode[]> document = new ArrayList<>();
+		POSNode[] nodes;
+		
+		while ((nodes = reader.next()) != null)
+			document.add(nodes);
+		
+		reader.close();
+		return document;
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.FileInputStream;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.MathUtils;
+import edu.emory.mathcs.nlp.component.util.reader.TSVReader;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPJointStateTest
+{
+	@Test
+	public void testEvaluate() throws Exception
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(new FileInputStream("src/main/resources/dat/wsj_0001.dep"));
+		DEPNode[] nodes = reader.next();
+		reader.close();
+		
+		String[] tags = new String[nodes.length];
+		for (int i=1; i<nodes.length; i++) tags[i] = nodes[i].getPOSTag();
+		nodes[2].setPOSTag(null);	// no gold tag
+		
+		DEPJointState<DEPNode> state = new DEPJointState<>(nodes, null);
+		state.saveOracle();
+		
+		for (int i=1; i<nodes.length; i++) nodes[i].setPOSTag(tags[i]);
+		nodes[1].setPOSTag("XX");
+		
+		// parsing only
+		DEPEval eval = new DEPEval();
+		state.evaluate(eval);
+		
+		// the node without the gold tag is not counted
+		DEPJointEval joint = new DEPJointEval();
+		state.evaluate(joint);
+		int total = nodes.length - 2;
+		assertEquals(MathUtils.accuracy(total-1, total), joint.getTagAccuracy(), 0);
+	}
+}
@@ -158,6 +158,37 @@ public class DEPNodeTest
 
 	}
 	
+	@Test
+	public void testHashes() throws Exception
+	{
+		TSVReader<DEPNode> reader = new TSVReader<>(new DEPIndex(1, 2, 3, 4, 5, 6));
+		reader.open(new FileInputStream("src/main/resources/dat/wsj_0001.dep"));
+		DEPNode[] nodes = reader.next();
+		
+		for (DEPNode node : nodes)
+		{
+			for (Direction direction : new Direction[]{Direction.left, Direction.right, Direction.all})
+				assertEquals(hash(node.getSubcategorization(direction, Field.lemma)), node.getSubcategorizationHash(direction, Field.lemma));
+			
+			for (DEPNode other : nodes)
+			{
+				assertEquals(hash(node.getPath(other, Field.lemma))  , node.getPathHash(other, Field.lemma));
+				assertEquals(hash(node.getPath(other, Field.pos_tag)), node.getPathHash(other, Field.pos_tag));
+				assertEquals(hash(node.getPath(other, Field.distance)), node.getPathHash(other, Field.distance));
+			}
+		}
+		
+		assertEquals(0, nodes[0].getDepth());
+		assertEquals(5, nodes[4].getDepth());
+		assertEquals(nodes[9], nodes[1].getLowestCommonAncestor(nodes[18]));
+		assertEquals(nodes[2], nodes[4].getLowestCommonAncestor(nodes[3]));
+	}
+	
+	private long hash(String s)
+	{
+		return (s == null) ? 0 : DEPNode.hash(0, s);
+	}
+	
 	@Test
 //	@Ignore
 	public void testBasicFields()
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.dep.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class DEPGraphDecoderTest
+{
+	@Test
+	public void testEisner()
+	{
+		test(new EisnerDecoder(), true);
+	}
+	
+	@Test
+	public void testChuLiuEdmonds()
+	{
+		test(new ChuLiuEdmondsDecoder(), false);
+	}
+	
+	/** Compares the decoded trees against the best trees found by brute force. */
+	void test(DEPGraphDecoder decoder, boolean projective)
+	{
+		Random rand = new Random(1);
+		
+		for (int n=2; n<=6; n++)
+		{
+			for (int k=0; k<50; k++)
+			{
+				double[][] scores = new double[n][n];
+				
+				for (int d=1; d<n; d++)
+					for (int h=0; h<n; h++)
+						scores[d][h] = rand.nextGaussian();
+				
+				int[] heads = decoder.decode(scores);
+				assertEquals(-1, heads[0]);
+				assertEquals(true, isTree(heads));
+				if (projective) assertEquals(true, isProjective(heads));
+				assertEquals(bruteForce(scores, new int[n], 1, projective), score(scores, heads), 1e-9);
+			}
+		}
+	}
+	
+	double bruteForce(double[][] scores, int[] heads, int d, boolean projective)
+	{
+		if (d == heads.length)
+			return (isTree(heads) && (!projective || isProjective(heads))) ? score(scores, heads) : Double.NEGATIVE_INFINITY;
+		
+		double best = Double.NEGATIVE_INFINITY;
+		
+		for (int h=0; h<heads.length; h++)
+		{
+			if (h == d) continue;
+			heads[d] = h;
+			best = Math.max(best, bruteForce(scores, heads, d+1, projective));
+		}
+		
+		return best;
+	}
+	
+	double score(double[][] scores, int[] heads)
+	{
+		double sum = 0;
+		for (int d=1; d<heads.length; d++) sum += scores[d][heads[d]];
+		return sum;
+	}
+	
+	boolean isTree(int[] heads)
+	{
+		for (int d=1; d<heads.length; d++)
+		{
+			int v = d;
+			for (int i=0; v != 0 && i < heads.length; i++) v = heads[v];
+			if (v != 0) return false;
+		}
+		
+		return true;
+	}
+	
+	boolean isProjective(int[] heads)
+	{
+		for (int d=1; d<heads.length; d++)
+		{
+			int h = heads[d];
+			
+			for (int i=Math.min(h, d)+1; i<Math.max(h, d); i++)
+			{
+				int v = i;
+				while (v != 0 && v != h) v = heads[v];
+				if (v != h) return false;
+			}
+		}
+		
+		return true;
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class BILOUTest
+{
+	@Test
+	public void testConversion()
+	{
+		String[] bio   = {"B-PER", "I-PER", "O", "B-LOC", "B-LOC", "I-LOC", "I-LOC", "O"};
+		String[] bilou = {"B-PER", "L-PER", "O", "U-LOC", "B-LOC", "I-LOC", "L-LOC", "O"};
+		
+		assertEquals("[PER[0,2), LOC[3,4), LOC[4,7)]", BILOU.toSpans(bio).toString());
+		assertEquals(Arrays.toString(bilou), Arrays.toString(BILOU.toBILOU(bio)));
+		assertEquals(Arrays.toString(bilou), Arrays.toString(BILOU.toBILOU(bilou)));
+		
+		// lenient on invalid sequences
+		assertEquals("[ORG[0,1), PER[1,2), PER[2,3)]", BILOU.toSpans(new String[]{"I-ORG", "I-PER", "U-PER"}).toString());
+	}
+	
+	@Test
+	public void testValid()
+	{
+		assertTrue (BILOU.isValid(null   , "B-PER", false));
+		assertFalse(BILOU.isValid(null   , "B-PER", true));
+		assertFalse(BILOU.isValid(null   , "I-PER", false));
+		assertTrue (BILOU.isValid("B-PER", "L-PER", true));
+		assertFalse(BILOU.isValid("B-PER", "L-LOC", true));
+		assertFalse(BILOU.isValid("I-PER", "O"    , false));
+		assertTrue (BILOU.isValid("L-PER", "U-LOC", false));
+	}
+	
+	@Test
+	public void testEval()
+	{
+		String[] gold = {"B-PER", "L-PER", "O", "U-LOC"};
+		String[] auto = {"U-PER", "O"    , "O", "U-LOC"};
+		NEREval eval = new NEREval();
+		
+		eval.add(BILOU.toSpans(gold), BILOU.toSpans(auto));
+		assertEquals(50, eval.precision(), 0);
+		assertEquals(50, eval.recall()   , 0);
+		assertEquals(50, eval.score()    , 0);
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class GazetteerTest
+{
+	@Test
+	public void testMatch()
+	{
+		Gazetteer gazetteer = new Gazetteer();
+		gazetteer.add("New York", "LOC");
+		gazetteer.add("New York Times", "ORG");
+		gazetteer.add("York", "LOC");
+		gazetteer.add("York", "PER");
+		gazetteer.add("Times Square", "LOC");
+		
+		String[] tokens = "the new york times square".split(" ");
+		assertEquals("[LOC[1,3), PER[2,3), LOC[2,3), ORG[1,4), LOC[3,5)]", gazetteer.match(tokens).toString());
+		
+		String[][] features = gazetteer.getFeatures(tokens);
+		assertEquals(null, features[0]);
+		assertEquals("[B-LOC, B-ORG]", Arrays.toString(features[1]));
+		assertEquals("[L-LOC, U-PER, U-LOC, I-ORG]", Arrays.toString(features[2]));
+		assertEquals("[L-ORG, B-LOC]", Arrays.toString(features[3]));
+		assertEquals("[L-LOC]", Arrays.toString(features[4]));
+	}
+	
+	@Test
+	public void testFailure()
+	{
+		Gazetteer gazetteer = new Gazetteer();
+		gazetteer.add("a b c d", "X");
+		gazetteer.add("b c", "Y");
+		gazetteer.add("c d e", "Z");
+		
+		assertEquals("[Y[2,4), X[1,5), Z[3,6)]", gazetteer.match("a a b c d e".split(" ")).toString());
+		assertEquals("[Y[1,3), X[0,4), Z[2,5)]", gazetteer.match("a b c d e".split(" ")).toString());
+	}
+}
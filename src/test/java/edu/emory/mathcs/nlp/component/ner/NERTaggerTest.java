@@ -0,0 +1,95 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.ner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.component.ner.feature.NERFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.NLPFlag;
+import edu.emory.mathcs.nlp.component.util.node.FeatMap;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.optimization.sgd.AdaGrad;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NERTaggerTest
+{
+	static final String[][] SENTENCES =
+	{
+		{"John Smith lives in New York .", "B-PER I-PER O O B-LOC I-LOC O"},
+		{"Mary visited Boston yesterday .", "B-PER O B-LOC O O"},
+		{"Apple hired John Smith .", "B-ORG O B-PER I-PER O"},
+		{"Mary works for Apple in Boston .", "B-PER O O B-ORG O B-LOC O"},
+		{"The weather was nice .", "O O O O O"},
+	};
+	
+	@Test
+	public void testTrainAndDecode()
+	{
+		Gazetteer gazetteer = new Gazetteer();
+		gazetteer.add("New York", "LOC");
+		
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		NERTagger<NERNode> tagger = new NERTagger<>(model);
+		tagger.setFeatureTemplate(new NERFeatureTemplate0());
+		tagger.setGazetteer(gazetteer);
+		
+		// gold tags in BIO are trained as BILOU
+		tagger.setFlag(NLPFlag.TRAIN);
+		for (int i=0; i<3; i++) read().forEach(nodes -> tagger.process(nodes));
+		model.vectorize(0, 0, false);
+		new AdaGrad(model.getWeightVector(), true, 0.1).train(model.getInstanceList(), 10);
+		
+		NEREval eval = new NEREval();
+		tagger.setEval(eval);
+		tagger.setFlag(NLPFlag.EVALUATE);
+		read().forEach(nodes -> tagger.process(nodes));
+		assertEquals(100, eval.score(), 0);
+		
+		// decoding assigns well-formed BILOU tags
+		List<NERNode[]> document = read();
+		tagger.setFlag(NLPFlag.DECODE);
+		document.forEach(nodes -> tagger.process(nodes));
+		assertEquals("[B-PER, L-PER, O, O, B-LOC, L-LOC, O]", Arrays.toString(Arrays.stream(document.get(0)).map(NERNode::getNamedEntityTag).toArray()));
+		assertEquals("[U-PER, O, U-LOC, O, O]", Arrays.toString(Arrays.stream(document.get(1)).map(NERNode::getNamedEntityTag).toArray()));
+	}
+	
+	List<NERNode[]> read()
+	{
+		List<NERNode[]> document = new ArrayList<>();
+		
+		for (String[] sentence : SENTENCES)
+		{
+			String[] forms = sentence[0].split(" "), tags = sentence[1].split(" ");
+			NERNode[] nodes = new NERNode[forms.length];
+			
+			for (int i=0; i<forms.length; i++)
+				nodes[i] = new NERNode(i+1, forms[i], forms[i].toLowerCase(), null, new FeatMap(), tags[i]);
+			
+			document.add(nodes);
+		}
+		
+		return document;
+	}
+}
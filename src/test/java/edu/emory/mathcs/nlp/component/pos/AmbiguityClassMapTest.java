@@ -16,6 +16,7 @@
 package edu.emory.mathcs.nlp.component.pos;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -50,4 +51,30 @@ public class AmbiguityClassMapTest
 
 		assertEquals("c2_c1", map.get(new NLPNode("C")));
 	}
+	
+	@Test
+	public void testMerge()
+	{
+		AmbiguityClassMap m1 = new AmbiguityClassMap();
+		AmbiguityClassMap m2 = new AmbiguityClassMap();
+		
+		m1.add(new POSNode("A", "a1"));
+		m1.add(new POSNode("B", "b1"));
+		m2.add(new POSNode("A", "a1"));
+		m2.add(new POSNode("A", "a2"));
+		m2.add(new POSNode("B", "b1"));
+		m2.add(new POSNode("C", "b1"));
+		
+		m1.merge(m2).expand(0.3);
+		
+		assertTrue(m1.isFrozen());
+		assertEquals(3, m1.size());
+		assertEquals(2, m1.getClassSize());
+		assertEquals("a2_a1", m1.get(new NLPNode("A")));
+		assertEquals("b1", m1.get(new NLPNode("B")));
+		assertTrue(m1.get(new NLPNode("B")) == m1.get(new NLPNode("C")));
+		
+		m1.unfreeze();
+		assertEquals("a2_a1", m1.get(new NLPNode("A")));
+	}
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.decode;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import edu.emory.mathcs.nlp.component.util.NLPComponent;
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+import edu.emory.mathcs.nlp.learn.util.StringPrediction;
+import edu.emory.mathcs.nlp.learn.vector.StringVector;
+
+/**
+ * Counts how many times each sentence is processed, where each sentence is one node holding its index.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+class CountingComponent extends NLPComponent<Integer,NLPState<Integer>>
+{
+	private static final long serialVersionUID = 3022563937427845191L;
+	private transient AtomicIntegerArray counts;
+	private transient Consumer<Integer> action;
+	
+	/** @param action called with the index of each sentence before it is counted. */
+	public CountingComponent(int size, Consumer<Integer> action)
+	{
+		super(null);
+		counts = new AtomicIntegerArray(size);
+		this.action = action;
+	}
+	
+	@Override
+	public void process(Integer[] nodes)
+	{
+		action.accept(nodes[0]);
+		counts.incrementAndGet(nodes[0]);
+	}
+	
+	public int getCount(int index)
+	{
+		return counts.get(index);
+	}
+	
+	@Override
+	protected void readLexicons(ObjectInputStream in) throws IOException, ClassNotFoundException {}
+	
+	@Override
+	protected void writeLexicons(ObjectOutputStream out) throws IOException {}
+	
+	@Override
+	protected NLPState<Integer> createState(Integer[] nodes)
+	{
+		throw new UnsupportedOperationException();
+	}
+	
+	@Override
+	protected StringPrediction getModelPrediction(NLPState<Integer> state, StringVector vector)
+	{
+		throw new UnsupportedOperationException();
+	}
+	
+	@Override
+	protected void addInstance(String label, StringVector vector) {}
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.decode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NLPPipelineTest
+{
+	@Test
+	public void testPipelined()
+	{
+		List<Integer[]> sentences = sentences(500);
+		CountingComponent c0 = new CountingComponent(sentences.size(), i -> {});
+		CountingComponent c1 = new CountingComponent(sentences.size(), i -> {});
+		NLPPipeline<Integer> pipeline = new NLPPipeline<Integer>().add("c0", c0).add("c1", c1);
+		pipeline.setPipelined(true, 4);
+		pipeline.process(sentences);
+		
+		for (int i=0; i<sentences.size(); i++)
+		{
+			assertEquals(1, c0.getCount(i));
+			assertEquals(1, c1.getCount(i));
+		}
+	}
+	
+	@Test(timeout=10000)
+	public void testError()
+	{
+		List<Integer[]> sentences = sentences(500);
+		CountingComponent c0 = new CountingComponent(sentences.size(), i -> {if (i == 10) throw new AssertionError("stage 0");});
+		CountingComponent c1 = new CountingComponent(sentences.size(), i -> {});
+		NLPPipeline<Integer> pipeline = new NLPPipeline<Integer>().add("c0", c0).add("c1", c1);
+		pipeline.setPipelined(true, 4);
+		
+		try
+		{
+			pipeline.process(sentences);
+			fail();
+		}
+		catch (AssertionError e) {assertEquals("stage 0", e.getMessage());}
+		
+		c1 = new CountingComponent(sentences.size(), i -> {if (i == 20) throw new IllegalArgumentException("stage 1");});
+		pipeline = new NLPPipeline<Integer>().add("c0", new CountingComponent(sentences.size(), i -> {})).add("c1", c1);
+		pipeline.setPipelined(true, 4);
+		
+		try
+		{
+			pipeline.process(sentences);
+			fail();
+		}
+		catch (IllegalArgumentException e) {assertEquals("stage 1", e.getMessage());}
+	}
+	
+	@Test(timeout=10000)
+	public void testInterrupted() throws InterruptedException
+	{
+		List<Integer[]> sentences = sentences(500);
+		NLPPipeline<Integer> pipeline = new NLPPipeline<Integer>().add("interrupted0", new CountingComponent(sentences.size(), i -> {})).add("interrupted1", new CountingComponent(sentences.size(), i -> {}));
+		pipeline.setPipelined(true, 4);
+		Thread.currentThread().interrupt();
+		
+		try
+		{
+			pipeline.process(sentences);
+			fail();
+		}
+		catch (IllegalStateException e) {assertTrue(Thread.interrupted());}
+		
+		// the stage threads must not wait for the sentences the caller never sent
+		for (Thread thread : Thread.getAllStackTraces().keySet())
+			if (thread.getName().startsWith("interrupted")) thread.join();
+	}
+	
+	static List<Integer[]> sentences(int size)
+	{
+		List<Integer[]> sentences = new ArrayList<>(size);
+		for (int i=0; i<size; i++) sentences.add(new Integer[]{i});
+		return sentences;
+	}
+}
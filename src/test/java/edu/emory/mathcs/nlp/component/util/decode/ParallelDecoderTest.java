@@ -0,0 +1,85 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.decode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.component.util.state.NLPState;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ParallelDecoderTest
+{
+	@Test
+	public void testDecode()
+	{
+		List<Integer[]> sentences = sentences(1000);
+		CountingComponent component = new CountingComponent(sentences.size(), i -> {});
+		ParallelDecoder<Integer,NLPState<Integer>> decoder = new ParallelDecoder<>(component, 4);
+		decoder.decode(sentences);
+		long count = 0;
+		
+		for (int i=0; i<sentences.size(); i++)
+			assertEquals(1, component.getCount(i));
+		
+		for (int i=0; i<4; i++)
+			count += decoder.getSentenceCount(i);
+		
+		assertEquals(sentences.size(), count);
+	}
+	
+	@Test
+	public void testError()
+	{
+		List<Integer[]> sentences = sentences(1000);
+		CountingComponent component = new CountingComponent(sentences.size(), i -> {if (i == 123) throw new IllegalArgumentException("sentence "+i);});
+		ParallelDecoder<Integer,NLPState<Integer>> decoder = new ParallelDecoder<>(component, 4);
+		
+		try
+		{
+			decoder.decode(sentences);
+			fail();
+		}
+		catch (IllegalArgumentException e) {assertEquals("sentence 123", e.getMessage());}
+		
+		for (int i=0; i<sentences.size(); i++)
+			assertEquals(i == 123 ? 0 : 1, component.getCount(i));
+	}
+	
+	/** @return sentences of various lengths, whose first nodes are their indices. */
+	static List<Integer[]> sentences(int size)
+	{
+		List<Integer[]> sentences = new ArrayList<>(size);
+		Integer[] nodes;
+		
+		for (int i=0; i<size; i++)
+		{
+			nodes = new Integer[1 + (i * 7) % 50];
+			Arrays.fill(nodes, i);
+			sentences.add(nodes);
+		}
+		
+		return sentences;
+	}
+}
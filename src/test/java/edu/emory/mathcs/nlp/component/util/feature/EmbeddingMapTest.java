@@ -0,0 +1,97 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.feature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.component.pos.AmbiguityClassMap;
+import edu.emory.mathcs.nlp.component.pos.POSFeatureTemplate;
+import edu.emory.mathcs.nlp.component.pos.POSNode;
+import edu.emory.mathcs.nlp.component.pos.POSState;
+import edu.emory.mathcs.nlp.component.pos.feature.POSFeatureTemplate0;
+import edu.emory.mathcs.nlp.component.util.node.NLPNode;
+import edu.emory.mathcs.nlp.component.util.node.SymbolTable;
+import edu.emory.mathcs.nlp.learn.model.StringModel;
+import edu.emory.mathcs.nlp.learn.util.StringInstance;
+import edu.emory.mathcs.nlp.learn.vector.DenseItem;
+import edu.emory.mathcs.nlp.learn.vector.SparseVector;
+import edu.emory.mathcs.nlp.learn.vector.StringVector;
+import edu.emory.mathcs.nlp.learn.weight.MultinomialWeightVector;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class EmbeddingMapTest
+{
+	@Test
+	public void testReadText() throws IOException
+	{
+		String s = "3 2\nembed_a 0.5 -1\nembed_b 2 0.25\nEmbed_C 3 -0.5\n";
+		EmbeddingMap map = EmbeddingMap.readText(new ByteArrayInputStream(s.getBytes()));
+		
+		assertEquals(3, map.size());
+		assertEquals(2, map.getDimension());
+		assertEquals(-1, SymbolTable.FORMS.indexOf("embed_b"));
+		assertEquals(1, map.indexOf("embed_b"));
+		assertEquals(2, map.indexOf(new NLPNode("Embed_C")));
+		assertEquals(-1, map.indexOf("embed_c"));
+		assertEquals(-1, map.indexOf(new NLPNode("embed_d")));
+		assertEquals(0.25f, map.getMatrix()[map.getOffset(1)+1], 0);
+	}
+	
+	@Test
+	public void testExtract()
+	{
+		List<String> words = Arrays.asList("embed_x", "embed_y");
+		float[] matrix = {1, 2, 3, 4, 5, 6};
+		EmbeddingMap map = new EmbeddingMap(words, matrix, 3);
+		
+		// declares the embeddings at the windows -1, 0 and 1
+		POSFeatureTemplate template = new POSFeatureTemplate0();
+		
+		POSNode[] nodes = {new POSNode("embed_y", "NN"), new POSNode("embed_x", "VB"), new POSNode("embed_z", "NN")};
+		POSState<POSNode> state = new POSState<>(nodes, new AmbiguityClassMap());
+		template.setState(state);
+		assertTrue(template.extractFeatures().getDenseItems().isEmpty());
+		
+		template.setEmbeddingMap(map);
+		StringVector x = template.extractFeatures();
+		List<DenseItem> dense = x.getDenseItems();
+		assertEquals(2, dense.size());
+		assertTrue(dense.get(0).getArray() == matrix);
+		assertEquals(3, dense.get(0).getOffset());
+		assertEquals(0, dense.get(1).getOffset());
+		assertEquals(dense.get(0).getIndex() + 1, dense.get(1).getIndex());
+		
+		StringModel model = new StringModel(new MultinomialWeightVector());
+		model.addInstance(new StringInstance("NN", x));
+		model.vectorize(0, 0, false);
+		
+		SparseVector v = (SparseVector)model.getInstanceList().get(0).getVector();
+		int size = model.getWeightVector().featureSize();
+		assertEquals(size - 6, v.getDenseItems().get(0).getIndex());
+		assertEquals(size - 3, v.getDenseItems().get(1).getIndex());
+		assertTrue(v.getDenseItems().get(1).getArray() == matrix);
+	}
+}
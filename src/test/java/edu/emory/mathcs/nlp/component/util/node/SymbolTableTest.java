@@ -0,0 +1,81 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SymbolTableTest
+{
+	@Test
+	public void test()
+	{
+		SymbolTable table = new SymbolTable();
+		
+		assertEquals(0, table.add("NN"));
+		assertEquals(1, table.add("VB"));
+		assertEquals(0, table.add(new String("NN")));
+		assertEquals(-1, table.add(null));
+		assertEquals(-1, table.indexOf("JJ"));
+		assertEquals(2, table.size());
+		
+		assertEquals("VB", table.get(1));
+		assertEquals(null, table.get(-1));
+		assertSame(table.get(0), table.intern(new String("NN")));
+	}
+	
+	@Test
+	public void testReset()
+	{
+		SymbolTable table = new SymbolTable();
+		
+		for (int i=0; i<20; i++) table.add(Integer.toString(i));
+		table.mark();
+		for (int i=20; i<100; i++) table.add(Integer.toString(i));
+		table.reset();
+		
+		assertEquals(20, table.size());
+		assertEquals(19, table.indexOf("19"));
+		assertEquals(-1, table.indexOf("20"));
+		assertEquals(20, table.add("NN"));
+		assertEquals("NN", table.get(20));
+		
+		table.mark();
+		table.reset();
+		assertEquals(21, table.size());
+		assertEquals("19", table.get(19));
+	}
+	
+	@Test
+	public void testConcurrent()
+	{
+		SymbolTable table = new SymbolTable();
+		int size = 10000;
+		
+		IntStream.range(0, size * 4).parallel().forEach(i -> table.add(Integer.toString(i % size)));
+		assertEquals(size, table.size());
+		
+		for (int i=0; i<size; i++)
+			assertEquals(Integer.toString(i), table.get(table.indexOf(Integer.toString(i))));
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVByteReaderTest
+{
+	static final String TSV = "\n\nJohn\tNNP\t_\r\nlikes\tVBZ\t_\n\n\n\nM\u00e4rz\tNNP\tx=1\nok\tJJ\t_";
+	
+	static final String[][][] EXPECTED = {
+		{{"John", "NNP", "_"}, {"likes", "VBZ", "_"}},
+		{{"M\u00e4rz", "NNP", "x=1"}, {"ok", "JJ", "_"}}};
+	
+	@Test
+	public void testStream() throws IOException
+	{
+		for (int size : new int[]{1, 4, 1024})
+		{
+			TSVByteReader<String[]> reader = new TSVByteReader<>(new StringIndex(null), size);
+			reader.open(new ByteArrayInputStream(TSV.getBytes(StandardCharsets.UTF_8)));
+			check(reader, EXPECTED);
+		}
+	}
+	
+	@Test
+	public void testFile() throws IOException
+	{
+		File plain = File.createTempFile("tsv", ".tsv");
+		File gzip  = File.createTempFile("tsv", ".gz");
+		plain.deleteOnExit();
+		gzip .deleteOnExit();
+		
+		try (OutputStream out = new FileOutputStream(plain)) {out.write(TSV.getBytes(StandardCharsets.UTF_8));}
+		try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip))) {out.write(TSV.getBytes(StandardCharsets.UTF_8));}
+		
+		for (int size : new int[]{1, 8, 1024})
+		{
+			TSVByteReader<String[]> reader = new TSVByteReader<>(new StringIndex(null), size);
+			reader.open(plain.getPath());
+			check(reader, EXPECTED);
+			
+			reader.open(gzip.getPath());
+			check(reader, EXPECTED);
+		}
+	}
+	
+	@Test
+	public void testColumns() throws IOException
+	{
+		TSVByteReader<String[]> reader = new TSVByteReader<>(new StringIndex(new int[]{0, -1}), 4);
+		reader.open(new ByteArrayInputStream(TSV.getBytes(StandardCharsets.UTF_8)));
+		String[][] nodes = reader.next();
+		
+		assertEquals(2, nodes.length);
+		assertArrayEquals(new String[]{"John"} , nodes[0]);
+		assertArrayEquals(new String[]{"likes"}, nodes[1]);
+		
+		reader.setIndex(new StringIndex(new int[]{2}));
+		nodes = reader.next();
+		assertNull(nodes[0][0]);
+		assertNull(nodes[0][1]);
+		assertEquals("x=1", nodes[0][2]);
+		assertNull(reader.next());
+	}
+	
+	void check(TSVReader<String[]> reader, String[][][] expected) throws IOException
+	{
+		for (String[][] sentence : expected)
+		{
+			String[][] nodes = reader.next();
+			assertEquals(sentence.length, nodes.length);
+			for (int i=0; i<sentence.length; i++) assertArrayEquals(sentence[i], nodes[i]);
+		}
+		
+		assertNull(reader.next());
+		reader.close();
+	}
+	
+	class StringIndex implements TSVIndex<String[]>
+	{
+		int[] columns;
+		
+		public StringIndex(int[] columns)
+		{
+			this.columns = columns;
+		}
+		
+		@Override
+		public String[][] toNodeList(List<String[]> values)
+		{
+			return values.toArray(new String[values.size()][]);
+		}
+		
+		@Override
+		public int[] getColumns()
+		{
+			return columns;
+		}
+	}
+}
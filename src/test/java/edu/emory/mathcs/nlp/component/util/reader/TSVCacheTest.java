@@ -0,0 +1,107 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVCacheTest
+{
+	@Test
+	public void test() throws IOException
+	{
+		File source = File.createTempFile("tsv", ".tsv");
+		source.deleteOnExit();
+		write(source, "1\tJohn\tNNP\t2\tnsubj\n2\tlikes\tVBZ\t0\troot\n\n1\tM\u00e4rz\t_\t0\troot\n");
+		
+		TSVCache<String[]> cache = new TSVCache<>(new StringIndex(new int[]{1, -1, 3, 1}));
+		String cacheFile = cache.getCacheFile(source.getPath());
+		new File(cacheFile).deleteOnExit();
+		assertFalse(cache.isValid(source.getPath(), cacheFile));
+		
+		List<String[][]> sentences = read(cache, source);
+		assertTrue(cache.isValid(source.getPath(), cacheFile));
+		assertEquals(2, sentences.size());
+		assertArrayEquals(new String[]{null, "John", null, "2"}, sentences.get(0)[0]);
+		assertArrayEquals(new String[]{null, "likes", null, "0"}, sentences.get(0)[1]);
+		assertArrayEquals(new String[]{null, "M\u00e4rz", null, "0"}, sentences.get(1)[0]);
+		
+		// read from the cache
+		sentences = read(cache, source);
+		assertEquals(2, sentences.size());
+		assertArrayEquals(new String[]{null, "likes", null, "0"}, sentences.get(0)[1]);
+		
+		// the source changes
+		write(source, "1\tYes\tUH\t0\troot\n");
+		assertFalse(cache.isValid(source.getPath(), cacheFile));
+		sentences = read(cache, source);
+		assertEquals(1, sentences.size());
+		assertArrayEquals(new String[]{null, "Yes", null, "0"}, sentences.get(0)[0]);
+		
+		// different columns
+		assertFalse(new TSVCache<>(new StringIndex(new int[]{1, 2})).isValid(source.getPath(), cacheFile));
+	}
+	
+	List<String[][]> read(TSVCache<String[]> cache, File source)
+	{
+		List<String[][]> sentences = new ArrayList<>();
+		cache.forEach(Collections.singletonList(source.getPath()), sentences::add);
+		return sentences;
+	}
+	
+	void write(File file, String s) throws IOException
+	{
+		try (OutputStream out = new FileOutputStream(file)) {out.write(s.getBytes(StandardCharsets.UTF_8));}
+	}
+	
+	class StringIndex implements TSVIndex<String[]>
+	{
+		int[] columns;
+		
+		public StringIndex(int[] columns)
+		{
+			this.columns = columns;
+		}
+		
+		@Override
+		public String[][] toNodeList(List<String[]> values)
+		{
+			return values.toArray(new String[values.size()][]);
+		}
+		
+		@Override
+		public int[] getColumns()
+		{
+			return columns;
+		}
+	}
+}
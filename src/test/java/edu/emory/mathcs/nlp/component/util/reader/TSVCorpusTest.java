@@ -0,0 +1,90 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.component.util.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class TSVCorpusTest
+{
+	@Test
+	public void test() throws IOException
+	{
+		List<String> expected = new ArrayList<>();
+		List<String> filenames = Arrays.asList(createFile(expected, 50, "\n"), createFile(expected, 30, "\r\n"));
+		TSVIndex<String[]> index = values -> values.toArray(new String[values.size()][]);
+		
+		for (long splitSize : new long[]{1, 7, 64, 1 << 20})
+		{
+			TSVCorpus<String[]> corpus = new TSVCorpus<>(index, filenames, splitSize);
+			assertTrue(splitSize > 100 || corpus.getSplits().size() > 2);
+			assertEquals(expected, corpus.stream(false).map(this::toString).collect(Collectors.toList()));
+			assertEquals(expected, corpus.stream(true) .map(this::toString).collect(Collectors.toList()));
+			
+			List<String> actual = new ArrayList<>();
+			corpus.forEach(nodes -> actual.add(toString(nodes)), 3);
+			assertEquals(expected, actual);
+		}
+	}
+	
+	/** Writes sentences of various lengths separated by one or more blank lines. */
+	String createFile(List<String> sentences, int size, String newline) throws IOException
+	{
+		File file = File.createTempFile("tsv", ".tsv");
+		file.deleteOnExit();
+		StringBuilder build = new StringBuilder();
+		StringBuilder sentence;
+		
+		for (int i=0; i<size; i++)
+		{
+			sentence = new StringBuilder();
+			
+			for (int j=0; j<=i%5; j++)
+			{
+				build.append(i).append('\t').append(j).append(newline);
+				sentence.append(i).append(':').append(j).append(' ');
+			}
+			
+			for (int j=0; j<=i%3; j++) build.append(newline);
+			sentences.add(sentence.toString());
+		}
+		
+		try (OutputStream out = new FileOutputStream(file)) {out.write(build.toString().getBytes(StandardCharsets.UTF_8));}
+		return file.getPath();
+	}
+	
+	String toString(String[][] nodes)
+	{
+		StringBuilder build = new StringBuilder();
+		for (String[] node : nodes) build.append(node[0]).append(':').append(node[1]).append(' ');
+		return build.toString();
+	}
+}
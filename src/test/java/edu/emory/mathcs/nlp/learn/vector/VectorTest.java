@@ -15,6 +15,11 @@
  */
 package edu.emory.mathcs.nlp.learn.vector;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import junit.framework.TestCase;
 
 import org.junit.Test;
@@ -67,4 +72,23 @@ public class VectorTest extends TestCase
 		
 		assertEquals("2:B:1.0 4:A:0.2 1:A:0.3 3:C:1.0", vector.toString());
 	}
+	
+	@Test
+	public void testDenseItem() throws Exception
+	{
+		DenseItem item = new DenseItem(1, new float[100000], 50, 50);
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(item);
+		out.close();
+		
+		// the shared array is not serialized
+		assertTrue(bout.size() < 1000);
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		item = (DenseItem)in.readObject();
+		
+		assertEquals(1, item.getIndex());
+		assertEquals(0, item.getLength());
+		assertEquals("1:dense[0]", item.toString());
+	}
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.learn.weight;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.learn.util.Prediction;
+import edu.emory.mathcs.nlp.learn.vector.DenseItem;
+import edu.emory.mathcs.nlp.learn.vector.IndexValuePair;
+import edu.emory.mathcs.nlp.learn.vector.SparseVector;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class MultinomialWeightVectorTest
+{
+	@Test
+	public void testBatchScores()
+	{
+		MultinomialWeightVector w = new MultinomialWeightVector(3, 10000);
+		List<SparseVector> xs = new ArrayList<>();
+		SparseVector x;
+		int i;
+		
+		for (i=0; i<w.toArray().length; i++)
+			w.toArray()[i] = (i % 7) * 0.1f - 0.3f;
+		
+		x = new SparseVector();	x.add(1);	x.add(500, 0.5f);	x.add(9999);	xs.add(x);
+		x = new SparseVector();	x.add(9998, 2f);	x.add(3);	xs.add(x);
+		x = new SparseVector();	x.add(20000);	xs.add(x);
+		xs.add(new SparseVector());
+		
+		double[][] scores = w.scores(xs);
+		Prediction[] ps = w.predictBest(xs);
+		
+		for (i=0; i<xs.size(); i++)
+		{
+			assertArrayEquals(w.scores(xs.get(i)), scores[i], 1e-6);
+			assertEquals(w.predictBest(xs.get(i)).getLabel(), ps[i].getLabel());
+		}
+	}
+	
+	@Test
+	public void testDenseScores()
+	{
+		MultinomialWeightVector w = new MultinomialWeightVector(3, 100);
+		float[] matrix = {0.5f, -1f, 2f, 0.25f, 3f, -0.5f};
+		List<SparseVector> xs = new ArrayList<>();
+		SparseVector x;
+		int i, y;
+		
+		for (i=0; i<w.toArray().length; i++)
+			w.toArray()[i] = (i % 5) * 0.1f - 0.2f;
+		
+		x = new SparseVector();	x.add(1);	x.addDense(new DenseItem(90, matrix, 0, 3));	x.addDense(new DenseItem(93, matrix, 3, 3));	xs.add(x);
+		x = new SparseVector();	x.addDense(new DenseItem(50, matrix, 2, 4));	x.add(7, 0.5f);	xs.add(x);
+		x = new SparseVector();	x.addDense(new DenseItem(98, matrix, 0, 3));	xs.add(x);	// out of range
+		
+		double[][] scores = w.scores(xs);
+		
+		for (i=0; i<xs.size(); i++)
+		{
+			double[] expected = new double[3];
+			
+			for (IndexValuePair p : xs.get(i))
+				if (p.getIndex() < 100)
+					for (y=0; y<3; y++) expected[y] += w.toArray()[w.indexOf(y, p.getIndex())] * p.getValue();
+			
+			if (i == 2) expected = new double[3];
+			assertArrayEquals(expected, w.scores(xs.get(i)), 1e-6);
+			assertArrayEquals(expected, scores[i], 1e-6);
+		}
+		
+		assertEquals(7, countPairs(xs.get(0)));
+		assertEquals(5, countPairs(xs.get(1)));
+	}
+	
+	int countPairs(SparseVector x)
+	{
+		int count = 0;
+		for (@SuppressWarnings("unused") IndexValuePair p : x) count++;
+		return count;
+	}
+}
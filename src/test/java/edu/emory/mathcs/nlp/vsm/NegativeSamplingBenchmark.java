@@ -0,0 +1,125 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.common.util.Sigmoid;
+import edu.emory.mathcs.nlp.vsm.optimizer.Optimizer;
+import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Compares skip-gram training speed with the allocation-free negative sampler against the previous sampler,
+ * which collected deduplicated samples into a new hash set per (word, context) pair.
+ * The corpus size is set by -Dtokens (default: 50M tokens, about 300MB).
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class NegativeSamplingBenchmark
+{
+	@Test
+	public void benchmark() throws Exception
+	{
+		File corpus = Word2VecScalingBenchmark.createCorpus(Integer.getInteger("tokens", 50000000), 100000);
+		File output = File.createTempFile("w2v", ".txt");
+		output.deleteOnExit();
+		
+		for (int i=0; i<2; i++)
+		{
+			run("hash set", corpus, output, true);
+			run("allocation-free", corpus, output, false);
+		}
+	}
+	
+	void run(String name, File corpus, File output, boolean hashSet) throws Exception
+	{
+		Word2Vec w2v = new Word2Vec()
+		{
+			@Override
+			Optimizer createOptimizer()
+			{
+				return hashSet ? new HashSetNegativeSampling(vocab, sigmoid, vector_size, negative_size) : super.createOptimizer();
+			}
+		};
+		
+		w2v.output_file = output.getPath();
+		w2v.train_iteration = 1;
+		w2v.report_interval = 0;
+		w2v.train(Collections.singletonList(corpus.getPath()));
+		System.out.printf("%-16s: %10.1f words/sec\n", name, w2v.word_count_global.sum() / (w2v.train_time / 1e9));
+	}
+	
+	/** The previous sampler. */
+	class HashSetNegativeSampling extends Optimizer
+	{
+		int[] dist_table;
+		int   sample_size;
+		
+		public HashSetNegativeSampling(Vocabulary vocab, Sigmoid sigmoid, int vectorSize, int sampleSize)
+		{
+			super(vocab, sigmoid, vectorSize);
+			sample_size = sampleSize;
+			
+			double d, Z = vocab.list().stream().mapToDouble(v -> Math.pow(v.count, 0.75)).sum();
+			int bIdx, eIdx = 0, size = vocab.size() * sample_size * 10;
+			dist_table = new int[size];
+			
+			for (int i=0; i<vocab.size(); i++)
+			{
+				d = Math.pow(vocab.get(i).count, 0.75) / Z;
+				bIdx  = eIdx;
+				eIdx += (int)(d * size);
+				Arrays.fill(dist_table, bIdx, eIdx, i);
+			}
+			
+			if (eIdx < size) dist_table = Arrays.copyOf(dist_table, eIdx);
+		}
+		
+		@Override
+		public void learnBagOfWords(Random rand, int word, float[] syn1, float[] neu1, float[] neu1e, double alpha)
+		{
+			learnBagOfWords(1, word, syn1, neu1, neu1e, alpha);
+			for (int sample : getNegativeSamples(rand, word)) learnBagOfWords(0, sample, syn1, neu1, neu1e, alpha);
+		}
+		
+		@Override
+		public void learnSkipGram(Random rand, int word, float[] syn0, float[] syn1, float[] neu1e, double alpha, int l1)
+		{
+			learnSkipGram(1, word, syn0, syn1, neu1e, alpha, l1);
+			for (int sample : getNegativeSamples(rand, word)) learnSkipGram(0, sample, syn0, syn1, neu1e, alpha, l1);
+		}
+		
+		private int[] getNegativeSamples(Random rand, int word)
+		{
+			IntSet set = new IntOpenHashSet();
+			int target;
+			
+			while (set.size() < sample_size)
+			{
+				target = dist_table[rand.nextInt(Integer.MAX_VALUE) % dist_table.length];
+				if (target != word) set.add(target);
+			}
+			
+			return set.toIntArray();
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Compares the training speed of the subword mode against the word-only mode for skip-gram and CBOW.
+ * The corpus size is set by -Dtokens (default: 5M tokens) and the number of buckets by -Dbucket (default: 2M).
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SubwordBenchmark
+{
+	@Test
+	public void benchmark() throws Exception
+	{
+		File corpus = Word2VecScalingBenchmark.createCorpus(Integer.getInteger("tokens", 5000000), 20000);
+		File output = File.createTempFile("w2v", ".txt");
+		output.deleteOnExit();
+		new File(output.getPath()+".subword").deleteOnExit();
+		
+		for (boolean cbow : new boolean[]{false, true})
+		{
+			double base = run(corpus, output, cbow, false);
+			double sub  = run(corpus, output, cbow, true);
+			System.out.printf("%-9s: word-only %10.1f words/sec, subword %10.1f words/sec (%.2fx)\n", cbow ? "cbow" : "skip-gram", base, sub, sub / base);
+		}
+	}
+	
+	double run(File corpus, File output, boolean cbow, boolean subword) throws Exception
+	{
+		Word2Vec w2v = new Word2Vec();
+		w2v.output_file = output.getPath();
+		w2v.thread_size = Runtime.getRuntime().availableProcessors();
+		w2v.train_iteration = 1;
+		w2v.report_interval = 0;
+		w2v.cbow = cbow;
+		w2v.subword = subword;
+		w2v.subword_bucket = Integer.getInteger("bucket", 2000000);
+		w2v.train(Collections.singletonList(corpus.getPath()));
+		return w2v.word_count_global.sum() / (w2v.train_time / 1e9);
+	}
+}
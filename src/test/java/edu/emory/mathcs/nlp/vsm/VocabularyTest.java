@@ -23,6 +23,7 @@ import java.util.Arrays;
 import org.junit.Test;
 
 import edu.emory.mathcs.nlp.common.constant.StringConst;
+import edu.emory.mathcs.nlp.vsm.util.CountMinSketch;
 import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
 import edu.emory.mathcs.nlp.vsm.util.Word;
 
@@ -113,4 +114,24 @@ public class VocabularyTest
 //		vocab.reduce();
 //		assertEquals("A:3", vocab.toString());
 	}
+	
+	@Test
+	public void testReduceMaxSize()
+	{
+		Vocabulary vocab = new Vocabulary();
+		CountMinSketch removed = new CountMinSketch(4, 64);
+		
+		vocab.add("A", 1); vocab.add("B", 2); vocab.add("C", 2);
+		vocab.add("D", 3); vocab.add("E", 2);
+		
+		// B, C, and E are tied at the cutoff, where the earliest ones are kept
+		assertEquals(7, vocab.reduce(3, removed));
+		assertEquals("B:2 C:2 D:3", vocab.toString());
+		assertTrue(removed.get("E") >= 2);
+		assertTrue(removed.get("A") >= 1);
+		
+		assertEquals(7, vocab.reduce(3, removed));
+		assertEquals(0, vocab.reduce(0, removed));
+		assertEquals(0, vocab.size());
+	}
 }
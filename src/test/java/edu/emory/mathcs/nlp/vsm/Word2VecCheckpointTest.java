@@ -0,0 +1,157 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.vsm.reader.InputShard;
+import edu.emory.mathcs.nlp.vsm.util.Checkpoint;
+import edu.emory.mathcs.nlp.vsm.util.CheckpointWriter;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class Word2VecCheckpointTest
+{
+	@Test
+	public void testResume() throws Exception
+	{
+		List<String> filenames = Collections.singletonList(Word2VecScalingBenchmark.createCorpus(20000, 500).getPath());
+		File checkpointFile = File.createTempFile("w2v", ".ckpt");
+		checkpointFile.delete();
+		checkpointFile.deleteOnExit();
+		
+		Word2Vec w2v = create(1, null);
+		w2v.train(filenames);
+		assertEquals(w2v.word_count_train, w2v.word_count_global.sum());
+		
+		// as if the first of two iterations was completed by every task when the checkpoint was taken
+		List<InputShard> shards = InputShard.split(filenames, w2v.thread_size);
+		Checkpoint checkpoint = new Checkpoint();
+		checkpoint.vocab            = w2v.vocab;
+		checkpoint.word_count_train = w2v.word_count_train;
+		checkpoint.vector_size      = w2v.vector_size;
+		checkpoint.shard_sizes      = shards.stream().mapToLong(InputShard::size).toArray();
+		checkpoint.progress         = new long[shards.size()][];
+		checkpoint.W = w2v.W;
+		checkpoint.V = w2v.V;
+		
+		for (int i=0; i<shards.size(); i++)
+			checkpoint.progress[i] = new long[]{1, 0, (i == 0) ? w2v.word_count_train : 0};
+		
+		checkpoint.save(checkpointFile.getPath());
+		
+		Checkpoint loaded = Checkpoint.load(checkpointFile.getPath());
+		assertEquals(checkpoint.vocab.toString(), loaded.vocab.toString());
+		assertArrayEquals(checkpoint.W, loaded.W, 0);
+		assertArrayEquals(checkpoint.V, loaded.V, 0);
+		
+		// resumes the second iteration only
+		Word2Vec resumed = create(2, checkpointFile.getPath());
+		resumed.train(filenames);
+		assertEquals(2 * w2v.word_count_train, resumed.word_count_global.sum());
+		assertEquals(w2v.word_count_train, resumed.word_count_resumed);
+		
+		// every task has completed all iterations
+		resumed = create(2, checkpointFile.getPath());
+		checkpoint.progress[0] = new long[]{2, 0, 2 * w2v.word_count_train};
+		for (int i=1; i<shards.size(); i++) checkpoint.progress[i][0] = 2;
+		checkpoint.save(checkpointFile.getPath());
+		resumed.train(filenames);
+		assertEquals(2 * w2v.word_count_train, resumed.word_count_global.sum());
+		assertArrayEquals(checkpoint.W, resumed.W, 0);
+		
+		// mismatching shards
+		resumed = create(2, checkpointFile.getPath());
+		resumed.thread_size = 3;
+		
+		try
+		{
+			resumed.train(filenames);
+			assertTrue(false);
+		}
+		catch (IOException e) {}
+	}
+	
+	@Test
+	public void testWriter() throws Exception
+	{
+		File checkpointFile = File.createTempFile("w2v", ".ckpt");
+		checkpointFile.deleteOnExit();
+		Word2Vec w2v = create(1, null);
+		w2v.train(Collections.singletonList(Word2VecScalingBenchmark.createCorpus(5000, 100).getPath()));
+		
+		CheckpointWriter writer = new CheckpointWriter(checkpointFile.getPath(), c -> w2v.snapshot(c, new long[]{1}, new Word2Vec.TrainTask[0]));
+		assertTrue(writer.checkpoint());
+		assertTrue(writer.checkpoint());
+		writer.close();
+		
+		Checkpoint checkpoint = Checkpoint.load(checkpointFile.getPath());
+		assertEquals(w2v.vocab.size(), checkpoint.vocab.size());
+		assertEquals(w2v.word_count_train, checkpoint.word_count_train);
+		assertArrayEquals(w2v.W, checkpoint.W, 0);
+		assertArrayEquals(w2v.V, checkpoint.V, 0);
+	}
+	
+	@Test
+	public void testWriterFailure() throws Exception
+	{
+		File checkpointFile = File.createTempFile("w2v", ".ckpt");
+		checkpointFile.deleteOnExit();
+		AtomicInteger failures = new AtomicInteger(3);
+		
+		CheckpointWriter writer = new CheckpointWriter(checkpointFile.getPath(), c ->
+		{
+			if (failures.getAndDecrement() > 0) throw new IllegalStateException("snapshot");
+			c.W = new float[]{1, 2};
+			c.V = new float[]{3, 4};
+		});
+		
+		// the buffers are returned so both are still available once the snapshot succeeds
+		for (int i=0; i<3; i++) assertFalse(writer.checkpoint());
+		assertTrue(writer.checkpoint());
+		assertTrue(writer.checkpoint());
+		writer.close();
+		assertArrayEquals(new float[]{1, 2}, Checkpoint.load(checkpointFile.getPath()).W, 0);
+	}
+	
+	Word2Vec create(int iterations, String checkpointFile) throws IOException
+	{
+		File output = File.createTempFile("w2v", ".txt");
+		output.deleteOnExit();
+		
+		Word2Vec w2v = new Word2Vec();
+		w2v.output_file = output.getPath();
+		w2v.thread_size = 2;
+		w2v.vector_size = 20;
+		w2v.min_count = 1;
+		w2v.train_iteration = iterations;
+		w2v.report_interval = 0;
+		w2v.checkpoint_file = checkpointFile;
+		return w2v;
+	}
+}
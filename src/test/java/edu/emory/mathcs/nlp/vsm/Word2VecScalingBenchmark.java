@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Measures how training speed scales with the number of threads on one large file, which is divided into byte-range shards.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class Word2VecScalingBenchmark
+{
+	@Test
+	public void benchmark() throws Exception
+	{
+		File corpus = createCorpus(5000000, 20000);
+		File output = File.createTempFile("w2v", ".txt");
+		output.deleteOnExit();
+		double base = 0;
+		
+		for (int threads : new int[]{1, 2, 4, 8, 16, 32})
+		{
+			Word2Vec w2v = new Word2Vec();
+			w2v.output_file = output.getPath();
+			w2v.thread_size = threads;
+			w2v.train_iteration = 1;
+			w2v.report_interval = 0;
+			w2v.train(Collections.singletonList(corpus.getPath()));
+			
+			double speed = w2v.word_count_global.sum() / (w2v.train_time / 1e9);
+			if (threads == 1) base = speed;
+			System.out.printf("threads = %2d: %10.1f words/sec, speedup = %5.2f\n", threads, speed, speed / base);
+		}
+	}
+	
+	/** @return a file of random sentences whose words follow a Zipfian distribution. */
+	static File createCorpus(int tokens, int types) throws IOException
+	{
+		File file = File.createTempFile("w2v", ".txt");
+		file.deleteOnExit();
+		
+		double[] cdf = new double[types];
+		double sum = 0;
+		
+		for (int i=0; i<types; i++) cdf[i] = sum += 1d / (i + 1);
+		for (int i=0; i<types; i++) cdf[i] /= sum;
+		
+		Random rand = new Random(1);
+		int i, j, index;
+		
+		try (BufferedWriter out = new BufferedWriter(new FileWriter(file)))
+		{
+			for (i=0; i<tokens; )
+			{
+				for (j=10+rand.nextInt(20); j>0; j--,i++)
+				{
+					index = Arrays.binarySearch(cdf, rand.nextDouble());
+					out.write("w"+(index < 0 ? -index-1 : index));
+					out.write(j > 1 ? ' ' : '\n');
+				}
+			}
+		}
+		
+		return file;
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.optimizer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Measures the kernels of {@link Optimizer} in nanoseconds per call for vector sizes 100, 300, and 500.
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class OptimizerKernelBenchmark
+{
+	static final int ROWS = 256;
+	
+	@Test
+	public void benchmark()
+	{
+		Random rand = new Random(1);
+		
+		for (int n : new int[]{100, 300, 500})
+		{
+			float[] syn0 = new float[ROWS * n];
+			float[] syn1 = new float[ROWS * n];
+			for (int i=0; i<syn0.length; i++) {syn0[i] = rand.nextFloat() - 0.5f; syn1[i] = rand.nextFloat() - 0.5f;}
+			int[] rows = rand.ints(1 << 20, 0, ROWS).toArray();
+			
+			for (int iter=0; iter<5; iter++)
+			{
+				float s = 0, u = 0;
+				long st;
+				
+				st = System.nanoTime();
+				for (int i=0; i<rows.length-1; i++) s += Optimizer.dotScalar(syn0, rows[i] * n, syn1, rows[i+1] * n, n);
+				double dotScalar = (System.nanoTime() - st) / (double)rows.length;
+				
+				st = System.nanoTime();
+				for (int i=0; i<rows.length-1; i++) u += Optimizer.dotUnrolled(syn0, rows[i] * n, syn1, rows[i+1] * n, n);
+				double dotUnrolled = (System.nanoTime() - st) / (double)rows.length;
+				assertEquals(s, u, Math.abs(s) * 1e-3 + 1);
+				
+				st = System.nanoTime();
+				for (int i=0; i<rows.length-1; i++) Optimizer.axpy(1e-6f, syn0, rows[i] * n, syn1, rows[i+1] * n, n);
+				double axpy = (System.nanoTime() - st) / (double)rows.length;
+				
+				System.out.printf("size = %3d: dot (plain) %6.1f ns, dot (unrolled) %6.1f ns, axpy %6.1f ns\n", n, dotScalar, dotUnrolled, axpy);
+			}
+		}
+	}
+}
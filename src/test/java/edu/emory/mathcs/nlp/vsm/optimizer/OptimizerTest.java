@@ -0,0 +1,54 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.optimizer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class OptimizerTest
+{
+	@Test
+	public void testKernels()
+	{
+		Random rand = new Random(1);
+		
+		for (int n : new int[]{0, 1, 3, 4, 5, 100, 301})
+		{
+			float[] x = random(rand, n + 7);
+			float[] y = random(rand, n + 5);
+			float[] z = y.clone();
+			
+			assertEquals(Optimizer.dotScalar(x, 7, y, 5, n), Optimizer.dotUnrolled(x, 7, y, 5, n), 1e-4);
+			Optimizer.axpy(0.5f, x, 7, z, 5, n);
+			
+			for (int k=0; k<y.length; k++)
+				assertEquals((k < 5 || k >= n+5) ? y[k] : y[k] + 0.5f * x[k+2], z[k], 1e-6);
+		}
+	}
+	
+	float[] random(Random rand, int n)
+	{
+		float[] x = new float[n];
+		for (int i=0; i<n; i++) x[i] = rand.nextFloat() - 0.5f;
+		return x;
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class InputShardTest
+{
+	@Test
+	public void test() throws IOException
+	{
+		List<String> expected = new ArrayList<>();
+		List<String> filenames = Arrays.asList(createFile(expected, 100), createFile(expected, 7), createFile(expected, 300));
+		
+		for (int size : new int[]{1, 3, 8, 64})
+		{
+			List<InputShard> shards = InputShard.split(filenames, size);
+			List<String> actual = new ArrayList<>();
+			long total = 0, max = 0;
+			
+			assertTrue(shards.size() <= size);
+			
+			for (InputShard shard : shards)
+			{
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(shard.open())))
+				{
+					String line;
+					while ((line = reader.readLine()) != null) actual.add(line);
+				}
+				
+				total += shard.size();
+				max = Math.max(max, shard.size());
+			}
+			
+			assertEquals(expected, actual);
+			if (size <= 8) assertTrue(max <= total / size + 40);
+		}
+	}
+	
+	@Test
+	public void testMissingNewline() throws IOException
+	{
+		List<String> filenames = new ArrayList<>();
+		
+		// the last lines of the files do not end with newlines
+		for (String content : new String[]{"a b\nc d", "e f\ng h", "i j"})
+		{
+			File file = File.createTempFile("shard", ".txt");
+			file.deleteOnExit();
+			try (Writer out = new FileWriter(file)) {out.write(content);}
+			filenames.add(file.getPath());
+		}
+		
+		for (int size : new int[]{1, 2, 3})
+		{
+			List<String> actual = new ArrayList<>();
+			
+			for (InputShard shard : InputShard.split(filenames, size))
+			{
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(shard.open())))
+				{
+					String line;
+					while ((line = reader.readLine()) != null) actual.add(line);
+				}
+			}
+			
+			assertEquals(Arrays.asList("a b", "c d", "e f", "g h", "i j"), actual);
+		}
+	}
+	
+	String createFile(List<String> lines, int size) throws IOException
+	{
+		File file = File.createTempFile("shard", ".txt");
+		file.deleteOnExit();
+		
+		try (Writer out = new FileWriter(file))
+		{
+			for (int i=0; i<size; i++)
+			{
+				String line = "line "+lines.size()+" "+(i % 7 == 0 ? "long long long" : "");
+				out.write(line+"\n");
+				lines.add(line);
+			}
+		}
+		
+		return file.getPath();
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.emory.mathcs.nlp.vsm.util.Vocabulary;
+import edu.emory.mathcs.nlp.vsm.util.Word;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class ReaderTest
+{
+	@Test
+	public void testLearn() throws IOException
+	{
+		List<String> filenames = Arrays.asList(createFile(new Random(1), 2000), createFile(new Random(2), 50), createFile(new Random(3), 3000));
+		Vocabulary serial = learn(filenames, 1, 0);
+		
+		// exact counts and the same order of ties regardless of the number of threads
+		for (int threads : new int[]{2, 3, 8})
+			assertEquals(serial.toString(), learn(filenames, threads, 0).toString());
+		
+		// capacity large enough for every thread to keep every word
+		assertEquals(serial.toString(), learn(filenames, 4, serial.size() * 4).toString());
+		
+		// bounded: the capacity is shared by the threads, frequent words are kept and their counts are never under-estimated
+		Vocabulary approx = learn(filenames, 4, 100);
+		assertTrue(approx.size() <= 100);
+		int index;
+		
+		for (Word w : serial.list())
+		{
+			index = approx.indexOf(w.form);
+			if (w.count >= 300) assertTrue(w.form, index >= 0);
+			if (index >= 0) assertTrue(w.form, approx.get(index).count >= w.count);
+		}
+	}
+	
+	Vocabulary learn(List<String> filenames, int threads, int capacity) throws IOException
+	{
+		Vocabulary vocab = new Vocabulary();
+		new SentenceReader().learn(filenames, vocab, 1, threads, capacity);
+		return vocab;
+	}
+	
+	/** Words follow a Zipfian distribution over 500 types. */
+	String createFile(Random rand, int lines) throws IOException
+	{
+		File file = File.createTempFile("vocab", ".txt");
+		file.deleteOnExit();
+		
+		try (Writer out = new FileWriter(file))
+		{
+			for (int i=0; i<lines; i++)
+			{
+				for (int j=rand.nextInt(10); j>=0; j--)
+					out.write("w"+(int)Math.pow(500, rand.nextDouble())+" ");
+				
+				out.write("\n");
+			}
+		}
+		
+		return file.getAbsolutePath();
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Measures the queries per second of the exact and the LSH searches, and the recall@10 of the LSH search against the exact one.
+ * The number of words is set by -Dwords (default: 1M) and the dimension by -Ddimension (default: 100).
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SimilaritySearchBenchmark
+{
+	static final int K = 10, QUERIES = 200;
+	
+	@Test
+	public void benchmark()
+	{
+		int size = Integer.getInteger("words", 1000000), dimension = Integer.getInteger("dimension", 100);
+		List<String> words = SimilaritySearchTest.createWords(size);
+		float[] vectors = SimilaritySearchTest.createVectors(new Random(1), size, dimension, size / 100);
+		ExactSimilaritySearch exact = new ExactSimilaritySearch(words, vectors, dimension);
+		System.out.printf("%d words x %d dimensions\n", size, dimension);
+		
+		System.out.printf("%-16s: %10.1f queries/sec\n", "exact", qps(exact, words));
+		System.out.printf("%-16s: %10.1f queries/sec\n", "exact (batch)", qpsBatch(exact, vectors, dimension));
+		
+		int bits = LSHSimilaritySearch.getBitSize(size);
+		
+		for (int tables : new int[]{8, 16, 32})
+		{
+			for (int b=bits; b<=bits+2; b+=2)
+			{
+				long st = System.nanoTime();
+				LSHSimilaritySearch lsh = new LSHSimilaritySearch(words, vectors, dimension, tables, b, 1);
+				double build = (System.nanoTime() - st) / 1e9;
+				String name = "lsh "+tables+"x"+b;
+				System.out.printf("%-16s: %10.1f queries/sec, recall@%d = %5.3f, build = %.1f sec\n", name, qps(lsh, words), K, recall(exact, lsh, words), build);
+			}
+		}
+	}
+	
+	double qps(SimilaritySearch search, List<String> words)
+	{
+		Random rand = new Random(2);
+		for (int i=0; i<QUERIES; i++) search.nearest(words.get(rand.nextInt(words.size())), K);
+		
+		long st = System.nanoTime();
+		for (int i=0; i<QUERIES; i++) search.nearest(words.get(rand.nextInt(words.size())), K);
+		return QUERIES / ((System.nanoTime() - st) / 1e9);
+	}
+	
+	double qpsBatch(ExactSimilaritySearch search, float[] vectors, int dimension)
+	{
+		Random rand = new Random(3);
+		float[][] queries = new float[QUERIES][dimension];
+		
+		for (float[] query : queries)
+			System.arraycopy(vectors, rand.nextInt(search.size()) * dimension, query, 0, dimension);
+		
+		search.nearest(queries, K);
+		long st = System.nanoTime();
+		search.nearest(queries, K);
+		return QUERIES / ((System.nanoTime() - st) / 1e9);
+	}
+	
+	double recall(SimilaritySearch exact, SimilaritySearch approx, List<String> words)
+	{
+		Random rand = new Random(4);
+		int found = 0, total = 0;
+		
+		for (int q=0; q<QUERIES; q++)
+		{
+			String word = words.get(rand.nextInt(words.size()));
+			Neighbor[] e = exact .nearest(word, K);
+			Neighbor[] a = approx.nearest(word, K);
+			total += e.length;
+			
+			for (Neighbor n : e)
+				for (Neighbor m : a)
+					if (n.index == m.index) {found++; break;}
+		}
+		
+		return (double)found / total;
+	}
+}
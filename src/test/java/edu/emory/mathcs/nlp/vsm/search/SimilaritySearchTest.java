@@ -0,0 +1,156 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SimilaritySearchTest
+{
+	@Test
+	public void testExact()
+	{
+		int size = 10000, dimension = 20, k = 10;
+		List<String> words = createWords(size);
+		float[] vectors = createVectors(new Random(1), size, dimension, 100);
+		ExactSimilaritySearch search = new ExactSimilaritySearch(words, vectors, dimension);
+		
+		assertNull(search.nearest("unknown", k));
+		assertEquals(0, search.nearest(words.get(0), 0).length);
+		assertEquals(0, search.nearest(new float[dimension], -1).length);
+		float[][] queries = new float[5][];
+		
+		for (int q=0; q<queries.length; q++)
+		{
+			int index = q * 997;
+			Neighbor[] expected = bruteForce(vectors, dimension, index, k);
+			Neighbor[] actual = search.nearest(words.get(index), k);
+			assertEquals(k, actual.length);
+			
+			for (int i=0; i<k; i++)
+			{
+				assertTrue(actual[i].index != index);
+				assertEquals(expected[i].score, actual[i].score, 1e-4);
+			}
+			
+			queries[q] = new float[dimension];
+			System.arraycopy(vectors, index * dimension, queries[q], 0, dimension);
+		}
+		
+		// the query word itself is the nearest when searched by its vector
+		Neighbor[][] batch = search.nearest(queries, k);
+		for (int q=0; q<queries.length; q++) assertEquals(q * 997, batch[q][0].index);
+		
+		for (int j : new int[]{0, -1})
+		{
+			batch = search.nearest(queries, j);
+			assertEquals(queries.length, batch.length);
+			for (Neighbor[] b : batch) assertEquals(0, b.length);
+		}
+	}
+	
+	@Test
+	public void testLSH()
+	{
+		int size = 10000, dimension = 20, k = 10;
+		List<String> words = createWords(size);
+		float[] vectors = createVectors(new Random(2), size, dimension, 100);
+		ExactSimilaritySearch exact = new ExactSimilaritySearch(words, vectors, dimension);
+		LSHSimilaritySearch lsh = new LSHSimilaritySearch(words, vectors, dimension, 16);
+		
+		assertEquals(LSHSimilaritySearch.getBitSize(size), lsh.getBitSize());
+		assertEquals(1, LSHSimilaritySearch.getBitSize(10));
+		assertEquals(0.9, recall(exact, lsh, words, k), 0.1);
+	}
+	
+	static double recall(SimilaritySearch exact, SimilaritySearch approx, List<String> words, int k)
+	{
+		int found = 0, total = 0;
+		
+		for (int index=0; index<words.size(); index+=101)
+		{
+			Neighbor[] e = exact .nearest(words.get(index), k);
+			Neighbor[] a = approx.nearest(words.get(index), k);
+			total += e.length;
+			
+			for (Neighbor n : e)
+				for (Neighbor m : a)
+					if (n.index == m.index) {found++; break;}
+		}
+		
+		return (double)found / total;
+	}
+	
+	static List<String> createWords(int size)
+	{
+		List<String> words = new ArrayList<>(size);
+		for (int i=0; i<size; i++) words.add("w"+i);
+		return words;
+	}
+	
+	/** @return vectors scattered around the specific number of random centers, as word vectors form clusters. */
+	static float[] createVectors(Random rand, int size, int dimension, int clusters)
+	{
+		float[] centers = new float[clusters * dimension];
+		float[] vectors = new float[size * dimension];
+		int i, j, c;
+		
+		for (i=0; i<centers.length; i++) centers[i] = (float)rand.nextGaussian();
+		
+		for (i=0; i<size; i++)
+		{
+			c = rand.nextInt(clusters) * dimension;
+			for (j=0; j<dimension; j++) vectors[i*dimension+j] = centers[c+j] + 0.5f * (float)rand.nextGaussian();
+		}
+		
+		return vectors;
+	}
+	
+	Neighbor[] bruteForce(float[] vectors, int dimension, int index, int k)
+	{
+		List<Neighbor> list = new ArrayList<>();
+		
+		for (int i=0; i<vectors.length/dimension; i++)
+			if (i != index) list.add(new Neighbor(null, i, cosine(vectors, index * dimension, i * dimension, dimension)));
+		
+		list.sort(null);
+		return list.subList(0, k).toArray(new Neighbor[k]);
+	}
+	
+	float cosine(float[] x, int xi, int yi, int n)
+	{
+		double dot = 0, xx = 0, yy = 0;
+		
+		for (int k=0; k<n; k++)
+		{
+			dot += x[xi+k] * x[yi+k];
+			xx  += x[xi+k] * x[xi+k];
+			yy  += x[yi+k] * x[yi+k];
+		}
+		
+		return (float)(dot / Math.sqrt(xx * yy));
+	}
+}
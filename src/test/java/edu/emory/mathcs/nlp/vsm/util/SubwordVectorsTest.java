@@ -0,0 +1,78 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class SubwordVectorsTest
+{
+	@Test
+	public void testRows()
+	{
+		SubwordVectors map = new SubwordVectors(Arrays.asList("where", "here"), 2, 3, 4, 1000);
+		assertEquals(1002, map.getRowSize());
+		
+		// "<where>": 5 trigrams + 4 four-grams, and the word itself
+		int[] rows = map.getRows("where");
+		assertEquals(10, rows.length);
+		assertEquals(0, rows[0]);
+		for (int i=1; i<rows.length; i++) assertTrue(rows[i] >= 2 && rows[i] < 1002);
+		
+		// unknown words have n-grams only; "<ab>" has 2 trigrams + 1 four-gram
+		assertEquals(3, map.getRows("ab").length);
+		assertEquals(0, map.getRows("").length);
+		
+		// "here>" is shared by both words
+		int[] where = map.getRows("where"), here = map.getRows("here");
+		assertTrue(Arrays.stream(where).anyMatch(r -> r > 1 && Arrays.binarySearch(here, r) >= 0));
+	}
+	
+	@Test
+	public void testVectors() throws IOException
+	{
+		int dimension = 3;
+		SubwordVectors map = new SubwordVectors(Arrays.asList("cat"), dimension, 3, 3, 16);
+		float[] vectors = new float[map.getRowSize() * dimension];
+		for (int i=0; i<vectors.length; i++) vectors[i] = i;
+		map.setVectors(vectors);
+		
+		int[] rows = map.getRows("cats");
+		float[] expected = new float[dimension];
+		
+		for (int row : rows)
+			for (int k=0; k<dimension; k++) expected[k] += vectors[row*dimension+k] / rows.length;
+		
+		assertArrayEquals(expected, map.get("cats"), 1e-4f);
+		
+		File file = File.createTempFile("subword", ".bin");
+		file.deleteOnExit();
+		map.save(file.getPath());
+		SubwordVectors loaded = SubwordVectors.load(file.getPath());
+		assertArrayEquals(map.get("cat"), loaded.get("cat"), 0);
+		assertArrayEquals(map.get("dog"), loaded.get("dog"), 0);
+	}
+}
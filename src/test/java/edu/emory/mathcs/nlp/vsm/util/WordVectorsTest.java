@@ -0,0 +1,83 @@
+/**
+ * Copyright 2015, Emory University
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.emory.mathcs.nlp.vsm.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author Jinho D. Choi ({@code jinho.choi@emory.edu})
+ */
+public class WordVectorsTest
+{
+	@Test
+	public void testFormat() throws IOException
+	{
+		File file = File.createTempFile("vectors", ".bin");
+		file.deleteOnExit();
+		WordVectors.write(file.getPath(), Arrays.asList("a", "bc"), new float[]{1, -2, 0.5f, 3}, 2);
+		
+		ByteBuffer expected = ByteBuffer.allocate(27).order(ByteOrder.LITTLE_ENDIAN);
+		expected.put("2 2\na ".getBytes()).putFloat(1).putFloat(-2).put((byte)'\n');
+		expected.put("bc ".getBytes()).putFloat(0.5f).putFloat(3).put((byte)'\n');
+		assertArrayEquals(expected.array(), Files.readAllBytes(file.toPath()));
+	}
+	
+	@Test
+	public void testLoad() throws IOException
+	{
+		List<String> words = Arrays.asList("the", "caf\u00e9", "of", "a", "word2vec", "</s>", "x");
+		int dimension = 5;
+		float[] vectors = new float[words.size() * dimension];
+		Random rand = new Random(1);
+		for (int i=0; i<vectors.length; i++) vectors[i] = rand.nextFloat() - 0.5f;
+		
+		File file = File.createTempFile("vectors", ".bin");
+		file.deleteOnExit();
+		WordVectors.write(file.getPath(), words, vectors, dimension);
+		
+		// a region size smaller than the file forces records to be split over multiple regions
+		for (int regionSize : new int[]{WordVectors.MAX_REGION_SIZE, 64, 40})
+		{
+			try (WordVectors map = new WordVectors(file.getPath(), regionSize))
+			{
+				assertEquals(words.size(), map.size());
+				assertEquals(dimension, map.getDimension());
+				assertNull(map.get("unknown"));
+				
+				for (int i=0; i<words.size(); i++)
+				{
+					assertEquals(i, map.indexOf(words.get(i)));
+					assertEquals(words.get(i), map.getWord(i));
+					assertArrayEquals(Arrays.copyOfRange(vectors, i*dimension, (i+1)*dimension), map.get(words.get(i)), 0);
+					assertEquals(vectors[i*dimension+2], map.get(i, 2), 0);
+				}
+			}
+		}
+	}
+}